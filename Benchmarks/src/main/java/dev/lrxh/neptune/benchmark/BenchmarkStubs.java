@@ -0,0 +1,109 @@
+package dev.lrxh.neptune.benchmark;
+
+import dev.lrxh.neptune.Neptune;
+import dev.lrxh.neptune.configs.ConfigService;
+import dev.lrxh.neptune.game.kit.Kit;
+import dev.lrxh.neptune.game.kit.impl.KitRule;
+import dev.lrxh.neptune.profile.ProfileService;
+import dev.lrxh.neptune.profile.impl.Profile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import sun.misc.Unsafe;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.UUID;
+
+/**
+ * Just enough of a server and plugin for the benchmarked code to run headless.
+ */
+public final class BenchmarkStubs {
+    private static boolean serverStarted;
+    private static boolean configsLoaded;
+
+    private BenchmarkStubs() {
+    }
+
+    /**
+     * Mocked Bukkit server, needed by anything that creates or serializes items.
+     */
+    public static synchronized void server() {
+        if (serverStarted) return;
+
+        MockBukkit.mock();
+        serverStarted = true;
+    }
+
+    /**
+     * Registers a Neptune instance without running onEnable, so Neptune.get() works and no extension is hooked.
+     */
+    public static synchronized void plugin() {
+        try {
+            if (Neptune.get() != null) return;
+
+            Neptune neptune = (Neptune) unsafe().allocateInstance(Neptune.class);
+            set(Neptune.class, null, "instance", neptune);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to stub the plugin instance", e);
+        }
+    }
+
+    /**
+     * Loads the default configs into a temporary folder, needed by anything that reads settings or creates profiles.
+     */
+    public static synchronized void configs() {
+        if (configsLoaded) return;
+
+        server();
+        plugin();
+        try {
+            File dataFolder = new File(Files.createTempDirectory("neptune-benchmark").toFile(), "Neptune");
+            set(JavaPlugin.class, Neptune.get(), "dataFolder", dataFolder);
+            // the default configs are resources of the plugin jar, which is on the benchmark classpath
+            set(JavaPlugin.class, Neptune.get(), "classLoader", Neptune.class.getClassLoader());
+        } catch (IOException | ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to stub the plugin data folder", e);
+        }
+
+        ConfigService.get().load();
+        configsLoaded = true;
+    }
+
+    /**
+     * Online profile as ProfileService hands it out, without a player or a database behind it.
+     */
+    public static Profile profile(UUID uuid) {
+        configs();
+
+        Profile profile = new Profile("player", uuid, Neptune.get(), true);
+        ProfileService.get().profiles.put(uuid, profile);
+        return profile;
+    }
+
+    public static Kit kit(String name) {
+        HashMap<KitRule, Boolean> rules = new HashMap<>();
+        for (KitRule rule : KitRule.values()) {
+            rules.put(rule, false);
+        }
+
+        return new Kit(name, name, new ArrayList<>(), new HashSet<>(), null, rules,
+                0, 0, 0, 0, 20, new ArrayList<>(), 1.0);
+    }
+
+    private static void set(Class<?> owner, Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = owner.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    private static Unsafe unsafe() throws ReflectiveOperationException {
+        Field field = Unsafe.class.getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+        return (Unsafe) field.get(null);
+    }
+}
@@ -0,0 +1,30 @@
+package dev.lrxh.neptune.benchmark;
+
+import dev.lrxh.neptune.utils.CC;
+import net.kyori.adventure.text.TextComponent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorBenchmark {
+    private static final String LINE = "&7&m----------&r &b<player> &fvs &c<opponent> &7(&a+15 elo&7) &7&m----------";
+
+    private int counter;
+
+    @Benchmark
+    public TextComponent cached() {
+        return CC.color(LINE);
+    }
+
+    @Benchmark
+    public TextComponent uncached() {
+        // a new line every call, so every call parses and the cache keeps evicting
+        return CC.color(LINE + counter++);
+    }
+}
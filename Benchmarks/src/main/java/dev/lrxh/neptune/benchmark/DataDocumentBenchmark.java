@@ -0,0 +1,80 @@
+package dev.lrxh.neptune.benchmark;
+
+import dev.lrxh.neptune.providers.database.impl.DataDocument;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataDocumentBenchmark {
+    @Param({"5", "25"})
+    public int kits;
+
+    private DataDocument dataDocument;
+    private Document document;
+    private String json;
+
+    @Setup
+    public void setup() {
+        dataDocument = new DataDocument();
+        dataDocument.put("uuid", UUID.randomUUID().toString());
+        dataDocument.put("username", "Benchmark");
+
+        DataDocument kitData = new DataDocument();
+        for (int i = 0; i < kits; i++) {
+            DataDocument stats = new DataDocument();
+            stats.put("WIN_STREAK_CURRENT", i);
+            stats.put("WINS", i * 10);
+            stats.put("ELO", 1000 + i);
+            stats.put("LOSSES", i * 5);
+            stats.put("WIN_STREAK_BEST", i * 2);
+            stats.put("kit", "");
+            stats.put("customPersistentData", new DataDocument());
+            kitData.put("kit" + i, stats);
+        }
+        kitData.put("lastPlayedKit", "kit0");
+        dataDocument.put("kitData", kitData);
+
+        DataDocument settings = new DataDocument();
+        settings.put("showPlayers", true);
+        settings.put("allowSpectators", true);
+        settings.put("allowDuels", true);
+        settings.put("allowParty", true);
+        settings.put("maxPing", 350);
+        settings.put("killEffect", "NONE");
+        settings.put("menuSound", false);
+        dataDocument.put("settings", settings);
+        dataDocument.put("history", new ArrayList<String>());
+
+        document = dataDocument.toDocument();
+        json = document.toJson();
+    }
+
+    @Benchmark
+    public Document toBson() {
+        return dataDocument.toDocument();
+    }
+
+    @Benchmark
+    public DataDocument fromBson() {
+        return new DataDocument(document);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return dataDocument.toDocument().toJson();
+    }
+
+    @Benchmark
+    public DataDocument fromJson() {
+        return new DataDocument(json);
+    }
+}
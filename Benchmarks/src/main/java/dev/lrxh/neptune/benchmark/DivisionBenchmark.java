@@ -0,0 +1,36 @@
+package dev.lrxh.neptune.benchmark;
+
+import dev.lrxh.neptune.feature.divisions.DivisionService;
+import dev.lrxh.neptune.feature.divisions.impl.Division;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DivisionBenchmark {
+    @Param({"8", "32"})
+    public int divisions;
+
+    private DivisionService service;
+
+    @Setup
+    public void setup() {
+        BenchmarkStubs.server();
+        service = new DivisionService();
+        for (int i = 0; i < divisions; i++) {
+            service.registerDivision(new Division("division" + i, "Division " + i, i * 100, Material.STONE, i));
+        }
+    }
+
+    @Benchmark
+    public Division getDivisionByElo() {
+        return service.getDivisionByElo(ThreadLocalRandom.current().nextInt(divisions * 100));
+    }
+}
@@ -0,0 +1,67 @@
+package dev.lrxh.neptune.benchmark;
+
+import dev.lrxh.neptune.utils.ItemUtils;
+import dev.lrxh.neptune.utils.LoadoutCodec;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemSerializationBenchmark {
+    private static final Material[] MATERIALS = {
+            Material.DIAMOND_SWORD, Material.BOW, Material.ARROW, Material.GOLDEN_APPLE, Material.COOKED_BEEF,
+            Material.DIAMOND_HELMET, Material.DIAMOND_CHESTPLATE, Material.DIAMOND_LEGGINGS, Material.DIAMOND_BOOTS
+    };
+
+    private List<ItemStack> loadout;
+    private List<ItemStack> edited;
+    private String serialized;
+    private String encoded;
+
+    @Setup
+    public void setup() {
+        BenchmarkStubs.server();
+
+        // a full inventory where only the first slots hold items, like most kits
+        loadout = new ArrayList<>();
+        for (int i = 0; i < 41; i++) {
+            loadout.add(i < MATERIALS.length ? new ItemStack(MATERIALS[i], i + 1) : null);
+        }
+
+        edited = new ArrayList<>(loadout);
+        edited.set(0, loadout.get(1));
+        edited.set(1, loadout.get(0));
+
+        serialized = ItemUtils.serialize(edited);
+        encoded = LoadoutCodec.encode(edited, loadout);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return ItemUtils.serialize(edited);
+    }
+
+    @Benchmark
+    public List<ItemStack> deserialize() {
+        return ItemUtils.deserialize(serialized);
+    }
+
+    @Benchmark
+    public String encode() {
+        return LoadoutCodec.encode(edited, loadout);
+    }
+
+    @Benchmark
+    public List<ItemStack> decode() {
+        return LoadoutCodec.decode(encoded, loadout);
+    }
+}
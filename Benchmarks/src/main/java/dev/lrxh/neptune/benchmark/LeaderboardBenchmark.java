@@ -0,0 +1,68 @@
+package dev.lrxh.neptune.benchmark;
+
+import dev.lrxh.neptune.feature.leaderboard.LeaderboardService;
+import dev.lrxh.neptune.feature.leaderboard.impl.LeaderboardType;
+import dev.lrxh.neptune.feature.leaderboard.impl.PlayerEntry;
+import dev.lrxh.neptune.game.kit.Kit;
+import dev.lrxh.neptune.profile.data.KitData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardBenchmark {
+    @Param({"1000", "100000"})
+    public int players;
+
+    private LeaderboardService service;
+    private Kit kit;
+    private List<UUID> uuids;
+
+    @Setup
+    public void setup() {
+        service = new LeaderboardService();
+        kit = BenchmarkStubs.kit("benchmark");
+        uuids = new ArrayList<>(players);
+
+        for (int i = 0; i < players; i++) {
+            UUID uuid = UUID.randomUUID();
+            uuids.add(uuid);
+            service.update("player" + i, uuid, kit, randomStats());
+        }
+    }
+
+    private KitData randomStats() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        KitData kitData = new KitData();
+        kitData.setElo(random.nextInt(3000));
+        kitData.setKills(random.nextInt(5000));
+        kitData.setDeaths(random.nextInt(5000));
+        kitData.setBestStreak(random.nextInt(50));
+        return kitData;
+    }
+
+    @Benchmark
+    public List<PlayerEntry> getPlayerEntries() {
+        return service.getPlayerEntries(kit, LeaderboardType.ELO);
+    }
+
+    @Benchmark
+    public int getRank() {
+        return service.getRank(kit, LeaderboardType.ELO, uuids.get(ThreadLocalRandom.current().nextInt(players)));
+    }
+
+    @Benchmark
+    public void update() {
+        int i = ThreadLocalRandom.current().nextInt(players);
+        service.update("player" + i, uuids.get(i), kit, randomStats());
+    }
+}
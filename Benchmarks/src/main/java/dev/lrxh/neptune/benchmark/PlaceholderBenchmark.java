@@ -0,0 +1,51 @@
+package dev.lrxh.neptune.benchmark;
+
+import dev.lrxh.neptune.profile.data.ProfileState;
+import dev.lrxh.neptune.providers.placeholder.PlaceholderUtil;
+import dev.lrxh.neptune.scoreboard.snapshot.PlayerSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaceholderBenchmark {
+    private static final String LINE = "&fOnline: &b<online> &7| &fIn Match: &b<in-match> &7| &fQueued: &b<queued>";
+    private static final List<String> SCOREBOARD = List.of(
+            "&7&m--------------------",
+            "&fOnline: &b<online>",
+            "&fIn Match: &b<in-match>",
+            "&fQueued: &b<queued>",
+            "",
+            "&fDivision: &b<division>",
+            "&fWins: &a<wins> &7| &fLosses: &c<losses>",
+            "&fStreak: &b<currentStreak>",
+            "&fPing: &b<ping>ms",
+            "&7&m--------------------"
+    );
+
+    private PlayerSnapshot snapshot;
+
+    @Setup
+    public void setup() {
+        BenchmarkStubs.plugin();
+        snapshot = new PlayerSnapshot(UUID.randomUUID(), "Benchmark", 42, ProfileState.IN_LOBBY,
+                "Gold", 120, 80, 3, 350, null, null, null, null, null, null, null, 150, 12, 40);
+    }
+
+    @Benchmark
+    public String line() {
+        return PlaceholderUtil.format(LINE, null, snapshot);
+    }
+
+    @Benchmark
+    public List<String> scoreboard() {
+        return PlaceholderUtil.format(SCOREBOARD, null, snapshot);
+    }
+}
@@ -0,0 +1,76 @@
+package dev.lrxh.neptune.benchmark;
+
+import dev.lrxh.neptune.feature.queue.QueueEntry;
+import dev.lrxh.neptune.feature.queue.QueueService;
+import dev.lrxh.neptune.game.kit.Kit;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Players are added through QueueService.add with stubbed online profiles. The join event and message are
+ * skipped, they are Bukkit's cost and not the queue's, so every operation keeps the queue at the same size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+    @Param({"1000", "10000"})
+    public int size;
+
+    private QueueService service;
+    private Kit kit;
+    private List<UUID> players;
+
+    @Setup
+    public void setup() {
+        BenchmarkStubs.configs();
+        service = new QueueService();
+        kit = BenchmarkStubs.kit("benchmark");
+        players = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            UUID uuid = UUID.randomUUID();
+            BenchmarkStubs.profile(uuid);
+            players.add(uuid);
+            service.add(new QueueEntry(kit, uuid), false);
+        }
+
+        if (service.getQueueSize() != size) {
+            throw new IllegalStateException("Queued " + service.getQueueSize() + " of " + size + " players");
+        }
+    }
+
+    @Benchmark
+    public QueueEntry get() {
+        return service.get(players.get(ThreadLocalRandom.current().nextInt(size)));
+    }
+
+    @Benchmark
+    public QueueEntry pollAndAdd() {
+        QueueEntry entry = service.poll(kit);
+        service.add(entry, false);
+        return entry;
+    }
+
+    @Benchmark
+    public QueueEntry removeAndAdd() {
+        QueueEntry entry = service.remove(players.get(ThreadLocalRandom.current().nextInt(size)));
+        service.add(entry, false);
+        return entry;
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (service.getQueueSize() != size) {
+            throw new IllegalStateException("Queue drifted to " + service.getQueueSize() + " of " + size + " players");
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package dev.lrxh.neptune.benchmark.simulation;
+
+import dev.lrxh.neptune.Neptune;
+import dev.lrxh.neptune.benchmark.BenchmarkStubs;
+import dev.lrxh.neptune.configs.impl.SettingsLocale;
+import dev.lrxh.neptune.feature.leaderboard.LeaderboardService;
+import dev.lrxh.neptune.feature.queue.KitQueue;
+import dev.lrxh.neptune.feature.queue.Matchmaker;
+import dev.lrxh.neptune.feature.queue.QueueEntry;
+import dev.lrxh.neptune.feature.queue.QueueService;
+import dev.lrxh.neptune.feature.queue.tasks.QueueCheckTask;
+import dev.lrxh.neptune.game.kit.Kit;
+import dev.lrxh.neptune.game.kit.KitService;
+import dev.lrxh.neptune.profile.MatchHistoryStore;
+import dev.lrxh.neptune.profile.ProfileService;
+import dev.lrxh.neptune.profile.ProfileWriteQueue;
+import dev.lrxh.neptune.profile.StatJournal;
+import dev.lrxh.neptune.profile.data.MatchHistory;
+import dev.lrxh.neptune.profile.data.ProfileState;
+import dev.lrxh.neptune.profile.impl.Profile;
+import dev.lrxh.neptune.providers.database.DatabaseService;
+import dev.lrxh.neptune.utils.DateUtils;
+import dev.lrxh.neptune.utils.Histogram;
+import dev.lrxh.neptune.utils.ServerUtils;
+import org.mockbukkit.mockbukkit.MockBukkit;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load simulation with fake profiles that connect, queue, fight and disconnect on a mocked server with an
+ * in-memory database. Profile loading, queues, the matchmaker, journaling, leaderboards and saves are the
+ * plugin's own code. Collecting candidates, starting and ending matches are re-implemented from
+ * QueueCheckTask and SoloFightMatch#addStats, since those need online players and an arena;
+ * keep them in sync when either changes.
+ * <p>
+ * java -cp target/benchmarks.jar dev.lrxh.neptune.benchmark.simulation.LoadSimulation [profiles] [seconds]
+ */
+public class LoadSimulation {
+    private static final String[] KITS = {"NoDebuff", "BuildUHC", "Sumo", "Boxing"};
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final String ARENA = "Simulation";
+    private static final int CONNECTS_PER_TICK = 10;
+    private static final int MATCHMAKING_INTERVAL = 20;
+    private static final double DISCONNECT_CHANCE = 0.05;
+    private final Random random = new Random();
+    private final Matchmaker matchmaker = new Matchmaker();
+    private final AtomicBoolean matching = new AtomicBoolean();
+    private final Map<UUID, SimulatedPlayer> players = new HashMap<>();
+    private final Queue<Profile> connected = new ConcurrentLinkedQueue<>();
+    private final Queue<Pass> passes = new ConcurrentLinkedQueue<>();
+    private final List<Kit> kits = new ArrayList<>();
+    private final Histogram queueWait = new Histogram();
+    private final Histogram matchStart = new Histogram();
+    private final Histogram tickCost = new Histogram();
+    private final Histogram tickTime = new Histogram();
+    private final Histogram writeRate = new Histogram();
+    private final long duration;
+    private final int flushInterval;
+    private long tick;
+    private long lastTick;
+    private long lastWritten;
+    private long matches;
+    private long disconnects;
+    private boolean finished;
+
+    public LoadSimulation(int profiles, long duration) {
+        this.duration = duration;
+        this.flushInterval = Math.max(1, SettingsLocale.DATABASE_FLUSH_TIME.getInt());
+
+        for (String name : KITS) {
+            Kit kit = BenchmarkStubs.kit(name);
+            KitService.get().kits.add(kit);
+            kits.add(kit);
+        }
+
+        for (int i = 0; i < profiles; i++) {
+            SimulatedPlayer player = new SimulatedPlayer(i, 10 + random.nextInt(140));
+            player.setNextAction(i / CONNECTS_PER_TICK);
+            players.put(player.getUuid(), player);
+        }
+    }
+
+    public static void main(String[] args) {
+        int profiles = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+
+        MemoryDatabase database = new MemoryDatabase();
+        SimulationReport report = simulate(database, profiles, seconds);
+
+        for (String line : report.format()) {
+            System.out.println(line);
+        }
+        System.out.println(database.getUsers() + " profiles in the database");
+
+        MockBukkit.unmock();
+    }
+
+    /**
+     * Runs a whole simulation against the given database and waits for every profile write to finish.
+     */
+    public static SimulationReport simulate(MemoryDatabase database, int profiles, int seconds) {
+        BenchmarkStubs.configs();
+        new DatabaseService(database);
+        StatJournal.get().load();
+
+        SimulationReport report = new LoadSimulation(profiles, seconds * 20L).run();
+
+        ProfileWriteQueue.get().flush().join();
+        StatJournal.get().close();
+        DatabaseService.get().shutdown();
+        return report;
+    }
+
+    /**
+     * Runs every tick of the simulation at the server's tick rate and reports the results.
+     */
+    public SimulationReport run() {
+        long next = System.nanoTime();
+
+        while (!finished) {
+            long start = System.nanoTime();
+            tick();
+            // Whatever the plugin scheduled runs in the same tick, like on a server
+            MockBukkit.getMock().getScheduler().performOneTick();
+            tickCost.record(System.nanoTime() - start);
+
+            next += TICK;
+            LockSupport.parkNanos(next - System.nanoTime());
+        }
+
+        return new SimulationReport(players.size(), tick, matches, disconnects,
+                queueWait, matchStart, tickCost, tickTime, writeRate);
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        if (lastTick != 0) tickTime.record(start - lastTick);
+        lastTick = start;
+
+        Profile profile;
+        while ((profile = connected.poll()) != null) {
+            connect(profile);
+        }
+
+        Pass pass;
+        while ((pass = passes.poll()) != null) {
+            for (Matchmaker.Pairing pairing : pass.pairings()) {
+                startMatch(pairing, pass.startedAt());
+            }
+        }
+
+        for (SimulatedPlayer player : players.values()) {
+            if (tick < player.getNextAction()) continue;
+
+            switch (player.getPhase()) {
+                case OFFLINE -> reconnect(player);
+                case LOBBY -> {
+                    if (random.nextDouble() < DISCONNECT_CHANCE) disconnect(player);
+                    else queue(player);
+                }
+                case FIGHTING -> endMatch(player, player.getOpponent());
+                default -> {
+                }
+            }
+        }
+
+        if (tick % MATCHMAKING_INTERVAL == 0) {
+            matchmake();
+
+            long written = ProfileWriteQueue.get().getWritten();
+            if (tick > 0) writeRate.record((written - lastWritten) * 20 / MATCHMAKING_INTERVAL);
+            lastWritten = written;
+        }
+
+        if (tick % flushInterval == 0) ProfileWriteQueue.get().flush();
+
+        tick++;
+
+        if (tick >= duration) finish();
+    }
+
+    /**
+     * Takes every simulated player out of the queues, matches, leaderboards and loaded profiles.
+     * Their documents only ever reach the in-memory database, so nothing outlives the run.
+     */
+    private void finish() {
+        if (finished) return;
+        finished = true;
+
+        for (SimulatedPlayer player : players.values()) {
+            switch (player.getPhase()) {
+                case QUEUED -> QueueService.get().remove(player.getUuid());
+                case FIGHTING -> player.getKit().removePlaying();
+                default -> {
+                }
+            }
+            if (player.getProfile() != null) ProfileService.get().removeProfile(player.getUuid());
+            LeaderboardService.get().remove(player.getUuid());
+        }
+
+        if (QueueService.get().getQueueSize() != 0 || kits.stream().anyMatch(kit -> kit.getQueue() != 0 || kit.getPlaying() != 0)) {
+            ServerUtils.error("Simulated players were left in a queue or match after the run");
+        }
+    }
+
+    private void reconnect(SimulatedPlayer player) {
+        player.setPhase(SimulatedPlayer.Phase.CONNECTING);
+
+        Profile.create(player.getName(), player.getUuid(), Neptune.get(), true)
+                .thenAccept(connected::add)
+                .exceptionally(throwable -> {
+                    ServerUtils.error("Failed to load simulated profile " + player.getName() + ": " + throwable.getMessage());
+                    return null;
+                });
+    }
+
+    private void connect(Profile profile) {
+        if (finished) return;
+
+        SimulatedPlayer player = players.get(profile.getPlayerUUID());
+        player.setProfile(profile);
+        player.setPhase(SimulatedPlayer.Phase.LOBBY);
+        player.setNextAction(tick + 20 + random.nextInt(100));
+        ProfileService.get().profiles.put(player.getUuid(), profile);
+    }
+
+    private void disconnect(SimulatedPlayer player) {
+        ProfileService.get().removeProfile(player.getUuid());
+        player.setProfile(null);
+        player.setPhase(SimulatedPlayer.Phase.OFFLINE);
+        player.setNextAction(tick + 20 + random.nextInt(200));
+        disconnects++;
+    }
+
+    private void queue(SimulatedPlayer player) {
+        Kit kit = kits.get(random.nextInt(kits.size()));
+        QueueEntry queueEntry = new QueueEntry(kit, player.getUuid());
+
+        QueueService.get().add(queueEntry, false);
+        if (QueueService.get().get(player.getUuid()) != queueEntry) {
+            player.setNextAction(tick + 20);
+            return;
+        }
+
+        // The same state a real player gets, without the join event and message
+        player.getProfile().setState(ProfileState.IN_QUEUE);
+        kit.addQueue();
+
+        player.setKit(kit);
+        player.setQueueEntry(queueEntry);
+        player.setQueuedAt(System.nanoTime());
+        player.setPhase(SimulatedPlayer.Phase.QUEUED);
+    }
+
+    private void matchmake() {
+        if (!matching.compareAndSet(false, true)) return;
+
+        long startedAt = System.nanoTime();
+        List<List<Matchmaker.Candidate>> candidates = new ArrayList<>();
+
+        for (Map.Entry<Kit, KitQueue> entry : QueueService.get().getAllQueues().entrySet()) {
+            List<Matchmaker.Candidate> kitCandidates = new ArrayList<>();
+
+            for (QueueEntry queueEntry : entry.getValue().getEntries()) {
+                SimulatedPlayer player = players.get(queueEntry.getUuid());
+                if (player == null || player.getQueueEntry() != queueEntry) continue;
+
+                Profile profile = player.getProfile();
+                long waited = (startedAt - player.getQueuedAt()) / 1_000_000_000L;
+                kitCandidates.add(new Matchmaker.Candidate(queueEntry, profile.getGameData().get(entry.getKey()).getElo(),
+                        player.getPing(), profile.getSettingData().getMaxPing(), QueueCheckTask.getRange(waited), waited));
+            }
+
+            if (kitCandidates.size() >= 2) candidates.add(kitCandidates);
+        }
+
+        if (candidates.isEmpty()) {
+            matching.set(false);
+            return;
+        }
+
+        CompletableFuture.supplyAsync(() -> {
+            List<Matchmaker.Pairing> pairings = new ArrayList<>();
+            for (List<Matchmaker.Candidate> kitCandidates : candidates) {
+                pairings.addAll(matchmaker.pair(kitCandidates));
+            }
+            return pairings;
+        }).whenComplete((pairings, throwable) -> {
+            if (throwable != null) {
+                ServerUtils.error("Failed to pair simulated players: " + throwable.getMessage());
+            } else {
+                passes.add(new Pass(startedAt, pairings));
+            }
+            matching.set(false);
+        });
+    }
+
+    private void startMatch(Matchmaker.Pairing pairing, long startedAt) {
+        QueueEntry queueEntry1 = pairing.first().entry();
+        QueueEntry queueEntry2 = pairing.second().entry();
+
+        if (QueueService.get().get(queueEntry1.getUuid()) != queueEntry1
+                || QueueService.get().get(queueEntry2.getUuid()) != queueEntry2) return;
+
+        QueueService.get().remove(queueEntry1);
+        QueueService.get().remove(queueEntry2);
+
+        long now = System.nanoTime();
+        matchStart.record(now - startedAt);
+
+        SimulatedPlayer player1 = players.get(queueEntry1.getUuid());
+        SimulatedPlayer player2 = players.get(queueEntry2.getUuid());
+        long end = tick + 100 + random.nextInt(500);
+
+        for (SimulatedPlayer player : List.of(player1, player2)) {
+            queueWait.record(now - player.getQueuedAt());
+
+            player.getProfile().setState(ProfileState.IN_GAME);
+            player.getKit().addPlaying();
+            player.setQueueEntry(null);
+            player.setOpponent(player == player1 ? player2 : player1);
+            player.setPhase(SimulatedPlayer.Phase.FIGHTING);
+            player.setNextAction(end);
+        }
+    }
+
+    private void endMatch(SimulatedPlayer player1, SimulatedPlayer player2) {
+        Kit kit = player1.getKit();
+        int elo1 = player1.getProfile().getGameData().get(kit).getElo();
+        int elo2 = player2.getProfile().getGameData().get(kit).getElo();
+
+        boolean firstWins = random.nextDouble() < 1 / (1 + Math.pow(10, (elo2 - elo1) / 400.0));
+        SimulatedPlayer winner = firstWins ? player1 : player2;
+        SimulatedPlayer loser = firstWins ? player2 : player1;
+
+        String date = DateUtils.getDate();
+        String time = LocalDateTime.now().atOffset(ZoneOffset.UTC).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+
+        addResult(winner, loser, kit, true, date, time);
+        addResult(loser, winner, kit, false, date, time);
+        matches++;
+    }
+
+    private void addResult(SimulatedPlayer player, SimulatedPlayer opponent, Kit kit, boolean won, String date, String time) {
+        Profile profile = player.getProfile();
+        MatchHistory matchHistory = new MatchHistory(won, opponent.getName(), kit.getDisplayName(), ARENA, date, time);
+
+        profile.getGameData().addHistory(matchHistory);
+        MatchHistoryStore.get().append(player.getUuid(), matchHistory);
+
+        int initialElo = profile.getGameData().get(kit).getElo();
+        profile.getGameData().run(kit, won);
+        StatJournal.get().record(profile, kit, won, profile.getGameData().get(kit).getElo() - initialElo);
+
+        LeaderboardService.get().update(profile.getUsername(), player.getUuid(), kit, profile.getGameData().get(kit));
+        Profile.save(profile);
+
+        kit.removePlaying();
+        profile.setState(ProfileState.IN_LOBBY);
+        player.setOpponent(null);
+        player.setPhase(SimulatedPlayer.Phase.LOBBY);
+        player.setNextAction(tick + 20 + random.nextInt(100));
+    }
+
+    private record Pass(long startedAt, List<Matchmaker.Pairing> pairings) {
+    }
+}
@@ -0,0 +1,137 @@
+package dev.lrxh.neptune.benchmark.simulation;
+
+import dev.lrxh.neptune.providers.database.impl.DataDocument;
+import dev.lrxh.neptune.providers.database.impl.IDatabase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Database kept in memory, documents are copied in and out so callers can't share them like with a real one.
+ */
+public class MemoryDatabase implements IDatabase {
+    private final Map<UUID, DataDocument> users = new ConcurrentHashMap<>();
+    private final Map<UUID, List<DataDocument>> histories = new ConcurrentHashMap<>();
+
+    @Override
+    public IDatabase load() {
+        return this;
+    }
+
+    @Override
+    public CompletableFuture<DataDocument> getUserData(UUID playerUUID) {
+        DataDocument document = users.get(playerUUID);
+        return CompletableFuture.completedFuture(document == null ? null : copy(document));
+    }
+
+    @Override
+    public CompletableFuture<Void> replace(UUID playerUUID, DataDocument newDocument) {
+        users.put(playerUUID, copy(newDocument));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> replace(String playerUUID, DataDocument newDocument) {
+        return replace(UUID.fromString(playerUUID), newDocument);
+    }
+
+    @Override
+    public CompletableFuture<Void> replaceAll(Map<UUID, DataDocument> documents) {
+        for (Map.Entry<UUID, DataDocument> entry : documents.entrySet()) {
+            users.put(entry.getKey(), copy(entry.getValue()));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<List<DataDocument>> getAllByKitType(String kitName, String type) {
+        List<DataDocument> results = new ArrayList<>();
+        for (DataDocument row : kitStats(kitName)) {
+            if (row.getInteger(type, 0) <= 0) continue;
+
+            DataDocument stats = new DataDocument();
+            stats.put(type, row.getInteger(type, 0));
+
+            DataDocument kitData = new DataDocument();
+            kitData.put(kitName, stats);
+
+            DataDocument document = new DataDocument();
+            document.put("uuid", row.getString("uuid"));
+            document.put("username", row.getString("username"));
+            document.put("kitData", kitData);
+            results.add(document);
+        }
+
+        results.sort(Comparator.comparingInt((DataDocument document) ->
+                document.getDataDocument("kitData").getDataDocument(kitName).getInteger(type, 0)).reversed());
+        return CompletableFuture.completedFuture(results.subList(0, Math.min(10, results.size())));
+    }
+
+    @Override
+    public CompletableFuture<List<DataDocument>> getKitStats(String kitName) {
+        return CompletableFuture.completedFuture(kitStats(kitName));
+    }
+
+    @Override
+    public CompletableFuture<Void> appendHistory(UUID playerUUID, List<DataDocument> entries) {
+        List<DataDocument> history = histories.computeIfAbsent(playerUUID, uuid -> Collections.synchronizedList(new ArrayList<>()));
+        for (DataDocument entry : entries) {
+            history.add(copy(entry));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> migrateHistory(UUID playerUUID, List<DataDocument> entries) {
+        appendHistory(playerUUID, entries);
+
+        DataDocument user = users.get(playerUUID);
+        if (user != null) user.data.remove("history");
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<List<DataDocument>> getHistory(UUID playerUUID, int offset, int limit) {
+        List<DataDocument> history = histories.getOrDefault(playerUUID, List.of());
+        List<DataDocument> results = new ArrayList<>(limit);
+
+        synchronized (history) {
+            for (int i = history.size() - 1 - offset; i >= 0 && results.size() < limit; i--) {
+                results.add(copy(history.get(i)));
+            }
+        }
+        return CompletableFuture.completedFuture(results);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public int getUsers() {
+        return users.size();
+    }
+
+    private List<DataDocument> kitStats(String kitName) {
+        List<DataDocument> results = new ArrayList<>();
+        for (DataDocument user : users.values()) {
+            Object kitData = user.getDataDocument("kitData").data.get(kitName);
+            if (!(kitData instanceof DataDocument stats)) continue;
+
+            DataDocument row = copy(stats);
+            row.put("uuid", user.getString("uuid"));
+            row.put("username", user.getString("username"));
+            results.add(row);
+        }
+        return results;
+    }
+
+    private DataDocument copy(DataDocument document) {
+        return new DataDocument(document.toDocument());
+    }
+}
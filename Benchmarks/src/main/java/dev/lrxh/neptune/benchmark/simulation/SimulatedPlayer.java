@@ -0,0 +1,38 @@
+package dev.lrxh.neptune.benchmark.simulation;
+
+import dev.lrxh.neptune.feature.queue.QueueEntry;
+import dev.lrxh.neptune.game.kit.Kit;
+import dev.lrxh.neptune.profile.impl.Profile;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+public class SimulatedPlayer {
+    private final UUID uuid;
+    private final String name;
+    private final int ping;
+    private Profile profile;
+    private Phase phase = Phase.OFFLINE;
+    private long nextAction;
+    private QueueEntry queueEntry;
+    private long queuedAt;
+    private Kit kit;
+    private SimulatedPlayer opponent;
+
+    public SimulatedPlayer(int id, int ping) {
+        this.uuid = UUID.nameUUIDFromBytes(("NeptuneSimulation:" + id).getBytes());
+        this.name = "Sim" + id;
+        this.ping = ping;
+    }
+
+    public enum Phase {
+        OFFLINE,
+        CONNECTING,
+        LOBBY,
+        QUEUED,
+        FIGHTING
+    }
+}
@@ -0,0 +1,35 @@
+package dev.lrxh.neptune.benchmark.simulation;
+
+import dev.lrxh.neptune.utils.Histogram;
+
+import java.util.List;
+
+public record SimulationReport(int profiles, long ticks, long matches, long disconnects, Histogram queueWait,
+                               Histogram matchStart, Histogram tickCost, Histogram tickTime, Histogram writeRate) {
+
+    public List<String> format() {
+        return List.of(
+                "Simulated " + profiles + " profiles for " + ticks + " ticks, " + matches
+                        + " matches played and " + disconnects + " disconnects",
+                "Queue wait: " + millis(queueWait),
+                "Match start latency: " + millis(matchStart),
+                "Tick cost, simulation and plugin tasks: " + millis(tickCost),
+                "Tick time: " + millis(tickTime),
+                "Profile writes per second: avg " + String.format("%.1f", writeRate.getMean())
+                        + " | max " + writeRate.getMax(),
+                "Candidate collection, match start and match end are re-implementations of QueueCheckTask"
+                        + " and SoloFightMatch#addStats, not the plugin's code");
+    }
+
+    private String millis(Histogram histogram) {
+        return "p50 " + millis(histogram.getValueAtPercentile(50))
+                + " | p90 " + millis(histogram.getValueAtPercentile(90))
+                + " | p99 " + millis(histogram.getValueAtPercentile(99))
+                + " | max " + millis(histogram.getMax())
+                + " (" + histogram.getCount() + ")";
+    }
+
+    private String millis(long nanos) {
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+}
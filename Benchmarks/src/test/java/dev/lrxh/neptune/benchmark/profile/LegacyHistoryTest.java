@@ -0,0 +1,87 @@
+package dev.lrxh.neptune.benchmark.profile;
+
+import com.google.gson.Gson;
+import dev.lrxh.neptune.Neptune;
+import dev.lrxh.neptune.benchmark.BenchmarkStubs;
+import dev.lrxh.neptune.benchmark.simulation.MemoryDatabase;
+import dev.lrxh.neptune.profile.ProfileWriteQueue;
+import dev.lrxh.neptune.profile.data.MatchHistory;
+import dev.lrxh.neptune.profile.impl.Profile;
+import dev.lrxh.neptune.providers.database.DatabaseService;
+import dev.lrxh.neptune.providers.database.impl.DataDocument;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * History stored inside the profile document has to survive saves until it reaches the history store.
+ */
+class LegacyHistoryTest {
+    private static final List<String> HISTORY = List.of(
+            new Gson().toJson(new MatchHistory(true, "Opponent", "NoDebuff", "Arena", "01/01/2024", "2024-01-01T00:00:00")),
+            new Gson().toJson(new MatchHistory(false, "Opponent", "NoDebuff", "Arena", "02/01/2024", "2024-01-02T00:00:00")));
+
+    @AfterAll
+    static void unmock() {
+        MockBukkit.unmock();
+    }
+
+    @AfterEach
+    void shutdown() {
+        DatabaseService.get().shutdown();
+    }
+
+    @Test
+    void saveAfterFailedMigrationKeepsHistory() {
+        UUID uuid = UUID.randomUUID();
+        MemoryDatabase database = database(uuid, false);
+
+        saveAfterLoad(uuid);
+
+        assertEquals(HISTORY, database.getUserData(uuid).join().getList("history", List.of()));
+    }
+
+    @Test
+    void saveAfterMigrationDropsHistory() {
+        UUID uuid = UUID.randomUUID();
+        MemoryDatabase database = database(uuid, true);
+
+        saveAfterLoad(uuid);
+
+        assertNull(database.getUserData(uuid).join().data.get("history"));
+        assertEquals(HISTORY.size(), database.getHistory(uuid, 0, 10).join().size());
+    }
+
+    private MemoryDatabase database(UUID uuid, boolean migrates) {
+        BenchmarkStubs.configs();
+
+        MemoryDatabase database = new MemoryDatabase() {
+            @Override
+            public CompletableFuture<Void> migrateHistory(UUID playerUUID, List<DataDocument> entries) {
+                if (!migrates) return CompletableFuture.failedFuture(new IllegalStateException("database unavailable"));
+                return super.migrateHistory(playerUUID, entries);
+            }
+        };
+        new DatabaseService(database);
+
+        DataDocument document = new Profile("player", uuid, Neptune.get(), true).toDocument();
+        document.put("history", HISTORY);
+        database.replace(uuid, document).join();
+        return database;
+    }
+
+    private void saveAfterLoad(UUID uuid) {
+        Profile profile = Profile.create("player", uuid, Neptune.get(), true).join();
+        profile.getGameData().setPersistentData("changed", true);
+        Profile.save(profile);
+        ProfileWriteQueue.get().flush().join();
+    }
+}
@@ -0,0 +1,29 @@
+package dev.lrxh.neptune.benchmark.simulation;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.mockbukkit.mockbukkit.MockBukkit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Short run of the load simulation, so a change that breaks it shows up before someone runs the full one.
+ */
+class LoadSimulationTest {
+
+    @AfterAll
+    static void unmock() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void runsWithoutErrors() {
+        MemoryDatabase database = new MemoryDatabase();
+        SimulationReport report = LoadSimulation.simulate(database, 300, 10);
+
+        assertEquals(200, report.ticks());
+        assertTrue(report.matchStart().getCount() > 0, "no match was started");
+        assertTrue(database.getUsers() > 0, "no profile was saved");
+    }
+}
@@ -23,7 +23,6 @@ import dev.lrxh.neptune.feature.itembrowser.ItemBrowserListener;
 import dev.lrxh.neptune.feature.itembrowser.ItemBrowserService;
 import dev.lrxh.neptune.feature.leaderboard.LeaderboardService;
 import dev.lrxh.neptune.feature.leaderboard.command.LeaderboardCommand;
-import dev.lrxh.neptune.feature.leaderboard.task.LeaderboardTask;
 import dev.lrxh.neptune.feature.party.command.PartyCommand;
 import dev.lrxh.neptune.feature.queue.command.QueueCommand;
 import dev.lrxh.neptune.feature.queue.command.QueueMenuCommand;
@@ -34,9 +33,12 @@ import dev.lrxh.neptune.feature.settings.Setting;
 import dev.lrxh.neptune.feature.settings.command.SettingProvider;
 import dev.lrxh.neptune.feature.settings.command.SettingsCommand;
 import dev.lrxh.neptune.game.arena.Arena;
+import dev.lrxh.neptune.game.arena.ArenaGrid;
+import dev.lrxh.neptune.game.arena.ArenaPool;
 import dev.lrxh.neptune.game.arena.ArenaService;
 import dev.lrxh.neptune.game.arena.command.ArenaProvider;
 import dev.lrxh.neptune.game.arena.procedure.ArenaProcedureListener;
+import dev.lrxh.neptune.game.arena.tasks.ArenaPoolTask;
 import dev.lrxh.neptune.game.duel.command.DuelCommand;
 import dev.lrxh.neptune.game.kit.Kit;
 import dev.lrxh.neptune.game.kit.KitService;
@@ -51,17 +53,22 @@ import dev.lrxh.neptune.game.match.listener.MatchListener;
 import dev.lrxh.neptune.game.match.tasks.ArenaBoundaryCheckTask;
 import dev.lrxh.neptune.main.MainCommand;
 import dev.lrxh.neptune.profile.ProfileService;
+import dev.lrxh.neptune.profile.StatJournal;
 import dev.lrxh.neptune.profile.listener.ProfileListener;
+import dev.lrxh.neptune.profile.tasks.ProfileFlushTask;
 import dev.lrxh.neptune.providers.database.DatabaseService;
 import dev.lrxh.neptune.providers.listeners.GlobalListener;
+import dev.lrxh.neptune.providers.metrics.MetricsService;
 import dev.lrxh.neptune.providers.placeholder.PlaceholderImpl;
 import dev.lrxh.neptune.scoreboard.ScoreboardAdapter;
 import dev.lrxh.neptune.scoreboard.ScoreboardService;
+import dev.lrxh.neptune.scoreboard.tasks.ScoreboardSnapshotTask;
 import dev.lrxh.neptune.utils.GithubUtils;
 import dev.lrxh.neptune.utils.ServerUtils;
 import dev.lrxh.neptune.utils.menu.MenuListener;
 import dev.lrxh.neptune.utils.menu.MenuRunnable;
 import dev.lrxh.neptune.utils.tasks.TaskScheduler;
+import dev.lrxh.neptune.utils.timings.TimingService;
 import fr.mrmicky.fastboard.FastManager;
 import lombok.Getter;
 import lombok.Setter;
@@ -119,6 +126,8 @@ public final class Neptune extends JavaPlugin {
         if (!isEnabled())
             return;
 
+        StatJournal.get().load();
+
         BlockChanger.initialize(this);
         ArenaService.get().load();
         KitService.get().load();
@@ -135,8 +144,10 @@ public final class Neptune extends JavaPlugin {
         loadCommandManager();
         loadTasks();
         loadWorlds();
+        MetricsService.get().start();
 
         if (ScoreboardLocale.ENABLED_SCOREBOARD.getBoolean()) {
+            new ScoreboardSnapshotTask().start(4L);
             new FastManager(this, new ScoreboardAdapter());
         }
 
@@ -148,7 +159,6 @@ public final class Neptune extends JavaPlugin {
     private void registerListeners() {
         Arrays.asList(
                         new ProfileListener(),
-                        new MatchListener(),
                         new GlobalListener(),
                         new ItemListener(),
                         new MenuListener(),
@@ -156,6 +166,9 @@ public final class Neptune extends JavaPlugin {
                         new KitProcedureListener(),
                         new ItemBrowserListener())
                 .forEach(listener -> getServer().getPluginManager().registerEvents(listener, this));
+
+        TimingService.get().setEnabled(SettingsLocale.TIMINGS_ENABLED.getBoolean());
+        TimingService.get().registerEvents(new MatchListener());
     }
 
     private void loadExtensions() {
@@ -184,9 +197,10 @@ public final class Neptune extends JavaPlugin {
     private void loadTasks() {
         new QueueCheckTask().start(20L);
         new QueueMessageTask().start(100L);
-        new LeaderboardTask().start(SettingsLocale.LEADERBOARD_UPDATE_TIME.getInt());
         new ArenaBoundaryCheckTask().start(20L);
         new MenuRunnable().start(20L);
+        new ArenaPoolTask().start(SettingsLocale.ARENA_POOL_REFILL_TIME.getInt());
+        new ProfileFlushTask().start(SettingsLocale.DATABASE_FLUSH_TIME.getInt());
     }
 
     private void loadCommandManager() {
@@ -219,11 +233,16 @@ public final class Neptune extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        stopService(MetricsService.get(), MetricsService::shutdown);
         stopService(KitService.get(), KitService::save);
         stopService(ArenaService.get(), ArenaService::save);
         stopService(MatchService.get(), MatchService::stopAllGames);
         stopService(TaskScheduler.get(), TaskScheduler::stopAllTasks);
-        stopService(ProfileService.get(), ProfileService::saveAll);
+        stopService(ArenaPool.get(), ArenaPool::shutdown);
+        stopService(ArenaGrid.get(), ArenaGrid::shutdown);
+        stopService(ProfileService.get(), ProfileService::shutdown);
+        stopService(StatJournal.get(), StatJournal::close);
+        stopService(DatabaseService.get(), DatabaseService::shutdown);
         stopService(cache, Cache::save);
     }
 
@@ -1,6 +1,7 @@
 package dev.lrxh.neptune.configs;
 
 import dev.lrxh.neptune.configs.impl.*;
+import dev.lrxh.neptune.providers.placeholder.PlaceholderUtil;
 import dev.lrxh.neptune.utils.ConfigFile;
 import lombok.Getter;
 
@@ -47,5 +48,7 @@ public class ConfigService {
         MenusLocale.FILTER_NAME.load();
         ScoreboardLocale.TITLE.load();
         CosmeticsLocale.LIGHTNING_DISPLAY_NAME.load();
+
+        PlaceholderUtil.clearCache();
     }
 }
@@ -113,6 +113,7 @@ public enum MenusLocale implements IDataAccessor {
     MATCH_HISTORY_SIZE("MATCH_HISTORY.SIZE", DataType.INT, "27"),
     MATCH_HISTORY_STARTING_SLOT("MATCH_HISTORY.STARTING-SLOT", DataType.INT, "10"),
     MATCH_HISTORY_FILTER("MATCH_HISTORY.FILTER-TYPE", "FILL, BORDER, NONE", DataType.STRING, "FILL"),
+    MATCH_HISTORY_PAGE_SIZE("MATCH_HISTORY.PAGE-SIZE", "Matches shown per page, older pages are loaded from the database on demand", DataType.INT, "7"),
     MATCH_HISTORY_ITEM_NAME("MATCH_HISTORY.ITEM.NAME", DataType.STRING, "&b<winner> &fvs &b<loser> <won>"),
     MATCH_HISTORY_LORE("MATCH_HISTORY.LORE", DataType.STRING_LIST,
             "&7&m-------------------",
@@ -17,20 +17,74 @@ public enum SettingsLocale implements IDataAccessor {
     COMMANDS_AFTER_MATCH_WINNER("COMMAND_AFTER_MATCH.WINNER", DataType.STRING_LIST, "NONE"),
     COMMANDS_AFTER_MATCH_LOSER("COMMAND_AFTER_MATCH.LOSER", DataType.STRING_LIST, "NONE"),
     SPAWN_LOCATION("SPAWN.LOCATION", DataType.STRING, "NONE"),
-    LEADERBOARD_UPDATE_TIME("LEADERBOARD.UPDATE_TIME",
-            "How often leaderboards should check in ticks (20 ticks = 1 second).", DataType.INT, "10"),
-    DATABASE_TYPE("DATABASE.TYPE", "Database Type. MONGO, SQLITE", DataType.STRING, "SQLITE"),
-    URI("DATABASE.URI", "Connection URI.", DataType.STRING, "NONE"),
+    DATABASE_TYPE("DATABASE.TYPE", "Database Type. MONGO, SQLITE, MYSQL, MARIADB, POSTGRESQL", DataType.STRING, "SQLITE"),
+    URI("DATABASE.URI", "Connection URI, for MYSQL, MARIADB and POSTGRESQL this is the JDBC url (e.g. jdbc:mysql://localhost:3306/neptune).",
+            DataType.STRING, "NONE"),
     DATABASE("DATABASE.DATABASE_NAME", "Database Name", DataType.STRING, "neptune"),
+    DATABASE_USERNAME("DATABASE.USERNAME", "Username used by the MYSQL, MARIADB and POSTGRESQL database types.", DataType.STRING, "root"),
+    DATABASE_PASSWORD("DATABASE.PASSWORD", "Password used by the MYSQL, MARIADB and POSTGRESQL database types.", DataType.STRING, ""),
+    DATABASE_POOL_SIZE("DATABASE.POOL_SIZE", "Maximum amount of pooled connections for the MYSQL, MARIADB and POSTGRESQL database types.",
+            DataType.INT, "10"),
+    DATABASE_FLUSH_TIME("DATABASE.FLUSH_TIME",
+            "How often queued profile saves are written to the database in ticks (20 ticks = 1 second).", DataType.INT, "100"),
+    DATABASE_SHUTDOWN_TIMEOUT("DATABASE.SHUTDOWN.TIMEOUT",
+            "How long the server waits for profiles to be saved when shutting down in milliseconds.", DataType.INT, "10000"),
+    DATABASE_SHUTDOWN_BATCH_SIZE("DATABASE.SHUTDOWN.BATCH_SIZE", "How many profiles are written together when shutting down.",
+            DataType.INT, "100"),
+    DATABASE_SHUTDOWN_CONCURRENCY("DATABASE.SHUTDOWN.CONCURRENCY", "How many batches are written at once when shutting down.",
+            DataType.INT, "4"),
+    DATABASE_JOURNAL_SIZE("DATABASE.JOURNAL_SIZE",
+            "Size in kilobytes of the local journal that keeps match results safe until they are saved to the database.", DataType.INT, "4096"),
+    DATABASE_JOURNAL_MAX_SIZE("DATABASE.JOURNAL_MAX_SIZE",
+            "Size in kilobytes the journal may grow to while the database falls behind.", DataType.INT, "65536"),
     PARTICIPANT_COLOR_BLUE("PARTICIPANT.COLOR.BLUE", "", DataType.STRING, "&9"),
     PARTICIPANT_COLOR_RED("PARTICIPANT.COLOR.RED", "", DataType.STRING, "&c"),
+    PROFILE_LOAD_CONCURRENCY("PROFILE.LOAD_CONCURRENCY", "How many profiles can be loaded from the database at once while players log in.",
+            DataType.INT, "16"),
+    PROFILE_LOAD_TIMEOUT("PROFILE.LOAD_TIMEOUT", "How long a logging in player waits for their profile in milliseconds before it is loaded after joining instead.",
+            DataType.INT, "5000"),
+    PROFILE_CACHE_SIZE("PROFILE.CACHE_SIZE", "How many offline player profiles are kept cached for stats and leaderboard lookups.",
+            DataType.INT, "1000"),
+    PROFILE_CACHE_TTL("PROFILE.CACHE_TTL", "How long an offline player profile stays cached in seconds.", DataType.INT, "60"),
     REQUEST_EXPIRY_TIME("REQUEST.EXPIRY_TIME", "How long a request should last in seconds.", DataType.INT, "30"),
     IN_MATCH_BLOCKED_COMMANDS("IN_MATCH.BLOCK_COMMANDS", "Commands which the player can't run during a match.",
             DataType.STRING_LIST,
             ""),
     PARTY_ADVERTISE_TIME("PARTY.ADVERTISE_TIME",
             "The time it should take for sending each message for party advertisements, in ticks (20 ticks = 1 second).",
-            DataType.INT, "6000");
+            DataType.INT, "6000"),
+    ARENA_POOL_MIN("ARENA_POOL.MIN", "How many pasted copies of each arena should be kept ready for new matches.",
+            DataType.INT, "2"),
+    ARENA_POOL_MAX("ARENA_POOL.MAX", "The maximum amount of idle copies kept per arena, extra copies are unloaded.",
+            DataType.INT, "6"),
+    ARENA_POOL_REFILL_TIME("ARENA_POOL.REFILL_TIME",
+            "How often the arena pool should be refilled in ticks (20 ticks = 1 second).", DataType.INT, "40"),
+    ARENA_POOL_FULL_RESTORE("ARENA_POOL.FULL_RESTORE",
+            "After how many matches a pooled copy is fully restored, undoing block changes no event reported. 0 to disable.",
+            DataType.INT, "10"),
+    ARENA_GRID_WORLDS("ARENA_GRID.WORLDS", "How many shared worlds arenas using the GRID placement are pasted into.",
+            DataType.INT, "2"),
+    ARENA_GRID_SIZE("ARENA_GRID.SIZE", "The amount of slots per row in each grid world, each world holds SIZE x SIZE arenas.",
+            DataType.INT, "16"),
+    ARENA_GRID_SPACING("ARENA_GRID.SPACING",
+            "Distance in blocks between two grid slots. Arenas wider than this fall back to their own world.",
+            DataType.INT, "512"),
+    ARENA_REFRESH_ON_STARTUP("ARENA_SNAPSHOTS.REFRESH_ON_STARTUP",
+            "Read every arena from its world on startup and update changed snapshots. Arenas without one are always read.",
+            DataType.BOOLEAN, "false"),
+    TIMINGS_ENABLED("TIMINGS.ENABLED",
+            "Time tasks, match events and database writes from startup. Can also be toggled with /neptune perf.",
+            DataType.BOOLEAN, "false"),
+    METRICS_ENABLED("METRICS.ENABLED", "Serve metrics in the Prometheus format on http://localhost:<port>/metrics.",
+            DataType.BOOLEAN, "false"),
+    METRICS_PORT("METRICS.PORT", "Port of the metrics endpoint, it only listens on localhost.", DataType.INT, "9464"),
+    MATCHMAKING_ELO_RANGE("MATCHMAKING.ELO_RANGE", "The starting elo difference allowed between two queued players.",
+            DataType.INT, "100"),
+    MATCHMAKING_ELO_RANGE_INCREASE("MATCHMAKING.ELO_RANGE_INCREASE",
+            "How much the allowed elo difference grows for every second a player has been waiting in queue.",
+            DataType.INT, "10"),
+    MATCHMAKING_MAX_ELO_RANGE("MATCHMAKING.MAX_ELO_RANGE",
+            "The largest elo difference a waiting player can be matched with. Use -1 for no limit.", DataType.INT, "-1");
 
     private final String path;
     private final String comment;
@@ -1,8 +1,6 @@
 package dev.lrxh.neptune.feature.leaderboard;
 
-import dev.lrxh.neptune.API;
-import dev.lrxh.neptune.feature.divisions.DivisionService;
-import dev.lrxh.neptune.feature.leaderboard.impl.LeaderboardPlayerEntry;
+import dev.lrxh.neptune.feature.leaderboard.impl.LeaderboardIndex;
 import dev.lrxh.neptune.feature.leaderboard.impl.LeaderboardType;
 import dev.lrxh.neptune.feature.leaderboard.impl.PlayerEntry;
 import dev.lrxh.neptune.game.kit.Kit;
@@ -10,10 +8,10 @@ import dev.lrxh.neptune.game.kit.KitService;
 import dev.lrxh.neptune.profile.data.KitData;
 import dev.lrxh.neptune.providers.database.DatabaseService;
 import dev.lrxh.neptune.providers.database.impl.DataDocument;
+import dev.lrxh.neptune.providers.metrics.MetricsService;
+import dev.lrxh.neptune.providers.metrics.impl.Counter;
 import dev.lrxh.neptune.utils.ServerUtils;
 import lombok.Getter;
-import org.bukkit.Bukkit;
-import org.bukkit.entity.Player;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -23,14 +21,24 @@ import java.util.regex.Pattern;
 
 @Getter
 public class LeaderboardService {
+    private static final int SIZE = 10;
     private static LeaderboardService instance;
     public final Pattern PATTERN = Pattern.compile("(KILLS|BEST_WIN_STREAK|DEATHS|ELO)_(.*)_(10|[1-9])_(name|value)");
-    private final List<LeaderboardPlayerEntry> changes;
-    private final Map<Kit, Map<LeaderboardType, List<PlayerEntry>>> leaderboards;
+    public final Pattern RANK_PATTERN = Pattern.compile("(KILLS|BEST_WIN_STREAK|DEATHS|ELO)_(.*)_(rank|percentile)");
+    private final Map<Kit, Map<LeaderboardType, LeaderboardIndex>> leaderboards;
+    private final Counter updates = MetricsService.get().counter("neptune_leaderboard_updates_total",
+            "Players moved on the leaderboards of a kit after a match.", "kit");
 
     public LeaderboardService() {
         leaderboards = new ConcurrentHashMap<>();
-        changes = new ArrayList<>();
+
+        MetricsService.get().gauge("neptune_leaderboard_players", "Players ranked on the leaderboards of each kit.", "kit", () -> {
+            Map<String, Integer> players = new HashMap<>();
+            for (Kit kit : KitService.get().getKits()) {
+                players.put(kit.getName(), getIndex(kit, LeaderboardType.ELO).size());
+            }
+            return players;
+        });
     }
 
     public static LeaderboardService get() {
@@ -61,178 +69,106 @@ public class LeaderboardService {
         return placeholder;
     }
 
-    private void checkIfMissing() {
-        for (Kit kit : KitService.get().kits) {
-            leaderboards.computeIfAbsent(kit, k -> {
-                Map<LeaderboardType, List<PlayerEntry>> typeMap = new ConcurrentHashMap<>();
-                for (LeaderboardType leaderboardType : LeaderboardType.values()) {
-                    typeMap.put(leaderboardType, new ArrayList<>());
-                }
-                return typeMap;
-            });
+    public String getPlaceholder(UUID playerUUID, String placeholder) {
+        Matcher matcher = RANK_PATTERN.matcher(placeholder);
+        if (!matcher.matches())
+            return getPlaceholder(placeholder);
+
+        Kit kit = KitService.get().getKitByName(matcher.group(2));
+        if (kit == null)
+            return placeholder;
+
+        LeaderboardType leaderboardType = LeaderboardType.value(matcher.group(1));
+        if (matcher.group(3).equals("rank")) {
+            int rank = getRank(kit, leaderboardType, playerUUID);
+            return rank == 0 ? "???" : String.valueOf(rank);
         }
+
+        return String.format("%.1f", getPercentile(kit, leaderboardType, playerUUID));
+    }
+
+    private LeaderboardIndex getIndex(Kit kit, LeaderboardType leaderboardType) {
+        return leaderboards.computeIfAbsent(kit, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(leaderboardType, t -> new LeaderboardIndex());
     }
 
     public PlayerEntry getLeaderboardSlot(Kit kit, LeaderboardType leaderboardType, int i) {
-        List<PlayerEntry> playerEntries = getPlayerEntries(kit, leaderboardType);
-        if (i <= 0 || i > playerEntries.size())
+        if (i <= 0 || i > SIZE)
             return null;
-        return playerEntries.get(i - 1);
+        return getIndex(kit, leaderboardType).get(i - 1);
     }
 
     public List<PlayerEntry> getPlayerEntries(Kit kit, LeaderboardType leaderboardType) {
-        Map<LeaderboardType, List<PlayerEntry>> kitLeaderboards = leaderboards.get(kit);
-        if (kitLeaderboards == null)
-            return Collections.emptyList();
+        return getIndex(kit, leaderboardType).top(SIZE);
+    }
 
-        List<PlayerEntry> entries = kitLeaderboards.get(leaderboardType);
-        if (entries == null)
-            return Collections.emptyList();
+    public int getRank(Kit kit, LeaderboardType leaderboardType, UUID playerUUID) {
+        return getIndex(kit, leaderboardType).getRank(playerUUID);
+    }
 
-        List<PlayerEntry> sortedEntries = new ArrayList<>(entries);
-        sortedEntries.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
-        return sortedEntries;
+    public double getPercentile(Kit kit, LeaderboardType leaderboardType, UUID playerUUID) {
+        return getIndex(kit, leaderboardType).getPercentile(playerUUID);
     }
 
+    /**
+     * Loads every player's stats of every kit into the indexes, afterwards they are kept up to date by {@link #update}.
+     */
     public CompletableFuture<Void> load() {
-        checkIfMissing();
-
-        for (Map<LeaderboardType, List<PlayerEntry>> kitMap : leaderboards.values()) {
-            for (List<PlayerEntry> entries : kitMap.values()) {
-                entries.clear();
-            }
-        }
-
         List<CompletableFuture<Void>> futures = new ArrayList<>();
-        for (LeaderboardType type : LeaderboardType.values()) {
-            futures.add(loadType(type));
+        for (Kit kit : KitService.get().getKits()) {
+            futures.add(loadKit(kit));
         }
         return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
     }
 
-    private CompletableFuture<Void> loadType(LeaderboardType leaderboardType) {
-        return CompletableFuture.runAsync(() -> {
-            for (Kit kit : KitService.get().getKits()) {
-                DatabaseService.get().getDatabase().getAllByKitType(kit.getName(), leaderboardType.getDatabaseName())
-                        .thenAccept(documents -> {
-                            List<PlayerEntry> tempEntries = new ArrayList<>();
-
-                            for (DataDocument document : documents) {
-                                String username = document.getString("username");
-                                UUID uuid = UUID.fromString(document.getString("uuid"));
-
-                                KitData kitData = getKitData(document, kit);
-
-                                if (kitData == null)
-                                    continue;
-
-                                PlayerEntry playerEntry = new PlayerEntry(username, uuid, leaderboardType.get(kitData));
-                                tempEntries.add(playerEntry);
-                            }
-
-                            tempEntries.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
-
-                            Map<LeaderboardType, List<PlayerEntry>> kitLeaderboards = leaderboards.get(kit);
-                            if (kitLeaderboards != null) {
-                                List<PlayerEntry> currentEntries = kitLeaderboards.get(leaderboardType);
-                                currentEntries.clear();
-                                currentEntries.addAll(tempEntries);
-                            }
-                        }).exceptionally(throwable -> {
-                            ServerUtils.error("Failed to load leaderboard: " + throwable.getMessage());
-                            throwable.printStackTrace();
-                            return null;
-                        });
-            }
-        });
+    private CompletableFuture<Void> loadKit(Kit kit) {
+        return DatabaseService.get().getDatabase().getKitStats(kit.getName())
+                .thenAccept(documents -> {
+                    for (LeaderboardType leaderboardType : LeaderboardType.values()) {
+                        getIndex(kit, leaderboardType).clear();
+                    }
+
+                    for (DataDocument document : documents) {
+                        String username = document.getString("username");
+                        UUID uuid = UUID.fromString(document.getString("uuid"));
+                        KitData kitData = getKitData(document);
+
+                        for (LeaderboardType leaderboardType : LeaderboardType.values()) {
+                            getIndex(kit, leaderboardType).put(new PlayerEntry(username, uuid, leaderboardType.get(kitData)));
+                        }
+                    }
+                }).exceptionally(throwable -> {
+                    ServerUtils.error("Failed to load leaderboard of " + kit.getName() + ": " + throwable.getMessage());
+                    return null;
+                });
     }
 
-    public CompletableFuture<Void> update() {
-        if (changes.isEmpty())
-            return CompletableFuture.completedFuture(null);
-
-        checkIfMissing();
-        List<LeaderboardPlayerEntry> copy = new ArrayList<>(changes);
-        changes.clear();
-
-        List<CompletableFuture<Void>> futures = new ArrayList<>();
-        for (LeaderboardPlayerEntry leaderboardPlayerEntry : copy) {
-            for (LeaderboardType type : LeaderboardType.values()) {
-                futures.add(loadLB(type, leaderboardPlayerEntry));
-            }
+    /**
+     * Moves the player to their new position on every leaderboard of the kit.
+     */
+    public void update(String username, UUID playerUUID, Kit kit, KitData kitData) {
+        for (LeaderboardType leaderboardType : LeaderboardType.values()) {
+            getIndex(kit, leaderboardType).put(new PlayerEntry(username, playerUUID, leaderboardType.get(kitData)));
         }
-        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+        updates.inc(kit.getName());
     }
 
-    private void addOrUpdatePlayerEntry(Kit kit, PlayerEntry newEntry, LeaderboardType leaderboardType) {
-        synchronized (leaderboards) {
-            Map<LeaderboardType, List<PlayerEntry>> kitLeaderboards = leaderboards.get(kit);
-            if (kitLeaderboards == null)
-                return;
-
-            List<PlayerEntry> entries = kitLeaderboards.computeIfAbsent(leaderboardType, k -> new ArrayList<>());
-
-            entries.removeIf(e -> e.getUuid().equals(newEntry.getUuid()));
-
-            entries.add(newEntry);
-
-            entries.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
-
-            if (entries.size() > 10) {
-                entries.subList(10, entries.size()).clear();
+    public void remove(UUID playerUUID) {
+        for (Map<LeaderboardType, LeaderboardIndex> indexes : leaderboards.values()) {
+            for (LeaderboardIndex index : indexes.values()) {
+                index.remove(playerUUID);
             }
         }
     }
 
-    public void addChange(LeaderboardPlayerEntry playerEntry) {
-        changes.add(playerEntry);
-    }
-
-    private CompletableFuture<Void> loadLB(LeaderboardType leaderboardType,
-                                           LeaderboardPlayerEntry leaderboardPlayerEntry) {
-        Kit kit = leaderboardPlayerEntry.getKit();
-        UUID playerUUID = leaderboardPlayerEntry.getPlayerUUID();
-        String username = leaderboardPlayerEntry.getUsername();
-
-        return getKitData(playerUUID, kit).thenAccept(kitData -> {
-            if (kitData == null)
-                return;
-
-            PlayerEntry playerEntry = new PlayerEntry(username, playerUUID, leaderboardType.get(kitData));
-            addOrUpdatePlayerEntry(kit, playerEntry, leaderboardType);
-        });
-    }
-
-    private KitData getKitData(DataDocument document, Kit kit) {
-        if (document == null)
-            return null;
-
-        DataDocument kitStatistics = document.getDataDocument("kitData");
-        if (kitStatistics == null)
-            return null;
-
-        DataDocument kitDocument = kitStatistics.getDataDocument(kit.getName());
-        if (kitDocument == null)
-            return null;
-
+    private KitData getKitData(DataDocument document) {
         KitData kitData = new KitData();
-        kitData.setCurrentStreak(kitDocument.getInteger("WIN_STREAK_CURRENT", 0));
-        kitData.setKills(kitDocument.getInteger("WINS", 0));
-        kitData.setDivision(DivisionService.get().getDivisionByElo(kitData.getKills()));
-        kitData.setDeaths(kitDocument.getInteger("LOSSES", 0));
-        kitData.setBestStreak(kitDocument.getInteger("WIN_STREAK_BEST", 0));
+        kitData.setCurrentStreak(document.getInteger("WIN_STREAK_CURRENT", 0));
+        kitData.setKills(document.getInteger("WINS", 0));
+        kitData.setElo(document.getInteger("ELO", 0));
+        kitData.setDeaths(document.getInteger("LOSSES", 0));
+        kitData.setBestStreak(document.getInteger("WIN_STREAK_BEST", 0));
 
         return kitData;
     }
-
-    private CompletableFuture<KitData> getKitData(UUID playerUUID, Kit kit) {
-        Player player = Bukkit.getPlayer(playerUUID);
-        if (player != null) {
-            return CompletableFuture.completedFuture(
-                    API.getProfile(player).getGameData().get(kit));
-        }
-
-        return DatabaseService.get().getDatabase().getUserData(playerUUID)
-                .thenApply(document -> getKitData(document, kit));
-    }
-}
\ No newline at end of file
+}
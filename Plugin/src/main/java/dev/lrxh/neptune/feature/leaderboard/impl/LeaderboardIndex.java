@@ -0,0 +1,188 @@
+package dev.lrxh.neptune.feature.leaderboard.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Every player of one kit and leaderboard type, ordered by value in a treap that tracks subtree sizes,
+ * so updates, positional lookups and ranks are all O(log n).
+ */
+public class LeaderboardIndex {
+    private final Map<UUID, PlayerEntry> entries = new HashMap<>();
+    private Node root;
+
+    public synchronized void put(PlayerEntry playerEntry) {
+        PlayerEntry old = entries.put(playerEntry.getUuid(), playerEntry);
+        if (old != null) root = remove(root, old);
+
+        Node[] split = split(root, playerEntry);
+        root = merge(merge(split[0], new Node(playerEntry)), split[1]);
+    }
+
+    public synchronized void remove(UUID playerUUID) {
+        PlayerEntry old = entries.remove(playerUUID);
+        if (old != null) root = remove(root, old);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        root = null;
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    public synchronized PlayerEntry getEntry(UUID playerUUID) {
+        return entries.get(playerUUID);
+    }
+
+    /**
+     * Entry at the given 0-based position, highest value first.
+     */
+    public synchronized PlayerEntry get(int index) {
+        if (index < 0 || index >= size(root)) return null;
+
+        Node node = root;
+        while (node != null) {
+            int left = size(node.left);
+            if (index < left) {
+                node = node.left;
+            } else if (index == left) {
+                return node.entry;
+            } else {
+                index -= left + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    public synchronized List<PlayerEntry> top(int amount) {
+        List<PlayerEntry> top = new ArrayList<>(Math.min(amount, size(root)));
+        collect(root, top, amount);
+        return top;
+    }
+
+    /**
+     * 1-based rank of the player, players with the same value share a rank. 0 if the player is not indexed.
+     */
+    public synchronized int getRank(UUID playerUUID) {
+        PlayerEntry playerEntry = entries.get(playerUUID);
+        if (playerEntry == null) return 0;
+
+        return countAbove(playerEntry.getValue()) + 1;
+    }
+
+    /**
+     * Share of players the player is ranked equal to or above, from 0 to 100.
+     */
+    public synchronized double getPercentile(UUID playerUUID) {
+        PlayerEntry playerEntry = entries.get(playerUUID);
+        if (playerEntry == null) return 0;
+
+        int size = size(root);
+        return 100.0 * (size - countAbove(playerEntry.getValue())) / size;
+    }
+
+    private int countAbove(int value) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.entry.getValue() > value) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private void collect(Node node, List<PlayerEntry> into, int amount) {
+        if (node == null || into.size() >= amount) return;
+
+        collect(node.left, into, amount);
+        if (into.size() < amount) into.add(node.entry);
+        collect(node.right, into, amount);
+    }
+
+    private Node remove(Node node, PlayerEntry playerEntry) {
+        Node[] split = split(node, playerEntry);
+        return merge(split[0], removeFirst(split[1]));
+    }
+
+    private Node removeFirst(Node node) {
+        if (node == null) return null;
+        if (node.left == null) return node.right;
+
+        node.left = removeFirst(node.left);
+        node.update();
+        return node;
+    }
+
+    /**
+     * Splits into entries ordered before the given one and the rest.
+     */
+    private Node[] split(Node node, PlayerEntry playerEntry) {
+        if (node == null) return new Node[2];
+
+        if (compare(node.entry, playerEntry) < 0) {
+            Node[] split = split(node.right, playerEntry);
+            node.right = split[0];
+            node.update();
+            split[0] = node;
+            return split;
+        }
+
+        Node[] split = split(node.left, playerEntry);
+        node.left = split[1];
+        node.update();
+        split[1] = node;
+        return split;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static int compare(PlayerEntry a, PlayerEntry b) {
+        int value = Integer.compare(b.getValue(), a.getValue());
+        return value != 0 ? value : a.getUuid().compareTo(b.getUuid());
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+        private final PlayerEntry entry;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(PlayerEntry entry) {
+            this.entry = entry;
+        }
+
+        private void update() {
+            size = 1 + size(left) + size(right);
+        }
+    }
+}
@@ -1,15 +0,0 @@
-package dev.lrxh.neptune.feature.leaderboard.impl;
-
-import dev.lrxh.neptune.game.kit.Kit;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-
-import java.util.UUID;
-
-@Getter
-@AllArgsConstructor
-public class LeaderboardPlayerEntry {
-    private final String username;
-    private final UUID playerUUID;
-    private final Kit kit;
-}
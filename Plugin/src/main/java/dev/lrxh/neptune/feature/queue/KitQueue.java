@@ -0,0 +1,52 @@
+package dev.lrxh.neptune.feature.queue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class KitQueue {
+    private final Set<QueueEntry> ordered = new LinkedHashSet<>();
+    private final List<QueueEntry> indexed = new ArrayList<>();
+
+    public synchronized boolean add(QueueEntry entry) {
+        if (!ordered.add(entry)) return false;
+
+        entry.index = indexed.size();
+        indexed.add(entry);
+        return true;
+    }
+
+    public synchronized boolean remove(QueueEntry entry) {
+        if (!ordered.remove(entry)) return false;
+
+        QueueEntry last = indexed.remove(indexed.size() - 1);
+        if (last != entry) {
+            indexed.set(entry.index, last);
+            last.index = entry.index;
+        }
+        entry.index = -1;
+        return true;
+    }
+
+    public synchronized QueueEntry pollRandom() {
+        if (indexed.isEmpty()) return null;
+
+        QueueEntry entry = indexed.get(ThreadLocalRandom.current().nextInt(indexed.size()));
+        remove(entry);
+        return entry;
+    }
+
+    public synchronized List<QueueEntry> getEntries() {
+        return new ArrayList<>(ordered);
+    }
+
+    public synchronized int size() {
+        return indexed.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return indexed.isEmpty();
+    }
+}
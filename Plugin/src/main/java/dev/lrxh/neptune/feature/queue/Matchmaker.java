@@ -0,0 +1,71 @@
+package dev.lrxh.neptune.feature.queue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+public class Matchmaker {
+
+    public List<Pairing> pair(List<Candidate> candidates) {
+        int size = candidates.size();
+        if (size < 2) return Collections.emptyList();
+
+        Candidate[] byElo = candidates.toArray(new Candidate[0]);
+        Arrays.sort(byElo, Comparator.comparingInt(Candidate::elo));
+
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> byElo[i].waited()).reversed());
+
+        boolean[] paired = new boolean[size];
+        List<Pairing> pairings = new ArrayList<>(size / 2);
+
+        for (int i : order) {
+            if (paired[i]) continue;
+            Candidate candidate = byElo[i];
+
+            int below = -1;
+            for (int j = i - 1; j >= 0 && candidate.elo() - byElo[j].elo() <= candidate.range(); j--) {
+                if (!paired[j] && isCompatible(candidate, byElo[j])) {
+                    below = j;
+                    break;
+                }
+            }
+
+            int above = -1;
+            for (int j = i + 1; j < size && byElo[j].elo() - candidate.elo() <= candidate.range(); j++) {
+                if (!paired[j] && isCompatible(candidate, byElo[j])) {
+                    above = j;
+                    break;
+                }
+            }
+
+            int match;
+            if (below == -1) match = above;
+            else if (above == -1) match = below;
+            else match = candidate.elo() - byElo[below].elo() <= byElo[above].elo() - candidate.elo() ? below : above;
+
+            if (match == -1) continue;
+
+            paired[i] = true;
+            paired[match] = true;
+            pairings.add(new Pairing(candidate, byElo[match]));
+        }
+
+        return pairings;
+    }
+
+    private boolean isCompatible(Candidate first, Candidate second) {
+        return Math.abs(first.elo() - second.elo()) <= second.range()
+                && first.ping() <= second.maxPing()
+                && second.ping() <= first.maxPing();
+    }
+
+    public record Candidate(QueueEntry entry, int elo, int ping, int maxPing, int range, long waited) {
+    }
+
+    public record Pairing(Candidate first, Candidate second) {
+    }
+}
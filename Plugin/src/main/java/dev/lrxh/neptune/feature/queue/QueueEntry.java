@@ -3,6 +3,7 @@ package dev.lrxh.neptune.feature.queue;
 import dev.lrxh.api.queue.IQueueEntry;
 import dev.lrxh.neptune.game.kit.Kit;
 import dev.lrxh.neptune.utils.Time;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -14,6 +15,9 @@ public class QueueEntry implements IQueueEntry {
     public final Time time;
     private final Kit kit;
     private final UUID uuid;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    int index = -1;
 
     public QueueEntry(Kit kit, UUID uuid) {
         this.kit = kit;
@@ -8,21 +8,38 @@ import dev.lrxh.neptune.API;
 import dev.lrxh.neptune.Neptune;
 import dev.lrxh.neptune.configs.impl.MessagesLocale;
 import dev.lrxh.neptune.game.kit.Kit;
+import dev.lrxh.neptune.game.kit.KitService;
 import dev.lrxh.neptune.game.kit.impl.KitRule;
 import dev.lrxh.neptune.profile.data.ProfileState;
 import dev.lrxh.neptune.profile.impl.Profile;
 import dev.lrxh.neptune.providers.clickable.Replacement;
+import dev.lrxh.neptune.providers.metrics.MetricsService;
+import dev.lrxh.neptune.providers.metrics.impl.Counter;
 import org.bukkit.Bukkit;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public class QueueService implements IQueueService {
 
     private static QueueService instance;
 
-    private final Map<Kit, Queue<QueueEntry>> kitQueues = new HashMap<>();
+    private final Map<Kit, KitQueue> kitQueues = new ConcurrentHashMap<>();
+    private final Map<UUID, QueueEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Counter joins = MetricsService.get().counter("neptune_queue_joins_total", "Players that joined a queue.", "kit");
+
+    public QueueService() {
+        MetricsService.get().gauge("neptune_queue_size", "Players waiting in the queue of each kit.", "kit", () -> {
+            Map<String, Integer> sizes = new HashMap<>();
+            for (Kit kit : KitService.get().getKits()) {
+                sizes.put(kit.getName(), kit.getQueue());
+            }
+            return sizes;
+        });
+    }
 
     public static QueueService get() {
         if (instance == null) instance = new QueueService();
@@ -33,14 +50,16 @@ public class QueueService implements IQueueService {
         UUID playerUUID = queueEntry.getUuid();
         Kit kit = queueEntry.getKit();
 
-        if (get(playerUUID) != null) return;
+        if (entries.containsKey(playerUUID)) return;
 
         Profile profile = API.getProfile(playerUUID);
         if (!profile.hasState(ProfileState.IN_LOBBY)) return;
         if (profile.getGameData().getParty() != null) return;
         if (queueEntry.getKit().is(KitRule.HIDDEN)) return;
 
-        kitQueues.computeIfAbsent(kit, k -> new ConcurrentLinkedQueue<>()).offer(queueEntry);
+        if (entries.putIfAbsent(playerUUID, queueEntry) != null) return;
+        if (kitQueues.computeIfAbsent(kit, k -> new KitQueue()).add(queueEntry)) size.incrementAndGet();
+        joins.inc(kit.getName());
 
         if (add) {
             QueueJoinEvent event = new QueueJoinEvent(queueEntry);
@@ -55,13 +74,12 @@ public class QueueService implements IQueueService {
     }
 
     public QueueEntry remove(UUID playerUUID) {
-        QueueEntry entry = get(playerUUID);
+        QueueEntry entry = entries.remove(playerUUID);
         if (entry == null) return null;
 
-        Kit kit = entry.getKit();
-        Queue<QueueEntry> queue = kitQueues.get(kit);
-        if (queue != null) {
-            queue.remove(entry);
+        KitQueue queue = kitQueues.get(entry.getKit());
+        if (queue != null && queue.remove(entry)) {
+            size.decrementAndGet();
             entry.getKit().removeQueue();
         }
 
@@ -73,29 +91,28 @@ public class QueueService implements IQueueService {
     }
 
     public QueueEntry poll(Kit kit) {
-        Queue<QueueEntry> queue = kitQueues.get(kit);
-        if (queue == null || queue.isEmpty()) return null;
+        KitQueue queue = kitQueues.get(kit);
+        if (queue == null) return null;
+
+        QueueEntry entry = queue.pollRandom();
+        if (entry == null) return null;
 
-        List<QueueEntry> entries = new ArrayList<>(queue);
-        return remove(entries.get(new Random().nextInt(entries.size())).getUuid());
+        entries.remove(entry.getUuid(), entry);
+        size.decrementAndGet();
+        kit.removeQueue();
+
+        return entry;
     }
 
     public QueueEntry get(UUID uuid) {
-        for (Queue<QueueEntry> queue : kitQueues.values()) {
-            for (QueueEntry entry : queue) {
-                if (entry.getUuid().equals(uuid)) return entry;
-            }
-        }
-        return null;
+        return entries.get(uuid);
     }
 
     public int getQueueSize() {
-        return QueueService.get().getAllQueues().values().stream()
-                .mapToInt(Queue::size)
-                .sum();
+        return size.get();
     }
 
-    public Map<Kit, Queue<QueueEntry>> getAllQueues() {
+    public Map<Kit, KitQueue> getAllQueues() {
         return kitQueues;
     }
 
@@ -104,7 +121,7 @@ public class QueueService implements IQueueService {
                 HashMap::new,
                 (map, entry) -> map.put(
                         entry.getKey(),
-                        entry.getValue().stream().map(
+                        entry.getValue().getEntries().stream().map(
                                 e -> (IQueueEntry) e).collect(Collectors.toCollection(LinkedList::new)
                         )
                 ),
@@ -1,7 +1,11 @@
 package dev.lrxh.neptune.feature.queue.tasks;
 
 import dev.lrxh.neptune.API;
+import dev.lrxh.neptune.Neptune;
 import dev.lrxh.neptune.configs.impl.MessagesLocale;
+import dev.lrxh.neptune.configs.impl.SettingsLocale;
+import dev.lrxh.neptune.feature.queue.KitQueue;
+import dev.lrxh.neptune.feature.queue.Matchmaker;
 import dev.lrxh.neptune.feature.queue.QueueEntry;
 import dev.lrxh.neptune.feature.queue.QueueService;
 import dev.lrxh.neptune.game.kit.Kit;
@@ -9,27 +13,33 @@ import dev.lrxh.neptune.game.kit.impl.KitRule;
 import dev.lrxh.neptune.game.match.MatchService;
 import dev.lrxh.neptune.game.match.impl.participant.Participant;
 import dev.lrxh.neptune.profile.data.ProfileState;
-import dev.lrxh.neptune.profile.data.SettingData;
 import dev.lrxh.neptune.profile.impl.Profile;
 import dev.lrxh.neptune.providers.clickable.Replacement;
 import dev.lrxh.neptune.providers.placeholder.PlaceholderUtil;
 import dev.lrxh.neptune.utils.CC;
 import dev.lrxh.neptune.utils.PlayerUtil;
+import dev.lrxh.neptune.utils.ServerUtils;
 import dev.lrxh.neptune.utils.tasks.NeptuneRunnable;
 import dev.lrxh.neptune.utils.tasks.TaskScheduler;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class QueueCheckTask extends NeptuneRunnable {
+    private final Matchmaker matchmaker = new Matchmaker();
+    private final AtomicBoolean matching = new AtomicBoolean();
+
     @Override
     public void run() {
 
-        for (Queue<QueueEntry> queue : QueueService.get().getAllQueues().values()) {
-            for (QueueEntry entry : queue) {
+        for (KitQueue queue : QueueService.get().getAllQueues().values()) {
+            for (QueueEntry entry : queue.getEntries()) {
                 Player player = Bukkit.getPlayer(entry.getUuid());
                 if (player != null) {
                     player.sendActionBar(CC.color(PlaceholderUtil.format(MessagesLocale.QUEUE_ACTION_BAR.getString(), player)));
@@ -37,88 +47,130 @@ public class QueueCheckTask extends NeptuneRunnable {
             }
         }
 
-        for (Map.Entry<Kit, Queue<QueueEntry>> entry : QueueService.get().getAllQueues().entrySet()) {
-            Kit kit = entry.getKey();
-            Queue<QueueEntry> kitQueue = entry.getValue();
+        if (!matching.compareAndSet(false, true)) return;
 
+        List<List<Matchmaker.Candidate>> candidates = new ArrayList<>();
+        for (Map.Entry<Kit, KitQueue> entry : QueueService.get().getAllQueues().entrySet()) {
+            Kit kit = entry.getKey();
+            KitQueue kitQueue = entry.getValue();
 
             if (kitQueue.size() < 2) {
                 continue;
             }
 
-            QueueEntry queueEntry1 = QueueService.get().poll(kit);
-            QueueEntry queueEntry2 = QueueService.get().poll(kit);
+            List<Matchmaker.Candidate> kitCandidates = new ArrayList<>(kitQueue.size());
+            for (QueueEntry queueEntry : kitQueue.getEntries()) {
+                Player player = Bukkit.getPlayer(queueEntry.getUuid());
+                Profile profile = API.getProfile(queueEntry.getUuid());
+                if (player == null || profile == null) continue;
 
-            UUID uuid1 = queueEntry1.getUuid();
-            UUID uuid2 = queueEntry2.getUuid();
+                long waited = queueEntry.getTime().getElapsed() / 1000;
+                kitCandidates.add(new Matchmaker.Candidate(queueEntry, profile.getGameData().get(kit).getElo(),
+                        player.getPing(), profile.getSettingData().getMaxPing(), getRange(waited), waited));
+            }
 
-            Profile profile1 = API.getProfile(uuid1);
-            Profile profile2 = API.getProfile(uuid2);
+            if (kitCandidates.size() >= 2) candidates.add(kitCandidates);
+        }
 
-            profile1.setState(ProfileState.IN_LOBBY);
-            profile2.setState(ProfileState.IN_LOBBY);
+        if (candidates.isEmpty()) {
+            matching.set(false);
+            return;
+        }
 
-            if (!queueEntry1.getKit().equals(queueEntry2.getKit())) {
-                QueueService.get().add(queueEntry1, false);
-                QueueService.get().add(queueEntry2, false);
-                continue;
+        CompletableFuture.supplyAsync(() -> {
+            List<Matchmaker.Pairing> pairings = new ArrayList<>();
+            for (List<Matchmaker.Candidate> kitCandidates : candidates) {
+                pairings.addAll(matchmaker.pair(kitCandidates));
+            }
+            return pairings;
+        }).whenComplete((pairings, throwable) -> {
+            if (throwable != null) {
+                matching.set(false);
+                ServerUtils.error("Failed to pair queued players: " + throwable.getMessage());
+                return;
             }
 
-            SettingData settings1 = profile1.getSettingData();
-            SettingData settings2 = profile2.getSettingData();
+            Bukkit.getScheduler().runTask(Neptune.get(), () -> {
+                try {
+                    pairings.forEach(this::startMatch);
+                } finally {
+                    matching.set(false);
+                }
+            });
+        });
+    }
 
-            int ping1 = PlayerUtil.getPing(uuid1);
-            int ping2 = PlayerUtil.getPing(uuid2);
+    public static int getRange(long waited) {
+        long range = SettingsLocale.MATCHMAKING_ELO_RANGE.getInt() + waited * SettingsLocale.MATCHMAKING_ELO_RANGE_INCREASE.getInt();
+        int max = SettingsLocale.MATCHMAKING_MAX_ELO_RANGE.getInt();
 
-            if (!(ping2 <= settings1.getMaxPing() && ping1 <= settings2.getMaxPing())) {
-                QueueService.get().add(queueEntry1, false);
-                QueueService.get().add(queueEntry2, false);
-                continue;
-            }
+        if (max >= 0) range = Math.min(range, max);
+        return (int) Math.min(range, Integer.MAX_VALUE);
+    }
 
-            Player player1 = Bukkit.getPlayer(uuid1);
-            Player player2 = Bukkit.getPlayer(uuid2);
-            if (player1 == null || player2 == null) {
-                continue;
+    private void startMatch(Matchmaker.Pairing pairing) {
+        QueueEntry queueEntry1 = pairing.first().entry();
+        QueueEntry queueEntry2 = pairing.second().entry();
+        Kit kit = queueEntry1.getKit();
+
+        UUID uuid1 = queueEntry1.getUuid();
+        UUID uuid2 = queueEntry2.getUuid();
+
+        if (QueueService.get().get(uuid1) != queueEntry1 || QueueService.get().get(uuid2) != queueEntry2) return;
+
+        Player player1 = Bukkit.getPlayer(uuid1);
+        Player player2 = Bukkit.getPlayer(uuid2);
+        if (player1 == null || player2 == null) {
+            return;
+        }
+
+        QueueService.get().remove(queueEntry1);
+        QueueService.get().remove(queueEntry2);
+
+        Profile profile1 = API.getProfile(uuid1);
+        Profile profile2 = API.getProfile(uuid2);
+
+        profile1.setState(ProfileState.IN_LOBBY);
+        profile2.setState(ProfileState.IN_LOBBY);
+
+        int ping1 = pairing.first().ping();
+        int ping2 = pairing.second().ping();
+
+        kit.getRandomArena().thenAccept(arena -> {
+            if (arena == null) {
+                PlayerUtil.sendMessage(uuid1, CC.error("No valid arena was found for this kit!"));
+                PlayerUtil.sendMessage(uuid2, CC.error("No valid arena was found for this kit!"));
+                return;
             }
 
-            kit.getRandomArena().thenAccept(arena -> {
-                if (arena == null) {
-                    PlayerUtil.sendMessage(uuid1, CC.error("No valid arena was found for this kit!"));
-                    PlayerUtil.sendMessage(uuid2, CC.error("No valid arena was found for this kit!"));
-                    return;
+            Participant participant1 = new Participant(player1);
+            Participant participant2 = new Participant(player2);
+
+            MessagesLocale.MATCH_FOUND.send(uuid1,
+                    new Replacement("<opponent>", participant2.getNameUnColored()),
+                    new Replacement("<kit>", kit.getDisplayName()),
+                    new Replacement("<arena>", arena.getDisplayName()),
+                    new Replacement("<opponent-ping>", String.valueOf(ping2)),
+                    new Replacement("<opponent-elo>", String.valueOf(profile2.getGameData().get(kit).getElo())),
+                    new Replacement("<elo>", String.valueOf(profile1.getGameData().get(kit).getElo())),
+                    new Replacement("<ping>", String.valueOf(ping1)));
+
+            MessagesLocale.MATCH_FOUND.send(uuid2,
+                    new Replacement("<opponent>", participant1.getNameUnColored()),
+                    new Replacement("<kit>", kit.getDisplayName()),
+                    new Replacement("<arena>", arena.getDisplayName()),
+                    new Replacement("<opponent-ping>", String.valueOf(ping1)),
+                    new Replacement("<opponent-elo>", String.valueOf(profile1.getGameData().get(kit).getElo())),
+                    new Replacement("<elo>", String.valueOf(profile2.getGameData().get(kit).getElo())),
+                    new Replacement("<ping>", String.valueOf(ping2)));
+
+            TaskScheduler.get().startTaskCurrentTick(new NeptuneRunnable() {
+                @Override
+                public void run() {
+                    MatchService.get().startMatch(participant1, participant2, kit, arena, false,
+                            kit.is(KitRule.BEST_OF_THREE) ? 3 : 1);
                 }
-
-                Participant participant1 = new Participant(player1);
-                Participant participant2 = new Participant(player2);
-
-                MessagesLocale.MATCH_FOUND.send(uuid1,
-                        new Replacement("<opponent>", participant2.getNameUnColored()),
-                        new Replacement("<kit>", kit.getDisplayName()),
-                        new Replacement("<arena>", arena.getDisplayName()),
-                        new Replacement("<opponent-ping>", String.valueOf(ping2)),
-                        new Replacement("<opponent-elo>", String.valueOf(profile2.getGameData().get(kit).getElo())),
-                        new Replacement("<elo>", String.valueOf(profile1.getGameData().get(kit).getElo())),
-                        new Replacement("<ping>", String.valueOf(ping1)));
-
-                MessagesLocale.MATCH_FOUND.send(uuid2,
-                        new Replacement("<opponent>", participant1.getNameUnColored()),
-                        new Replacement("<kit>", kit.getDisplayName()),
-                        new Replacement("<arena>", arena.getDisplayName()),
-                        new Replacement("<opponent-ping>", String.valueOf(ping1)),
-                        new Replacement("<opponent-elo>", String.valueOf(profile1.getGameData().get(kit).getElo())),
-                        new Replacement("<elo>", String.valueOf(profile2.getGameData().get(kit).getElo())),
-                        new Replacement("<ping>", String.valueOf(ping2)));
-
-                TaskScheduler.get().startTaskCurrentTick(new NeptuneRunnable() {
-                    @Override
-                    public void run() {
-                        MatchService.get().startMatch(participant1, participant2, kit, arena, false,
-                                kit.is(KitRule.BEST_OF_THREE) ? 3 : 1);
-                    }
-                });
             });
-        }
+        });
     }
-
 }
@@ -4,7 +4,10 @@ import com.google.common.collect.Lists;
 import dev.lrxh.api.arena.IArena;
 import dev.lrxh.blockChanger.BlockChanger;
 import dev.lrxh.blockChanger.snapshot.CuboidSnapshot;
+import dev.lrxh.neptune.Neptune;
+import dev.lrxh.neptune.game.arena.impl.ArenaPlacement;
 import dev.lrxh.neptune.game.kit.KitService;
+import dev.lrxh.neptune.utils.ServerUtils;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.*;
@@ -34,8 +37,10 @@ public class Arena implements IArena {
     private double buildLimit;
     private List<Material> whitelistedBlocks;
     private CuboidSnapshot snapshot;
+    private ArenaTemplate template;
     private Arena owner;
     private boolean doneLoading;
+    private ArenaPlacement placement = ArenaPlacement.WORLD;
 
     public Arena(String name, String displayName, Location redSpawn, Location blueSpawn, boolean enabled, int deathY) {
         this.name = name;
@@ -60,14 +65,11 @@ public class Arena implements IArena {
         this.buildLimit = buildLimit;
         this.whitelistedBlocks = (whitelistedBlocks != null ? whitelistedBlocks : new ArrayList<>());
 
+        // Only read from the world when there is no snapshot yet, unless enabled in the settings, see ArenaService#load
         if (min != null && max != null) {
-            this.doneLoading = false;
-            CuboidSnapshot.create(min, max).thenAccept(cuboidSnapshot -> {
-                this.snapshot = cuboidSnapshot;
-                this.doneLoading = true;
-            });
+            this.template = ArenaSnapshotStore.get().load(name, min, max);
+            this.doneLoading = template != null;
         }
-
     }
 
     public Arena(String name, String displayName, Location redSpawn, Location blueSpawn,
@@ -98,10 +100,66 @@ public class Arena implements IArena {
 
     }
 
-    public synchronized CompletableFuture<VirtualArena> createDuplicate() {
+    public CompletableFuture<VirtualArena> createDuplicate() {
+        if (placement == ArenaPlacement.GRID) return ArenaGrid.get().create(this);
+
+        return createWorldDuplicate();
+    }
+
+    public synchronized CompletableFuture<VirtualArena> createWorldDuplicate() {
         CompletableFuture<VirtualArena> future = new CompletableFuture<>();
         UUID uuid = UUID.randomUUID();
-        WorldCreator creator = new WorldCreator(uuid.toString())
+        WorldCreator creator = createWorldCreator(uuid.toString());
+
+        BlockChanger.createVirtualWorld(creator).thenAccept(virtualWorld -> {
+            try {
+                World world = virtualWorld.getWorld();
+
+                Location min = this.min.clone();
+                min.setWorld(world);
+                Location max = this.max.clone();
+                max.setWorld(world);
+                Location redSpawn = this.redSpawn.clone();
+                redSpawn.setWorld(world);
+                Location blueSpawn = this.blueSpawn.clone();
+                blueSpawn.setWorld(world);
+
+
+                if (snapshot != null) virtualWorld.paste(snapshot);
+                else template.paste(world, template.getMinX(), template.getMinZ());
+
+                String dupName = this.name + "_" + uuid;
+
+                VirtualArena duplicate = new VirtualArena(
+                        dupName,
+                        this.displayName,
+                        redSpawn,
+                        blueSpawn,
+                        min,
+                        max,
+                        this.buildLimit,
+                        this.enabled,
+                        new ArrayList<>(this.whitelistedBlocks),
+                        this.deathY,
+                        this,
+                        virtualWorld
+                );
+
+                future.complete(duplicate);
+
+            } catch (Exception ex) {
+                future.completeExceptionally(ex);
+            }
+        }).exceptionally(ex -> {
+            future.completeExceptionally(ex);
+            return null;
+        });
+
+        return future;
+    }
+
+    public static WorldCreator createWorldCreator(String name) {
+        return new WorldCreator(name)
                 .type(WorldType.NORMAL)
                 .generator(new ChunkGenerator() {
                     @Override
@@ -156,51 +214,6 @@ public class Arena implements IArena {
                         return Lists.newArrayList(org.bukkit.block.Biome.PLAINS);
                     }
                 });
-
-        BlockChanger.createVirtualWorld(creator).thenAccept(virtualWorld -> {
-            try {
-                World world = virtualWorld.getWorld();
-
-                Location min = this.min.clone();
-                min.setWorld(world);
-                Location max = this.max.clone();
-                max.setWorld(world);
-                Location redSpawn = this.redSpawn.clone();
-                redSpawn.setWorld(world);
-                Location blueSpawn = this.blueSpawn.clone();
-                blueSpawn.setWorld(world);
-
-
-                virtualWorld.paste(snapshot);
-
-                String dupName = this.name + "_" + uuid;
-
-                VirtualArena duplicate = new VirtualArena(
-                        dupName,
-                        this.displayName,
-                        redSpawn,
-                        blueSpawn,
-                        min,
-                        max,
-                        this.buildLimit,
-                        this.enabled,
-                        new ArrayList<>(this.whitelistedBlocks),
-                        this.deathY,
-                        this,
-                        virtualWorld
-                );
-
-                future.complete(duplicate);
-
-            } catch (Exception ex) {
-                future.completeExceptionally(ex);
-            }
-        }).exceptionally(ex -> {
-            future.completeExceptionally(ex);
-            return null;
-        });
-
-        return future;
     }
 
     public List<String> getWhitelistedBlocksAsString() {
@@ -214,33 +227,58 @@ public class Arena implements IArena {
     public void restore() {
         if (snapshot != null) {
             snapshot.restore(true);
+        } else if (template != null) {
+            template.restore(min.getWorld(), template.getMinX(), template.getMinZ());
         }
     }
 
+    public void capture() {
+        this.doneLoading = false;
+        this.snapshot = null;
+        this.template = null;
+        refresh();
+    }
+
+    /**
+     * Reads the arena from the world once, keeping the current template until that is done,
+     * and rewrites the snapshot file when the blocks changed.
+     */
+    public void refresh() {
+        Location min = this.min;
+        Location max = this.max;
+        if (min == null || max == null) return;
+
+        ArenaTemplate.capture(min, max).thenAccept(captured -> Bukkit.getScheduler().runTask(Neptune.get(), () -> {
+            if (min != this.min || max != this.max) return;
+
+            ArenaTemplate current = this.template;
+            this.doneLoading = true;
+            if (current != null && current.getHash() == captured.getHash()) return;
+
+            this.template = captured;
+            if (current != null) ArenaPool.get().invalidate(this);
+            ArenaSnapshotStore.get().save(name, captured);
+        })).exceptionally(throwable -> {
+            ServerUtils.error("Failed to capture arena " + name + ": " + throwable.getMessage());
+            return null;
+        });
+    }
+
     public void setMin(Location min) {
         this.min = min;
-        if (min != null && max != null) {
-            this.doneLoading = false;
-            CuboidSnapshot.create(min, max).thenAccept(cuboidSnapshot -> {
-                this.snapshot = cuboidSnapshot;
-                this.doneLoading = true;
-            });
-        }
+        ArenaPool.get().invalidate(this);
+        if (min != null && max != null) capture();
     }
 
     public void setMax(Location max) {
         this.max = max;
-        if (min != null && max != null) {
-            this.doneLoading = false;
-            CuboidSnapshot.create(min, max).thenAccept(cuboidSnapshot -> {
-                this.snapshot = cuboidSnapshot;
-                this.doneLoading = true;
-            });
-        }
+        ArenaPool.get().invalidate(this);
+        if (min != null && max != null) capture();
     }
 
     public void setRedSpawn(Location redSpawn) {
         this.redSpawn = redSpawn;
+        ArenaPool.get().invalidate(this);
         if (buildLimit == 68321) {
             this.buildLimit = redSpawn.getBlockY() + 5;
         }
@@ -248,12 +286,20 @@ public class Arena implements IArena {
 
     public void setBlueSpawn(Location blueSpawn) {
         this.blueSpawn = blueSpawn;
+        ArenaPool.get().invalidate(this);
         if (buildLimit == 68321) {
             this.buildLimit = blueSpawn.getBlockY() + 5;
         }
     }
 
+    public void setPlacement(ArenaPlacement placement) {
+        this.placement = placement;
+        ArenaPool.get().invalidate(this);
+    }
+
     public void delete(boolean save) {
+        ArenaPool.get().invalidate(this);
+        ArenaSnapshotStore.get().delete(name);
         KitService.get().removeArenasFromKits(this);
         ArenaService.get().arenas.remove(this);
 
@@ -0,0 +1,155 @@
+package dev.lrxh.neptune.game.arena;
+
+import dev.lrxh.blockChanger.BlockChanger;
+import dev.lrxh.blockChanger.world.VirtualWorld;
+import dev.lrxh.neptune.configs.impl.SettingsLocale;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class ArenaGrid {
+    private static ArenaGrid instance;
+    private final Map<Integer, CompletableFuture<VirtualWorld>> worlds = new ConcurrentHashMap<>();
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final AtomicIntegerArray slots;
+    private final int size;
+    private final int spacing;
+
+    private ArenaGrid() {
+        this.size = Math.max(1, SettingsLocale.ARENA_GRID_SIZE.getInt());
+        this.spacing = Math.max(16, SettingsLocale.ARENA_GRID_SPACING.getInt());
+        this.slots = new AtomicIntegerArray(Math.max(1, SettingsLocale.ARENA_GRID_WORLDS.getInt()) * size * size);
+    }
+
+    public static ArenaGrid get() {
+        if (instance == null) instance = new ArenaGrid();
+
+        return instance;
+    }
+
+    public CompletableFuture<VirtualArena> create(Arena arena) {
+        ArenaTemplate template = arena.getTemplate();
+        if (template == null || template.getSizeX() >= spacing || template.getSizeZ() >= spacing) return arena.createWorldDuplicate();
+
+        int index = allocate();
+        if (index == -1) return arena.createWorldDuplicate();
+
+        int perWorld = size * size;
+        int local = index % perWorld;
+        int x = (local % size) * spacing;
+        int z = (local / size) * spacing;
+
+        return getWorld(index / perWorld).thenApply(virtualWorld -> {
+            World world = virtualWorld.getWorld();
+            template.paste(world, x, z);
+
+            Slot slot = new Slot(index, template, x, z, x - template.getMinX(), z - template.getMinZ());
+
+            return new VirtualArena(
+                    arena.getName() + "_" + UUID.randomUUID(),
+                    arena.getDisplayName(),
+                    offset(arena.getRedSpawn(), world, slot),
+                    offset(arena.getBlueSpawn(), world, slot),
+                    offset(arena.getMin(), world, slot),
+                    offset(arena.getMax(), world, slot),
+                    arena.getBuildLimit(),
+                    arena.isEnabled(),
+                    new ArrayList<>(arena.getWhitelistedBlocks()),
+                    arena.getDeathY(),
+                    arena,
+                    virtualWorld,
+                    slot
+            );
+        }).whenComplete((duplicate, throwable) -> {
+            if (throwable != null) slots.set(index, 0);
+        });
+    }
+
+    public void restore(VirtualArena virtualArena) {
+        Slot slot = virtualArena.getSlot();
+        slot.getTemplate().restore(virtualArena.getVirtualWorld().getWorld(), slot.getX(), slot.getZ());
+    }
+
+    public void free(VirtualArena virtualArena) {
+        Slot slot = virtualArena.getSlot();
+
+        try {
+            slot.getTemplate().clear(virtualArena.getVirtualWorld().getWorld(), slot.getX(), slot.getZ());
+        } finally {
+            slots.set(slot.getIndex(), 0);
+        }
+    }
+
+    /**
+     * Key of the grid cell the block column is in, the same for every block of a slot.
+     */
+    public long getCell(int x, int z) {
+        return (long) Math.floorDiv(x, spacing) << 32 | (Math.floorDiv(z, spacing) & 0xFFFFFFFFL);
+    }
+
+    public int getUsed() {
+        int used = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            used += slots.get(i);
+        }
+        return used;
+    }
+
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    public void shutdown() {
+        for (CompletableFuture<VirtualWorld> future : worlds.values()) {
+            VirtualWorld virtualWorld = future.getNow(null);
+            if (virtualWorld != null) virtualWorld.unload();
+        }
+        worlds.clear();
+    }
+
+    private int allocate() {
+        int total = slots.length();
+        int start = Math.floorMod(cursor.getAndIncrement(), total);
+
+        for (int i = 0; i < total; i++) {
+            int index = (start + i) % total;
+            if (slots.compareAndSet(index, 0, 1)) return index;
+        }
+
+        return -1;
+    }
+
+    private CompletableFuture<VirtualWorld> getWorld(int index) {
+        CompletableFuture<VirtualWorld> future = worlds.computeIfAbsent(index, key ->
+                BlockChanger.createVirtualWorld(Arena.createWorldCreator("grid_" + key + "_" + UUID.randomUUID())));
+
+        if (future.isCompletedExceptionally()) worlds.remove(index, future);
+        return future;
+    }
+
+    private Location offset(Location location, World world, Slot slot) {
+        Location offset = location.clone().add(slot.getOffsetX(), 0, slot.getOffsetZ());
+        offset.setWorld(world);
+        return offset;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Slot {
+        private final int index;
+        private final ArenaTemplate template;
+        private final int x;
+        private final int z;
+        private final int offsetX;
+        private final int offsetZ;
+    }
+}
@@ -0,0 +1,183 @@
+package dev.lrxh.neptune.game.arena;
+
+import dev.lrxh.neptune.configs.impl.SettingsLocale;
+import dev.lrxh.neptune.providers.metrics.MetricsService;
+import dev.lrxh.neptune.providers.metrics.impl.Counter;
+import dev.lrxh.neptune.utils.ServerUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+public class ArenaPool {
+    private static ArenaPool instance;
+    private final Map<Arena, Pool> pools = new ConcurrentHashMap<>();
+    private final Counter acquires = MetricsService.get().counter("neptune_arena_pool_acquires_total",
+            "Arena copies handed out, either from the pool or created on demand.", "result");
+
+    private ArenaPool() {
+        MetricsService.get().gauge("neptune_arena_pool_idle", "Pooled copies ready for a match per arena.", "arena",
+                () -> collect(this::getIdle));
+        MetricsService.get().gauge("neptune_arena_pool_leased", "Copies in use by a match per arena.", "arena",
+                () -> collect(this::getLeased));
+    }
+
+    public static ArenaPool get() {
+        if (instance == null) instance = new ArenaPool();
+
+        return instance;
+    }
+
+    public CompletableFuture<VirtualArena> acquire(Arena arena) {
+        Pool pool = getPool(arena);
+        VirtualArena virtualArena = pool.idle.poll();
+
+        if (virtualArena != null) {
+            pool.size.decrementAndGet();
+            pool.leased.add(virtualArena);
+            acquires.inc("pooled");
+            return CompletableFuture.completedFuture(virtualArena);
+        }
+
+        acquires.inc("created");
+
+        return arena.createDuplicate().thenApply(duplicate -> {
+            if (duplicate != null) pool.leased.add(duplicate);
+            return duplicate;
+        });
+    }
+
+    public void release(VirtualArena virtualArena) {
+        if (virtualArena == null) return;
+
+        if (!(virtualArena.getOwner() instanceof Arena arena)) {
+            virtualArena.remove();
+            return;
+        }
+
+        Pool pool = pools.get(arena);
+        if (pool == null || !pool.leased.remove(virtualArena) || !arena.isEnabled()) {
+            virtualArena.remove();
+            return;
+        }
+
+        if (pool.size.incrementAndGet() > getMax()) {
+            pool.size.decrementAndGet();
+            virtualArena.remove();
+            return;
+        }
+
+        // The match journal only undoes changes it heard about, a full paste now and then clears whatever leaked
+        int fullRestore = SettingsLocale.ARENA_POOL_FULL_RESTORE.getInt();
+        if (fullRestore > 0 && virtualArena.countMatch() % fullRestore == 0) {
+            virtualArena.restore();
+        }
+
+        pool.idle.offer(virtualArena);
+    }
+
+    public void refill() {
+        int min = Math.min(getMin(), getMax());
+        if (min <= 0) return;
+
+        for (Arena arena : ArenaService.get().arenas) {
+            if (!arena.isEnabled() || !arena.isSetup() || !arena.isDoneLoading()
+                    || (arena.getSnapshot() == null && arena.getTemplate() == null))
+                continue;
+
+            Pool pool = getPool(arena);
+            if (pool.size.get() + pool.pending.get() >= min) continue;
+
+            int generation = pool.generation.get();
+            pool.pending.incrementAndGet();
+
+            arena.createDuplicate().whenComplete((duplicate, throwable) -> {
+                pool.pending.decrementAndGet();
+
+                if (throwable != null) {
+                    ServerUtils.error("Failed to prepare arena " + arena.getName() + ": " + throwable.getMessage());
+                    return;
+                }
+
+                if (duplicate == null) return;
+
+                if (generation != pool.generation.get() || pool.size.incrementAndGet() > getMax()) {
+                    if (generation == pool.generation.get()) pool.size.decrementAndGet();
+                    duplicate.remove();
+                    return;
+                }
+
+                pool.idle.offer(duplicate);
+            });
+        }
+    }
+
+    public void invalidate(Arena arena) {
+        Pool pool = pools.get(arena);
+        if (pool == null) return;
+
+        pool.generation.incrementAndGet();
+        pool.leased.clear();
+        drain(pool);
+    }
+
+    public int getIdle(Arena arena) {
+        Pool pool = pools.get(arena);
+        return pool == null ? 0 : pool.size.get();
+    }
+
+    public int getLeased(Arena arena) {
+        Pool pool = pools.get(arena);
+        return pool == null ? 0 : pool.leased.size();
+    }
+
+    public void shutdown() {
+        for (Pool pool : pools.values()) {
+            pool.generation.incrementAndGet();
+            drain(pool);
+        }
+        pools.clear();
+    }
+
+    private void drain(Pool pool) {
+        VirtualArena virtualArena;
+        while ((virtualArena = pool.idle.poll()) != null) {
+            pool.size.decrementAndGet();
+            virtualArena.remove();
+        }
+    }
+
+    private Map<String, Integer> collect(ToIntFunction<Arena> value) {
+        Map<String, Integer> values = new HashMap<>();
+        for (Arena arena : ArenaService.get().arenas) {
+            values.put(arena.getName(), value.applyAsInt(arena));
+        }
+        return values;
+    }
+
+    private Pool getPool(Arena arena) {
+        return pools.computeIfAbsent(arena, a -> new Pool());
+    }
+
+    private int getMin() {
+        return SettingsLocale.ARENA_POOL_MIN.getInt();
+    }
+
+    private int getMax() {
+        return SettingsLocale.ARENA_POOL_MAX.getInt();
+    }
+
+    private static class Pool {
+        private final Queue<VirtualArena> idle = new ConcurrentLinkedQueue<>();
+        private final Set<VirtualArena> leased = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicInteger generation = new AtomicInteger();
+    }
+}
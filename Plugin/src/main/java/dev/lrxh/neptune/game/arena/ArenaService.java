@@ -2,12 +2,17 @@ package dev.lrxh.neptune.game.arena;
 
 import dev.lrxh.api.arena.IArena;
 import dev.lrxh.api.arena.IArenaService;
+import dev.lrxh.neptune.Neptune;
 import dev.lrxh.neptune.configs.ConfigService;
+import dev.lrxh.neptune.configs.impl.SettingsLocale;
+import dev.lrxh.neptune.game.arena.impl.ArenaPlacement;
 import dev.lrxh.neptune.providers.manager.IService;
 import dev.lrxh.neptune.providers.manager.Value;
 import dev.lrxh.neptune.utils.ConfigFile;
 import dev.lrxh.neptune.utils.LocationUtil;
+import dev.lrxh.neptune.utils.ServerUtils;
 import lombok.Getter;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -41,6 +46,15 @@ public class ArenaService extends IService implements IArenaService {
                 arenas.add(arena);
             }
         }
+
+        // One arena per tick so the chunk snapshots don't all land on the first tick
+        boolean refreshAll = SettingsLocale.ARENA_REFRESH_ON_STARTUP.getBoolean();
+        long delay = 1;
+        for (Arena arena : arenas) {
+            if (arena == null || (arena.getTemplate() != null && !refreshAll)) continue;
+
+            Bukkit.getScheduler().runTaskLater(Neptune.get(), arena::refresh, delay++);
+        }
     }
 
     public Arena loadArena(String arenaName) {
@@ -66,7 +80,19 @@ public class ArenaService extends IService implements IArenaService {
             whitelistedBlocks.add(Material.getMaterial(name));
         }
 
-        return new Arena(arenaName, displayName, redSpawn, blueSpawn, edge1, edge2, limit, enabled, whitelistedBlocks, deathY);
+        Arena arena = new Arena(arenaName, displayName, redSpawn, blueSpawn, edge1, edge2, limit, enabled, whitelistedBlocks, deathY);
+        arena.setPlacement(getPlacement(arenaName, config.getString(path + "placement", ArenaPlacement.WORLD.name())));
+
+        return arena;
+    }
+
+    private ArenaPlacement getPlacement(String arenaName, String placement) {
+        try {
+            return ArenaPlacement.valueOf(placement.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            ServerUtils.error("Unknown placement " + placement + " for arena " + arenaName + ", using " + ArenaPlacement.WORLD.name());
+            return ArenaPlacement.WORLD;
+        }
     }
 
 
@@ -85,7 +111,8 @@ public class ArenaService extends IService implements IArenaService {
                     new Value("enabled", arena.isEnabled()),
                     new Value("deathY", arena.getDeathY()),
                     new Value("limit", arena.getBuildLimit()),
-                    new Value("whitelistedBlocks", arena.getWhitelistedBlocksAsString())
+                    new Value("whitelistedBlocks", arena.getWhitelistedBlocksAsString()),
+                    new Value("placement", arena.getPlacement().name())
             ));
 
             if (arena.getMin() != null) {
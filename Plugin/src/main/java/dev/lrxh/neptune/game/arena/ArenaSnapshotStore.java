@@ -0,0 +1,263 @@
+package dev.lrxh.neptune.game.arena;
+
+import dev.lrxh.neptune.Neptune;
+import dev.lrxh.neptune.utils.ServerUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.block.data.BlockData;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public class ArenaSnapshotStore {
+    private static final int MAGIC = 0x4E534E50;
+    private static final int VERSION = 4;
+    private static final int HEADER_SIZE = 28;
+    private static ArenaSnapshotStore instance;
+    private final File folder;
+
+    private ArenaSnapshotStore() {
+        this.folder = new File(Neptune.get().getDataFolder(), "snapshots");
+    }
+
+    public static ArenaSnapshotStore get() {
+        if (instance == null) instance = new ArenaSnapshotStore();
+
+        return instance;
+    }
+
+    public ArenaTemplate load(String name, Location min, Location max) {
+        File file = getFile(name);
+        if (!file.exists()) return null;
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) return null;
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+
+            long hash = buffer.getLong();
+            long checksum = buffer.getLong();
+            int length = buffer.getInt();
+            ByteBuffer compressed = buffer.slice();
+
+            CRC32 crc = new CRC32();
+            crc.update(compressed.duplicate());
+            if (crc.getValue() != checksum) return null;
+
+            byte[] payload = new byte[length];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed);
+                int read = 0;
+                while (read < length) {
+                    int inflated = inflater.inflate(payload, read, length - read);
+                    if (inflated == 0 && (inflater.finished() || inflater.needsInput())) break;
+                    read += inflated;
+                }
+                if (read != length) return null;
+            } finally {
+                inflater.end();
+            }
+
+            ArenaTemplate template = decode(payload);
+            if (template.getHash() != hash || !template.covers(min, max)) return null;
+
+            return template;
+        } catch (IOException | DataFormatException | IllegalArgumentException e) {
+            ServerUtils.error("Failed to load snapshot of arena " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public CompletableFuture<Void> save(String name, ArenaTemplate template) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                byte[] payload = encode(template);
+
+                Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(payload.length / 4 + 64);
+                try {
+                    deflater.setInput(payload);
+                    deflater.finish();
+                    byte[] chunk = new byte[8192];
+                    while (!deflater.finished()) {
+                        compressed.write(chunk, 0, deflater.deflate(chunk));
+                    }
+                } finally {
+                    deflater.end();
+                }
+
+                byte[] data = compressed.toByteArray();
+                CRC32 crc = new CRC32();
+                crc.update(data);
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                        .putInt(MAGIC)
+                        .putInt(VERSION)
+                        .putLong(template.getHash())
+                        .putLong(crc.getValue())
+                        .putInt(payload.length);
+
+                if (!folder.exists() && !folder.mkdirs()) throw new IOException("Could not create " + folder);
+
+                File file = getFile(name);
+                File temp = new File(folder, file.getName() + ".tmp");
+                try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    header.flip();
+                    channel.write(new ByteBuffer[]{header, ByteBuffer.wrap(data)});
+                }
+
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                ServerUtils.error("Failed to save snapshot of arena " + name + ": " + e.getMessage());
+            }
+        });
+    }
+
+    public void delete(String name) {
+        File file = getFile(name);
+        if (file.exists() && !file.delete()) {
+            ServerUtils.error("Failed to delete snapshot of arena " + name);
+        }
+    }
+
+    private byte[] encode(ArenaTemplate template) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(template.getMinX());
+        out.writeInt(template.getMinY());
+        out.writeInt(template.getMinZ());
+        out.writeInt(template.getSizeX());
+        out.writeInt(template.getSizeY());
+        out.writeInt(template.getSizeZ());
+
+        BlockData[] palette = template.getPalette();
+        out.writeInt(palette.length);
+        for (BlockData data : palette) {
+            byte[] state = data.getAsString().getBytes(StandardCharsets.UTF_8);
+            out.writeShort(state.length);
+            out.write(state);
+        }
+
+        long[] positions = template.getPositions();
+        int[] states = template.getStates();
+
+        Map<Long, List<Integer>> sections = new LinkedHashMap<>();
+        for (int i = 0; i < positions.length; i++) {
+            long position = positions[i];
+            long key = (position >>> 46) << 34 | (position >>> 25 & 0x1FFFF) << 17 | (position >>> 4 & 0x1FFFF);
+            sections.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+        }
+
+        out.writeInt(positions.length);
+        out.writeInt(sections.size());
+        for (Map.Entry<Long, List<Integer>> section : sections.entrySet()) {
+            out.writeLong(section.getKey());
+            out.writeShort(section.getValue().size());
+
+            for (int i : section.getValue()) {
+                long position = positions[i];
+                int x = (int) (position >>> 42) & 15;
+                int y = (int) (position >>> 21) & 15;
+                int z = (int) position & 15;
+
+                out.writeShort(x << 8 | z << 4 | y);
+                if (palette.length > 256) out.writeShort(states[i]);
+                else out.writeByte(states[i]);
+            }
+        }
+
+        out.writeInt(template.getTiles().size());
+        for (Map.Entry<Long, byte[]> tile : template.getTiles().entrySet()) {
+            out.writeLong(tile.getKey());
+            out.writeInt(tile.getValue().length);
+            out.write(tile.getValue());
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private ArenaTemplate decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+
+        int minX = in.readInt();
+        int minY = in.readInt();
+        int minZ = in.readInt();
+        int sizeX = in.readInt();
+        int sizeY = in.readInt();
+        int sizeZ = in.readInt();
+
+        BlockData[] palette = new BlockData[in.readInt()];
+        for (int i = 0; i < palette.length; i++) {
+            byte[] state = new byte[in.readUnsignedShort()];
+            in.readFully(state);
+            palette[i] = Bukkit.createBlockData(new String(state, StandardCharsets.UTF_8));
+        }
+
+        long[] positions = new long[in.readInt()];
+        int[] states = new int[positions.length];
+        int index = 0;
+
+        int sections = in.readInt();
+        for (int s = 0; s < sections; s++) {
+            long key = in.readLong();
+            long sectionX = key >>> 34;
+            long sectionY = key >>> 17 & 0x1FFFF;
+            long sectionZ = key & 0x1FFFF;
+
+            int count = in.readUnsignedShort();
+            for (int c = 0; c < count; c++) {
+                int local = in.readUnsignedShort();
+                long x = sectionX << 4 | (local >> 8 & 15);
+                long y = sectionY << 4 | (local & 15);
+                long z = sectionZ << 4 | (local >> 4 & 15);
+
+                positions[index] = x << 42 | y << 21 | z;
+                states[index] = palette.length > 256 ? in.readUnsignedShort() : in.readUnsignedByte();
+                index++;
+            }
+        }
+
+        if (index != positions.length) throw new IOException("Corrupted snapshot");
+
+        Map<Long, byte[]> tiles = new HashMap<>();
+        int tileCount = in.readInt();
+        for (int t = 0; t < tileCount; t++) {
+            long position = in.readLong();
+            byte[] data = new byte[in.readInt()];
+            in.readFully(data);
+            tiles.put(position, data);
+        }
+
+        return new ArenaTemplate(minX, minY, minZ, sizeX, sizeY, sizeZ, palette, positions, states, tiles);
+    }
+
+    private File getFile(String name) {
+        return new File(folder, name + ".snapshot");
+    }
+}
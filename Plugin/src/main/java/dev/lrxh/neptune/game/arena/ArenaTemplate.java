@@ -0,0 +1,314 @@
+package dev.lrxh.neptune.game.arena;
+
+import dev.lrxh.neptune.utils.ServerUtils;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.structure.Mirror;
+import org.bukkit.block.structure.StructureRotation;
+import org.bukkit.structure.Structure;
+import org.bukkit.util.BlockVector;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+@Getter
+public class ArenaTemplate {
+    private static final BlockData AIR = Bukkit.createBlockData(Material.AIR);
+    private static final BlockVector ONE_BLOCK = new BlockVector(1, 1, 1);
+    private static final Random RANDOM = new Random();
+
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final BlockData[] palette;
+    private final long[] positions;
+    private final int[] states;
+    // Tile entities by packed position, saved as one block structures since those keep the tile data
+    private final Map<Long, byte[]> tiles;
+    private final long hash;
+    @Getter(AccessLevel.NONE)
+    private BitSet occupied;
+    @Getter(AccessLevel.NONE)
+    private Map<Long, Structure> structures;
+
+    ArenaTemplate(int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ,
+                  BlockData[] palette, long[] positions, int[] states, Map<Long, byte[]> tiles) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.palette = palette;
+        this.positions = positions;
+        this.states = states;
+        this.tiles = tiles;
+        this.hash = hash();
+    }
+
+    /**
+     * Snapshots the chunks on the calling thread, which must be the main thread, and reads the blocks off it.
+     */
+    public static CompletableFuture<ArenaTemplate> capture(Location min, Location max) {
+        World world = min.getWorld();
+
+        int minX = Math.min(min.getBlockX(), max.getBlockX());
+        int minY = Math.max(Math.min(min.getBlockY(), max.getBlockY()), world.getMinHeight());
+        int minZ = Math.min(min.getBlockZ(), max.getBlockZ());
+        int maxX = Math.max(min.getBlockX(), max.getBlockX());
+        int maxY = Math.min(Math.max(min.getBlockY(), max.getBlockY()), world.getMaxHeight() - 1);
+        int maxZ = Math.max(min.getBlockZ(), max.getBlockZ());
+
+        Map<Long, ChunkSnapshot> chunks = new HashMap<>();
+        Map<Long, byte[]> tiles = new HashMap<>();
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                Chunk chunk = world.getChunkAt(chunkX, chunkZ);
+                chunks.put(chunkKey(chunkX, chunkZ), chunk.getChunkSnapshot(false, false, false));
+
+                for (BlockState tile : chunk.getTileEntities()) {
+                    if (tile.getX() < minX || tile.getX() > maxX || tile.getY() < minY || tile.getY() > maxY
+                            || tile.getZ() < minZ || tile.getZ() > maxZ) continue;
+
+                    tiles.put(pack(tile.getX() - minX, tile.getY() - minY, tile.getZ() - minZ), save(tile));
+                }
+            }
+        }
+
+        return CompletableFuture.supplyAsync(() -> read(chunks, tiles, minX, minY, minZ, maxX, maxY, maxZ));
+    }
+
+    private static byte[] save(BlockState tile) {
+        Structure structure = Bukkit.getStructureManager().createStructure();
+        structure.fill(tile.getLocation(), ONE_BLOCK, false);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            Bukkit.getStructureManager().saveStructure(bytes, structure);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ArenaTemplate read(Map<Long, ChunkSnapshot> chunks, Map<Long, byte[]> tiles,
+                                      int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        Map<BlockData, Integer> paletteIndex = new HashMap<>();
+        List<BlockData> palette = new ArrayList<>();
+        long[] positions = new long[1024];
+        int[] states = new int[1024];
+        int count = 0;
+
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                ChunkSnapshot chunk = chunks.get(chunkKey(chunkX, chunkZ));
+
+                int fromX = Math.max(minX, chunkX << 4);
+                int toX = Math.min(maxX, (chunkX << 4) + 15);
+                int fromZ = Math.max(minZ, chunkZ << 4);
+                int toZ = Math.min(maxZ, (chunkZ << 4) + 15);
+
+                for (int x = fromX; x <= toX; x++) {
+                    for (int z = fromZ; z <= toZ; z++) {
+                        for (int y = minY; y <= maxY; y++) {
+                            BlockData data = chunk.getBlockData(x & 15, y, z & 15);
+                            if (data.getMaterial().isAir()) continue;
+
+                            if (count == positions.length) {
+                                positions = Arrays.copyOf(positions, count * 2);
+                                states = Arrays.copyOf(states, count * 2);
+                            }
+
+                            Integer state = paletteIndex.get(data);
+                            if (state == null) {
+                                state = palette.size();
+                                paletteIndex.put(data, state);
+                                palette.add(data);
+                            }
+
+                            positions[count] = pack(x - minX, y - minY, z - minZ);
+                            states[count] = state;
+                            count++;
+                        }
+                    }
+                }
+            }
+        }
+
+        return new ArenaTemplate(minX, minY, minZ, maxX - minX + 1, maxY - minY + 1, maxZ - minZ + 1,
+                palette.toArray(new BlockData[0]), Arrays.copyOf(positions, count), Arrays.copyOf(states, count), tiles);
+    }
+
+    /**
+     * Whether the template covers the region between the two corners.
+     */
+    public boolean covers(Location min, Location max) {
+        return minX == Math.min(min.getBlockX(), max.getBlockX())
+                && minZ == Math.min(min.getBlockZ(), max.getBlockZ())
+                && sizeX == Math.abs(max.getBlockX() - min.getBlockX()) + 1
+                && sizeZ == Math.abs(max.getBlockZ() - min.getBlockZ()) + 1;
+    }
+
+    /**
+     * Pastes the blocks into a volume that is known to be empty.
+     */
+    public void paste(World world, int x, int z) {
+        write(world, x, z);
+    }
+
+    /**
+     * Pastes the blocks and removes anything else in the volume, wherever it came from.
+     */
+    public void restore(World world, int x, int z) {
+        clear(world, x, z, true);
+        write(world, x, z);
+    }
+
+    /**
+     * Empties the whole volume, not only the positions the template fills.
+     */
+    public void clear(World world, int x, int z) {
+        clear(world, x, z, false);
+    }
+
+    private void clear(World world, int originX, int originZ, boolean keepTemplate) {
+        BitSet occupied = keepTemplate ? getOccupied() : null;
+
+        for (int chunkX = originX >> 4; chunkX <= (originX + sizeX - 1) >> 4; chunkX++) {
+            for (int chunkZ = originZ >> 4; chunkZ <= (originZ + sizeZ - 1) >> 4; chunkZ++) {
+                Chunk chunk = world.getChunkAt(chunkX, chunkZ);
+                ChunkSnapshot snapshot = chunk.getChunkSnapshot(false, false, false);
+
+                int fromX = Math.max(originX, chunkX << 4);
+                int toX = Math.min(originX + sizeX - 1, (chunkX << 4) + 15);
+                int fromZ = Math.max(originZ, chunkZ << 4);
+                int toZ = Math.min(originZ + sizeZ - 1, (chunkZ << 4) + 15);
+
+                for (int x = fromX; x <= toX; x++) {
+                    for (int z = fromZ; z <= toZ; z++) {
+                        for (int y = minY; y < minY + sizeY; y++) {
+                            if (snapshot.getBlockType(x & 15, y, z & 15).isAir()) continue;
+                            if (occupied != null && occupied.get(index(x - originX, y - minY, z - originZ))) continue;
+
+                            chunk.getBlock(x & 15, y, z & 15).setBlockData(AIR, false);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void write(World world, int originX, int originZ) {
+        Chunk chunk = null;
+
+        for (int i = 0; i < positions.length; i++) {
+            long position = positions[i];
+            int x = originX + (int) (position >>> 42);
+            int y = minY + (int) (position >>> 21 & 0x1FFFFF);
+            int z = originZ + (int) (position & 0x1FFFFF);
+
+            if (chunk == null || chunk.getX() != x >> 4 || chunk.getZ() != z >> 4) {
+                chunk = world.getChunkAt(x >> 4, z >> 4);
+            }
+
+            chunk.getBlock(x & 15, y, z & 15).setBlockData(palette[states[i]], false);
+        }
+
+        for (Map.Entry<Long, Structure> tile : getStructures().entrySet()) {
+            long position = tile.getKey();
+            Location location = new Location(world,
+                    originX + (int) (position >>> 42),
+                    minY + (int) (position >>> 21 & 0x1FFFFF),
+                    originZ + (int) (position & 0x1FFFFF));
+
+            tile.getValue().place(location, false, StructureRotation.NONE, Mirror.NONE, 0, 1.0f, RANDOM);
+        }
+    }
+
+    private Map<Long, Structure> getStructures() {
+        if (structures == null) {
+            Map<Long, Structure> loaded = new HashMap<>();
+            for (Map.Entry<Long, byte[]> tile : tiles.entrySet()) {
+                try {
+                    loaded.put(tile.getKey(), Bukkit.getStructureManager().loadStructure(new ByteArrayInputStream(tile.getValue())));
+                } catch (IOException e) {
+                    ServerUtils.error("Failed to read a tile entity of an arena snapshot: " + e.getMessage());
+                }
+            }
+            structures = loaded;
+        }
+        return structures;
+    }
+
+    private BitSet getOccupied() {
+        if (occupied == null) {
+            BitSet bits = new BitSet(sizeX * sizeY * sizeZ);
+            for (long position : positions) {
+                bits.set(index((int) (position >>> 42), (int) (position >>> 21 & 0x1FFFFF), (int) (position & 0x1FFFFF)));
+            }
+            occupied = bits;
+        }
+        return occupied;
+    }
+
+    private int index(int x, int y, int z) {
+        return (x * sizeY + y) * sizeZ + z;
+    }
+
+    // Summed per block so the hash of a decoded template, whose blocks are ordered by section, matches the capture
+    private long hash() {
+        long[] paletteHashes = new long[palette.length];
+        for (int i = 0; i < palette.length; i++) {
+            String state = palette[i].getAsString();
+            long value = 0xCBF29CE484222325L;
+            for (int c = 0; c < state.length(); c++) {
+                value = (value ^ state.charAt(c)) * 0x100000001B3L;
+            }
+            paletteHashes[i] = value;
+        }
+
+        long hash = mix((long) minX << 32 ^ minZ) + mix((long) sizeX << 32 ^ sizeZ) + mix((long) minY << 32 ^ sizeY);
+        for (int i = 0; i < positions.length; i++) {
+            hash += mix(positions[i] * 31 + paletteHashes[states[i]]);
+        }
+        for (Map.Entry<Long, byte[]> tile : tiles.entrySet()) {
+            hash += mix(tile.getKey() * 37 + Arrays.hashCode(tile.getValue()));
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ value >>> 30) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ value >>> 27) * 0x94D049BB133111EBL;
+        return value ^ value >>> 31;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return (long) chunkX << 32 | chunkZ & 0xFFFFFFFFL;
+    }
+
+    private static long pack(int x, int y, int z) {
+        return (long) x << 42 | (long) y << 21 | z;
+    }
+}
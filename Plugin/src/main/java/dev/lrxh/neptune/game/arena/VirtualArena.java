@@ -4,10 +4,16 @@ import dev.lrxh.api.arena.IArena;
 import dev.lrxh.blockChanger.world.VirtualWorld;
 import lombok.Getter;
 import lombok.Setter;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 @Getter
@@ -20,6 +26,7 @@ public class VirtualArena implements IArena {
     private final List<Material> whitelistedBlocks;
     private final IArena owner;
     private final VirtualWorld virtualWorld;
+    private final ArenaGrid.Slot slot;
     @Setter
     private Location redSpawn;
     @Setter
@@ -28,6 +35,7 @@ public class VirtualArena implements IArena {
     private Location min;
     @Setter
     private Location max;
+    private int matches;
 
     public VirtualArena(String name,
                         String displayName,
@@ -41,6 +49,22 @@ public class VirtualArena implements IArena {
                         int deathY,
                         IArena owner,
                         VirtualWorld virtualWorld) {
+        this(name, displayName, redSpawn, blueSpawn, min, max, buildLimit, enabled, whitelistedBlocks, deathY, owner, virtualWorld, null);
+    }
+
+    public VirtualArena(String name,
+                        String displayName,
+                        Location redSpawn,
+                        Location blueSpawn,
+                        Location min,
+                        Location max,
+                        double buildLimit,
+                        boolean enabled,
+                        List<Material> whitelistedBlocks,
+                        int deathY,
+                        IArena owner,
+                        VirtualWorld virtualWorld,
+                        ArenaGrid.Slot slot) {
         this.name = name;
         this.displayName = displayName;
         this.redSpawn = redSpawn;
@@ -53,6 +77,7 @@ public class VirtualArena implements IArena {
         this.deathY = deathY;
         this.owner = owner;
         this.virtualWorld = virtualWorld;
+        this.slot = slot;
     }
 
     @Override
@@ -62,12 +87,70 @@ public class VirtualArena implements IArena {
 
     @Override
     public void remove() {
+        if (slot != null) {
+            ArenaGrid.get().free(this);
+            return;
+        }
+
         virtualWorld.unload();
     }
 
     @Override
     public void restore() {
-        //TODO: Find a better way to restore virtual worlds other than creating a CuboidSnapshot
+        if (slot != null) {
+            ArenaGrid.get().restore(this);
+            return;
+        }
+
+        if (!(owner instanceof Arena arena)) return;
+
+        if (arena.getSnapshot() != null) {
+            virtualWorld.paste(arena.getSnapshot());
+        } else if (arena.getTemplate() != null) {
+            ArenaTemplate template = arena.getTemplate();
+            template.restore(virtualWorld.getWorld(), template.getMinX(), template.getMinZ());
+        }
+    }
+
+    public void restore(Map<Location, BlockData> changes) {
+        if (changes.isEmpty()) return;
+
+        Map<Long, List<Map.Entry<Location, BlockData>>> sections = new HashMap<>();
+        for (Map.Entry<Location, BlockData> entry : changes.entrySet()) {
+            Location location = entry.getKey();
+            sections.computeIfAbsent(getSectionKey(location), key -> new ArrayList<>()).add(entry);
+        }
+
+        World world = virtualWorld.getWorld();
+        for (List<Map.Entry<Location, BlockData>> section : sections.values()) {
+            Location first = section.get(0).getKey();
+            Chunk chunk = world.getChunkAt(first.getBlockX() >> 4, first.getBlockZ() >> 4);
+
+            for (Map.Entry<Location, BlockData> entry : section) {
+                Location location = entry.getKey();
+                chunk.getBlock(location.getBlockX() & 15, location.getBlockY(), location.getBlockZ() & 15)
+                        .setBlockData(entry.getValue(), false);
+            }
+        }
+    }
+
+    private long getSectionKey(Location location) {
+        long chunkX = location.getBlockX() >> 4;
+        long chunkZ = location.getBlockZ() >> 4;
+        long sectionY = location.getBlockY() >> 4;
+
+        return (chunkX & 0x3FFFFFL) << 42 | (chunkZ & 0x3FFFFFL) << 20 | (sectionY & 0xFFFFFL);
+    }
+
+    /**
+     * Counts a finished match on this copy, returns how many it hosted.
+     */
+    public int countMatch() {
+        return ++matches;
+    }
+
+    public void release() {
+        ArenaPool.get().release(this);
     }
 
     @Override
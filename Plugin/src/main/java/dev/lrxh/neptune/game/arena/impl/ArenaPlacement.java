@@ -0,0 +1,10 @@
+package dev.lrxh.neptune.game.arena.impl;
+
+public enum ArenaPlacement {
+    WORLD,
+    GRID;
+
+    public ArenaPlacement next() {
+        return values()[(ordinal() + 1) % values().length];
+    }
+}
@@ -1,7 +1,7 @@
 package dev.lrxh.neptune.game.arena.menu;
 
-import dev.lrxh.blockChanger.snapshot.CuboidSnapshot;
 import dev.lrxh.neptune.game.arena.Arena;
+import dev.lrxh.neptune.game.arena.ArenaPool;
 import dev.lrxh.neptune.game.arena.impl.EdgeType;
 import dev.lrxh.neptune.game.arena.menu.button.*;
 import dev.lrxh.neptune.game.match.impl.participant.ParticipantColor;
@@ -38,6 +38,7 @@ public class ArenaManagementMenu extends Menu {
             buttons.add(new ArenaSetSpawnButton(1, arena, ParticipantColor.RED));
 
             buttons.add(new ArenaEnableButton(getSize() - 1, arena));
+            buttons.add(new ArenaPlacementButton(getSize() - 2, arena));
 
             buttons.add(new ArenaRenameButton(23, arena));
             buttons.add(new DisplayButton(22, Material.MAP, "&aTeleport to arena", o -> player.teleport(arena.getBlueSpawn())));
@@ -61,11 +62,8 @@ public class ArenaManagementMenu extends Menu {
 
                 @Override
                 public void onClick(ClickType type, Player player) {
-                    arena.setDoneLoading(false);
-                    CuboidSnapshot.create(arena.getMin(), arena.getMax()).thenAccept(snapshot -> {
-                        arena.setSnapshot(snapshot);
-                        arena.setDoneLoading(true);
-                    });
+                    ArenaPool.get().invalidate(arena);
+                    arena.capture();
                 }
             });
         }
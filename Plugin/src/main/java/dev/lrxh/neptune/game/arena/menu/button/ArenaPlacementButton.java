@@ -0,0 +1,36 @@
+package dev.lrxh.neptune.game.arena.menu.button;
+
+import dev.lrxh.neptune.game.arena.Arena;
+import dev.lrxh.neptune.game.arena.ArenaService;
+import dev.lrxh.neptune.game.arena.impl.ArenaPlacement;
+import dev.lrxh.neptune.game.arena.menu.ArenaManagementMenu;
+import dev.lrxh.neptune.utils.ItemBuilder;
+import dev.lrxh.neptune.utils.menu.Button;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.inventory.ItemStack;
+
+public class ArenaPlacementButton extends Button {
+    private final Arena arena;
+
+    public ArenaPlacementButton(int slot, Arena arena) {
+        super(slot, false);
+        this.arena = arena;
+    }
+
+    @Override
+    public void onClick(ClickType type, Player player) {
+        arena.setPlacement(arena.getPlacement().next());
+        ArenaService.get().save();
+        new ArenaManagementMenu(arena).open(player);
+    }
+
+    @Override
+    public ItemStack getItemStack(Player player) {
+        if (arena.getPlacement() == ArenaPlacement.GRID) {
+            return new ItemBuilder(Material.MAP).name("&ePlacement: &aGrid").lore("&7Copies share grid worlds.", "&7Click to use a world per match.").build();
+        }
+        return new ItemBuilder(Material.GRASS_BLOCK).name("&ePlacement: &aWorld").lore("&7Every copy gets its own world.", "&7Click to use grid worlds.").build();
+    }
+}
@@ -0,0 +1,11 @@
+package dev.lrxh.neptune.game.arena.tasks;
+
+import dev.lrxh.neptune.game.arena.ArenaPool;
+import dev.lrxh.neptune.utils.tasks.NeptuneRunnable;
+
+public class ArenaPoolTask extends NeptuneRunnable {
+    @Override
+    public void run() {
+        ArenaPool.get().refill();
+    }
+}
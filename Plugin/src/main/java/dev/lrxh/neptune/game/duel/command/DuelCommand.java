@@ -164,7 +164,7 @@ public class DuelCommand {
         MessagesLocale.DUEL_DENY_SENDER.send(player.getUniqueId(), new Replacement("<player>", sender.getName()));
         MessagesLocale.DUEL_DENY_RECEIVER.send(uuid, new Replacement("<player>", player.getName()));
 
-        duelRequest.getArena().remove();
+        duelRequest.getArena().release();
         playerGameData.removeRequest(uuid);
     }
 }
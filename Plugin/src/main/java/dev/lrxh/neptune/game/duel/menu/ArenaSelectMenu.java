@@ -4,6 +4,7 @@ import dev.lrxh.neptune.API;
 import dev.lrxh.neptune.Neptune;
 import dev.lrxh.neptune.configs.impl.MenusLocale;
 import dev.lrxh.neptune.game.arena.Arena;
+import dev.lrxh.neptune.game.arena.ArenaPool;
 import dev.lrxh.neptune.game.duel.DuelRequest;
 import dev.lrxh.neptune.game.kit.Kit;
 import dev.lrxh.neptune.profile.impl.Profile;
@@ -82,7 +83,7 @@ public class ArenaSelectMenu extends Menu {
                     Profile profile = API.getProfile(receiver);
                     if (profile == null) return;
                     player.closeInventory();
-                    arena.createDuplicate().thenAccept(duplicate -> {
+                    ArenaPool.get().acquire(arena).thenAccept(duplicate -> {
                         DuelRequest duelRequest = new DuelRequest(p.getUniqueId(), kit, duplicate, false, round);
                         profile.sendDuel(duelRequest);
                     });
@@ -5,6 +5,7 @@ import dev.lrxh.api.kit.IKit;
 import dev.lrxh.api.kit.IKitRule;
 import dev.lrxh.neptune.API;
 import dev.lrxh.neptune.game.arena.Arena;
+import dev.lrxh.neptune.game.arena.ArenaPool;
 import dev.lrxh.neptune.game.arena.ArenaService;
 import dev.lrxh.neptune.game.arena.VirtualArena;
 import dev.lrxh.neptune.game.kit.impl.KitRule;
@@ -206,7 +207,7 @@ public class Kit implements IKit {
 
         Arena selected = arenas1.get(ThreadLocalRandom.current().nextInt(arenas1.size()));
 
-        return selected.createDuplicate().thenApply(arena -> arena);
+        return ArenaPool.get().acquire(selected);
     }
 
     @Override
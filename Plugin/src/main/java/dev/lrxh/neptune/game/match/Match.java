@@ -7,7 +7,6 @@ import dev.lrxh.api.match.participant.IParticipant;
 import dev.lrxh.neptune.API;
 import dev.lrxh.neptune.Neptune;
 import dev.lrxh.neptune.configs.impl.MessagesLocale;
-import dev.lrxh.neptune.configs.impl.ScoreboardLocale;
 import dev.lrxh.neptune.feature.hotbar.HotbarService;
 import dev.lrxh.neptune.game.arena.VirtualArena;
 import dev.lrxh.neptune.game.kit.Kit;
@@ -17,12 +16,9 @@ import dev.lrxh.neptune.game.match.impl.ffa.FfaFightMatch;
 import dev.lrxh.neptune.game.match.impl.participant.DeathCause;
 import dev.lrxh.neptune.game.match.impl.participant.Participant;
 import dev.lrxh.neptune.game.match.impl.participant.ParticipantColor;
-import dev.lrxh.neptune.game.match.impl.solo.SoloFightMatch;
-import dev.lrxh.neptune.game.match.impl.team.TeamFightMatch;
 import dev.lrxh.neptune.profile.data.ProfileState;
 import dev.lrxh.neptune.profile.impl.Profile;
 import dev.lrxh.neptune.providers.clickable.Replacement;
-import dev.lrxh.neptune.providers.placeholder.PlaceholderUtil;
 import dev.lrxh.neptune.utils.CC;
 import dev.lrxh.neptune.utils.PlayerUtil;
 import dev.lrxh.neptune.utils.Time;
@@ -35,7 +31,9 @@ import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.Sound;
 import org.bukkit.attribute.Attribute;
+import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.type.Bed;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.scoreboard.Criteria;
@@ -203,64 +201,30 @@ public abstract class Match implements IMatch {
 
     public void resetArena() {
         removeEntities();
-        arena.restore();
+        arena.restore(changes);
+        changes.clear();
+        placedBlocks.clear();
+        liquids.clear();
     }
 
-    public List<String> getScoreboard(UUID playerUUID) {
-        Player player = Bukkit.getPlayer(playerUUID);
-        if (player == null)
-            return new ArrayList<>();
-
-        if (this instanceof SoloFightMatch) {
-            MatchState matchState = this.getState();
+    public void recordChange(Block block) {
+        recordChange(block.getLocation(), block.getBlockData());
 
-            if (kit.is(KitRule.BEST_OF_THREE) && matchState.equals(MatchState.STARTING)) {
-                return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_BEST_OF.getStringList()),
-                        player);
-            }
-
-            switch (matchState) {
-                case STARTING:
-                    return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_STARTING.getStringList()),
-                            player);
-                case IN_ROUND:
-                    if (this.getRounds() > 1) {
-                        return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_BEST_OF.getStringList()),
-                                player);
-                    }
-                    if (this.getKit().is(KitRule.BOXING)) {
-                        return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_BOXING.getStringList()),
-                                player);
-                    }
-                    if (this.getKit().is(KitRule.BED_WARS)) {
-                        return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_BEDWARS.getStringList()),
-                                player);
-                    }
-                    return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME.getStringList()), player);
-                case ENDING:
-                    return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_ENDED.getStringList()),
-                            player);
-                default:
-                    break;
-            }
-        } else if (this instanceof TeamFightMatch) {
-            if (this.getKit().is(KitRule.BED_WARS)) {
-                return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_BEDWARS_TEAM.getStringList()),
-                        player);
-            } else if (this.getKit().is(KitRule.BOXING)) {
-                return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_BOXING_TEAM.getStringList()),
-                        player);
-            }
-            return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_TEAM.getStringList()), player);
-        } else if (this instanceof FfaFightMatch) {
-            if (this.getKit().is(KitRule.BOXING)) {
-                return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_BOXING_FFA.getStringList()),
-                        player);
-            }
-            return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_GAME_FFA.getStringList()), player);
+        if (block.getBlockData() instanceof Bed bed) {
+            Block other = block.getRelative(bed.getPart() == Bed.Part.HEAD
+                    ? bed.getFacing().getOppositeFace()
+                    : bed.getFacing());
+            recordChange(other.getLocation(), other.getBlockData());
         }
+    }
 
-        return null;
+    public void recordChange(Location location, BlockData original) {
+        changes.putIfAbsent(location, original.clone());
+    }
+
+    public void recordLiquid(Block block) {
+        recordChange(block);
+        liquids.add(block.getLocation());
     }
 
     public void removeSpectator(UUID playerUUID, boolean sendMessage) {
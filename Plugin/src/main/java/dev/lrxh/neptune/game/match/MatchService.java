@@ -7,6 +7,7 @@ import dev.lrxh.api.match.participant.IParticipant;
 import dev.lrxh.neptune.API;
 import dev.lrxh.neptune.Neptune;
 import dev.lrxh.neptune.game.arena.Arena;
+import dev.lrxh.neptune.game.arena.ArenaGrid;
 import dev.lrxh.neptune.game.arena.ArenaService;
 import dev.lrxh.neptune.game.arena.VirtualArena;
 import dev.lrxh.neptune.game.kit.Kit;
@@ -19,7 +20,12 @@ import dev.lrxh.neptune.game.match.impl.team.MatchTeam;
 import dev.lrxh.neptune.game.match.impl.team.TeamFightMatch;
 import dev.lrxh.neptune.game.match.tasks.MatchStartRunnable;
 import dev.lrxh.neptune.profile.impl.Profile;
+import dev.lrxh.neptune.providers.metrics.MetricsService;
+import dev.lrxh.neptune.providers.metrics.impl.Counter;
+import dev.lrxh.neptune.utils.LocationUtil;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 
 import java.util.*;
@@ -28,6 +34,30 @@ import java.util.stream.Collectors;
 public class MatchService implements IMatchService {
     private static MatchService instance;
     public final HashSet<Match> matches = new HashSet<>();
+    // Block events look matches up by location, grid worlds are indexed by slot and other worlds hold few matches
+    private final Map<World, Map<Long, Match>> gridMatches = new HashMap<>();
+    private final Map<World, List<Match>> worldMatches = new HashMap<>();
+    private final Counter started = MetricsService.get().counter("neptune_matches_started_total", "Matches started per kit.", "kit");
+
+    public MatchService() {
+        MetricsService.get().gauge("neptune_matches_active", "Matches running per kit.", "kit", () -> {
+            Map<String, Integer> active = new HashMap<>();
+            for (Kit kit : KitService.get().getKits()) {
+                active.put(kit.getName(), 0);
+            }
+            for (Match match : matches) {
+                active.merge(match.getKit().getName(), 1, Integer::sum);
+            }
+            return active;
+        });
+        MetricsService.get().gauge("neptune_players_playing", "Players in a match per kit.", "kit", () -> {
+            Map<String, Integer> playing = new HashMap<>();
+            for (Kit kit : KitService.get().getKits()) {
+                playing.put(kit.getName(), kit.getPlaying());
+            }
+            return playing;
+        });
+    }
 
     public static MatchService get() {
         if (instance == null) instance = new MatchService();
@@ -52,7 +82,8 @@ public class MatchService implements IMatchService {
         if (event.isCancelled()) {
             return;
         }
-        matches.add(match);
+        addMatch(match);
+        started.inc(kit.getName());
         new MatchStartRunnable(match).start(0L, 20L);
     }
 
@@ -78,7 +109,8 @@ public class MatchService implements IMatchService {
             return;
         }
 
-        matches.add(match);
+        addMatch(match);
+        started.inc(kit.getName());
         new MatchStartRunnable(match).start(0L, 20L);
     }
 
@@ -96,7 +128,8 @@ public class MatchService implements IMatchService {
             return;
         }
 
-        matches.add(match);
+        addMatch(match);
+        started.inc(kit.getName());
         new MatchStartRunnable(match).start(0L, 20L);
     }
 
@@ -126,7 +159,8 @@ public class MatchService implements IMatchService {
                     1
             );
 
-            matches.add(neptuneMatch);
+            addMatch(neptuneMatch);
+            started.inc(neptuneMatch.getKit().getName());
             new MatchStartRunnable(neptuneMatch).start(0L, 20L);
         });
     }
@@ -143,6 +177,77 @@ public class MatchService implements IMatchService {
                 .map(Profile::getMatch);
     }
 
+    public Optional<Match> getMatch(Location location) {
+        World world = location.getWorld();
+
+        Map<Long, Match> slots = gridMatches.get(world);
+        if (slots != null) {
+            Match match = slots.get(ArenaGrid.get().getCell(location.getBlockX(), location.getBlockZ()));
+            if (match != null && isInside(match, location)) return Optional.of(match);
+        }
+
+        List<Match> candidates = worldMatches.get(world);
+        if (candidates != null) {
+            for (Match match : candidates) {
+                if (isInside(match, location)) return Optional.of(match);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    public void removeMatch(Match match) {
+        if (!matches.remove(match)) return;
+
+        VirtualArena arena = match.getArena();
+        World world = getWorld(arena);
+        if (world == null) return;
+
+        if (arena.getSlot() != null) {
+            Map<Long, Match> slots = gridMatches.get(world);
+            if (slots == null) return;
+
+            slots.remove(getCell(arena.getSlot()), match);
+            if (slots.isEmpty()) gridMatches.remove(world);
+            return;
+        }
+
+        List<Match> candidates = worldMatches.get(world);
+        if (candidates == null) return;
+
+        candidates.remove(match);
+        if (candidates.isEmpty()) worldMatches.remove(world);
+    }
+
+    private void addMatch(Match match) {
+        matches.add(match);
+
+        VirtualArena arena = match.getArena();
+        World world = getWorld(arena);
+        if (world == null) return;
+
+        if (arena.getSlot() != null) {
+            gridMatches.computeIfAbsent(world, w -> new HashMap<>()).put(getCell(arena.getSlot()), match);
+        } else {
+            worldMatches.computeIfAbsent(world, w -> new ArrayList<>(1)).add(match);
+        }
+    }
+
+    private World getWorld(VirtualArena arena) {
+        if (arena == null || arena.getMin() == null || arena.getMax() == null) return null;
+        return arena.getMin().getWorld();
+    }
+
+    private long getCell(ArenaGrid.Slot slot) {
+        return ArenaGrid.get().getCell(slot.getX(), slot.getZ());
+    }
+
+    private boolean isInside(Match match, Location location) {
+        VirtualArena arena = match.getArena();
+        return arena.getMin() != null && arena.getMax() != null
+                && LocationUtil.isInside(location, arena.getMin(), arena.getMax());
+    }
+
     public void stopAllGames() {
         for (Match match : matches) {
             match.resetArena();
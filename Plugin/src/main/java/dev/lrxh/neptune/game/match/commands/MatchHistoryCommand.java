@@ -9,11 +9,11 @@ public class MatchHistoryCommand {
 
     @Command(name = "", desc = "", usage = "")
     public void open(@Sender Player player) {
-        new MatchHistoryMenu(player).open(player);
+        MatchHistoryMenu.open(player, player);
     }
 
     @Command(name = "open", desc = "", usage = "<player>")
     public void open(@Sender Player player, Player target) {
-        new MatchHistoryMenu(target).open(player);
+        MatchHistoryMenu.open(player, target);
     }
 }
@@ -8,7 +8,6 @@ import dev.lrxh.neptune.configs.impl.MessagesLocale;
 import dev.lrxh.neptune.configs.impl.SettingsLocale;
 import dev.lrxh.neptune.feature.hotbar.HotbarService;
 import dev.lrxh.neptune.feature.leaderboard.LeaderboardService;
-import dev.lrxh.neptune.feature.leaderboard.impl.LeaderboardPlayerEntry;
 import dev.lrxh.neptune.game.arena.VirtualArena;
 import dev.lrxh.neptune.game.kit.Kit;
 import dev.lrxh.neptune.game.kit.impl.KitRule;
@@ -20,6 +19,8 @@ import dev.lrxh.neptune.game.match.impl.participant.ParticipantColor;
 import dev.lrxh.neptune.game.match.tasks.MatchEndRunnable;
 import dev.lrxh.neptune.game.match.tasks.MatchRespawnRunnable;
 import dev.lrxh.neptune.game.match.tasks.MatchSecondRoundRunnable;
+import dev.lrxh.neptune.profile.MatchHistoryStore;
+import dev.lrxh.neptune.profile.StatJournal;
 import dev.lrxh.neptune.profile.data.GameData;
 import dev.lrxh.neptune.profile.data.MatchHistory;
 import dev.lrxh.neptune.profile.data.ProfileState;
@@ -123,10 +124,13 @@ public class SoloFightMatch extends Match implements ISoloFightMatch {
         String date = DateUtils.getDate();
         String time = LocalDateTime.now().atOffset(ZoneOffset.UTC).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
 
-        winnerProfile.getGameData().addHistory(
-                new MatchHistory(true, loserProfile.getUsername(), kitName, arenaName, date, time));
-        loserProfile.getGameData().addHistory(
-                new MatchHistory(false, winnerProfile.getUsername(), kitName, arenaName, date, time));
+        MatchHistory winnerHistory = new MatchHistory(true, loserProfile.getUsername(), kitName, arenaName, date, time);
+        MatchHistory loserHistory = new MatchHistory(false, winnerProfile.getUsername(), kitName, arenaName, date, time);
+
+        winnerProfile.getGameData().addHistory(winnerHistory);
+        loserProfile.getGameData().addHistory(loserHistory);
+        MatchHistoryStore.get().append(winner.getPlayerUUID(), winnerHistory);
+        MatchHistoryStore.get().append(loser.getPlayerUUID(), loserHistory);
 
         GameData winnerData = winnerProfile.getGameData();
         GameData loserData = loserProfile.getGameData();
@@ -140,6 +144,9 @@ public class SoloFightMatch extends Match implements ISoloFightMatch {
         winner.setEloChange(winnerData.get(getKit()).getElo() - initialWinnerElo);
         loser.setEloChange(loserData.get(getKit()).getElo() - initialLoserElo);
 
+        StatJournal.get().record(winnerProfile, getKit(), true, winner.getEloChange());
+        StatJournal.get().record(loserProfile, getKit(), false, loser.getEloChange());
+
         if (rankedUp) {
             String divisionName = winnerData.get(getKit()).getDivision().getDisplayName();
 
@@ -151,13 +158,11 @@ public class SoloFightMatch extends Match implements ISoloFightMatch {
             winner.sendMessage(MessagesLocale.RANKUP_MESSAGE, new Replacement("<division>", divisionName));
         }
 
-        forEachParticipantForce(participant -> LeaderboardService.get().addChange(
-                new LeaderboardPlayerEntry(participant.getNameUnColored(), participant.getPlayerUUID(), getKit())));
+        LeaderboardService.get().update(winnerProfile.getUsername(), winner.getPlayerUUID(), getKit(), winnerData.get(getKit()));
+        LeaderboardService.get().update(loserProfile.getUsername(), loser.getPlayerUUID(), getKit(), loserData.get(getKit()));
 
-        if (winnerProfile.isFake())
-            Profile.save(winnerProfile);
-        if (loserProfile.isFake())
-            Profile.save(loserProfile);
+        Profile.save(winnerProfile);
+        Profile.save(loserProfile);
     }
 
     public Participant getLoser() {
@@ -1,5 +1,6 @@
 package dev.lrxh.neptune.game.match.listener;
 
+import com.destroystokyo.paper.event.block.BlockDestroyEvent;
 import dev.lrxh.api.events.MatchParticipantDeathEvent;
 import dev.lrxh.neptune.API;
 import dev.lrxh.neptune.Neptune;
@@ -9,6 +10,7 @@ import dev.lrxh.neptune.game.arena.VirtualArena;
 import dev.lrxh.neptune.game.kit.Kit;
 import dev.lrxh.neptune.game.kit.impl.KitRule;
 import dev.lrxh.neptune.game.match.Match;
+import dev.lrxh.neptune.game.match.MatchService;
 import dev.lrxh.neptune.game.match.impl.MatchState;
 import dev.lrxh.neptune.game.match.impl.participant.DeathCause;
 import dev.lrxh.neptune.game.match.impl.participant.Participant;
@@ -27,6 +29,12 @@ import io.papermc.paper.event.block.BlockBreakBlockEvent;
 import io.papermc.paper.event.entity.EntityPushedByEntityAttackEvent;
 import org.bukkit.*;
 import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.Bisected;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Directional;
+import org.bukkit.block.data.type.Bed;
 import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -34,6 +42,7 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.*;
 import org.bukkit.event.entity.*;
 import org.bukkit.event.player.PlayerBucketEmptyEvent;
+import org.bukkit.event.player.PlayerBucketFillEvent;
 import org.bukkit.event.player.PlayerDropItemEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
@@ -167,6 +176,7 @@ public class MatchListener implements Listener {
             }
 
             match.getPlacedBlocks().add(blockLocation);
+            match.recordChange(blockLocation, event.getBlockReplacedState().getBlockData());
         } else {
             event.setCancelled(true);
         }
@@ -550,6 +560,7 @@ public class MatchListener implements Listener {
             }
 
             match.getPlacedBlocks().add(blockLocation);
+            match.recordLiquid(event.getBlock());
         } else {
             event.setCancelled(true);
         }
@@ -1023,6 +1034,142 @@ public class MatchListener implements Listener {
         }
     }
 
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreakJournal(BlockBreakEvent event) {
+        journal(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlaceJournal(BlockPlaceEvent event) {
+        Block block = event.getBlockPlaced();
+        MatchService.get().getMatch(block.getLocation()).ifPresent(match -> {
+            match.recordChange(block.getLocation(), event.getBlockReplacedState().getBlockData());
+
+            if (event instanceof BlockMultiPlaceEvent multiPlace) {
+                for (BlockState replaced : multiPlace.getReplacedBlockStates()) {
+                    match.recordChange(replaced.getLocation(), replaced.getBlockData());
+                }
+                return;
+            }
+
+            BlockData data = block.getBlockData();
+            Block other = null;
+            if (data instanceof Bed bed) {
+                other = block.getRelative(bed.getPart() == Bed.Part.HEAD ? bed.getFacing().getOppositeFace() : bed.getFacing());
+            } else if (data instanceof Bisected bisected) {
+                other = block.getRelative(bisected.getHalf() == Bisected.Half.BOTTOM ? BlockFace.UP : BlockFace.DOWN);
+            }
+            if (other == null) return;
+
+            // Second halves only go where the block was replaceable, so one that is already placed replaced air
+            match.recordChange(other.getLocation(), other.getType() == block.getType()
+                    ? Material.AIR.createBlockData() : other.getBlockData());
+        });
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtendJournal(BlockPistonExtendEvent event) {
+        journalPiston(event.getBlock(), event.getBlocks(), event.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetractJournal(BlockPistonRetractEvent event) {
+        journalPiston(event.getBlock(), event.getBlocks(), event.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockDestroyJournal(BlockDestroyEvent event) {
+        journal(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLeavesDecayJournal(LeavesDecayEvent event) {
+        journal(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockSpreadJournal(BlockSpreadEvent event) {
+        journal(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onFluidLevelChangeJournal(FluidLevelChangeEvent event) {
+        journal(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplodeJournal(EntityExplodeEvent event) {
+        MatchService.get().getMatch(event.getLocation())
+                .ifPresent(match -> event.blockList().forEach(match::recordChange));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplodeJournal(BlockExplodeEvent event) {
+        MatchService.get().getMatch(event.getBlock().getLocation()).ifPresent(match -> {
+            BlockState exploded = event.getExplodedBlockState();
+            if (exploded != null) {
+                match.recordChange(exploded.getLocation(), exploded.getBlockData());
+            }
+            event.blockList().forEach(match::recordChange);
+        });
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLiquidFlow(BlockFromToEvent event) {
+        Block block = event.getToBlock();
+        MatchService.get().getMatch(block.getLocation()).ifPresent(match -> match.recordLiquid(block));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketFillJournal(PlayerBucketFillEvent event) {
+        journal(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFormJournal(BlockFormEvent event) {
+        journal(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFadeJournal(BlockFadeEvent event) {
+        journal(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurnJournal(BlockBurnEvent event) {
+        journal(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockIgniteJournal(BlockIgniteEvent event) {
+        journal(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlockJournal(EntityChangeBlockEvent event) {
+        journal(event.getBlock());
+    }
+
+    private void journal(Block block) {
+        MatchService.get().getMatch(block.getLocation()).ifPresent(match -> match.recordChange(block));
+    }
+
+    private void journalPiston(Block piston, List<Block> moved, BlockFace direction) {
+        MatchService.get().getMatch(piston.getLocation()).ifPresent(match -> {
+            match.recordChange(piston);
+            if (piston.getBlockData() instanceof Directional directional) {
+                match.recordChange(piston.getRelative(directional.getFacing()));
+            }
+
+            // Every block that moves leaves its position and takes the next one, retracted blocks move onto
+            // the head or another moved block so both directions are covered
+            for (Block block : moved) {
+                match.recordChange(block);
+                match.recordChange(block.getRelative(direction));
+            }
+        });
+    }
+
     private Player getResponsiblePlayer(EntityDamageByEntityEvent event) {
         Entity damager = event.getDamager();
 
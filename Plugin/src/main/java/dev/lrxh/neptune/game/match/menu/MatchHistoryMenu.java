@@ -1,14 +1,14 @@
 package dev.lrxh.neptune.game.match.menu;
 
-import dev.lrxh.neptune.API;
 import dev.lrxh.neptune.configs.impl.MenusLocale;
 import dev.lrxh.neptune.game.kit.Kit;
 import dev.lrxh.neptune.game.kit.KitService;
+import dev.lrxh.neptune.profile.MatchHistoryStore;
 import dev.lrxh.neptune.profile.data.MatchHistory;
-import dev.lrxh.neptune.profile.impl.Profile;
 import dev.lrxh.neptune.providers.clickable.Replacement;
 import dev.lrxh.neptune.utils.ItemBuilder;
 import dev.lrxh.neptune.utils.ItemUtils;
+import dev.lrxh.neptune.utils.ServerUtils;
 import dev.lrxh.neptune.utils.menu.Button;
 import dev.lrxh.neptune.utils.menu.Filter;
 import dev.lrxh.neptune.utils.menu.Menu;
@@ -18,36 +18,79 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
 public class MatchHistoryMenu extends Menu {
-    private final Player target;
+    private final UUID targetUUID;
+    private final String targetName;
+    private final int page;
+    private final List<MatchHistory> matchHistories;
+    private final boolean hasNext;
 
-    public MatchHistoryMenu(Player target) {
+    private MatchHistoryMenu(UUID targetUUID, String targetName, int page, List<MatchHistory> matchHistories, boolean hasNext) {
         super(MenusLocale.MATCH_HISTORY_TITLE.getString(), MenusLocale.MATCH_HISTORY_SIZE.getInt(),
                 Filter.valueOf(MenusLocale.MATCH_HISTORY_FILTER.getString()));
-        this.target = target;
+        this.targetUUID = targetUUID;
+        this.targetName = targetName;
+        this.page = page;
+        this.matchHistories = matchHistories;
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * Loads one page of the target's history from the database and opens it once it arrived,
+     * one extra entry is requested to know whether a next page exists.
+     */
+    public static void open(Player viewer, UUID targetUUID, String targetName, int page) {
+        int pageSize = MenusLocale.MATCH_HISTORY_PAGE_SIZE.getInt();
+
+        MatchHistoryStore.get().getPage(targetUUID, page, pageSize + 1).whenComplete((matchHistories, throwable) -> {
+            if (throwable != null) {
+                ServerUtils.error("Failed to load match history of " + targetName + ": " + throwable.getMessage());
+                return;
+            }
+            if (!viewer.isOnline()) return;
+
+            boolean hasNext = matchHistories.size() > pageSize;
+            List<MatchHistory> entries = hasNext ? matchHistories.subList(0, pageSize) : matchHistories;
+
+            new MatchHistoryMenu(targetUUID, targetName, page, new ArrayList<>(entries), hasNext).open(viewer);
+        });
+    }
+
+    public static void open(Player viewer, Player target) {
+        open(viewer, target.getUniqueId(), target.getName(), 0);
     }
 
     @Override
     public List<Button> getButtons(Player player) {
         List<Button> buttons = new ArrayList<>();
-        Profile profile = API.getProfile(target);
 
         int i = MenusLocale.MATCH_HISTORY_STARTING_SLOT.getInt();
 
-        ArrayList<MatchHistory> matchHistories = new ArrayList<>(profile.getGameData().getMatchHistories());
-        Collections.reverse(matchHistories);
-
         for (MatchHistory matchHistory : matchHistories) {
-            buttons.add(new DisplayButton(i++, getButtonItem(target, matchHistory)));
+            buttons.add(new DisplayButton(i++, getButtonItem(player, targetName, matchHistory)));
+        }
+
+        int lastRow = MenusLocale.MATCH_HISTORY_SIZE.getInt() - 9;
+        if (page > 0) {
+            buttons.add(new DisplayButton(lastRow + 3,
+                    Material.valueOf(MenusLocale.PAGINATION_PREVIOUS_PAGE_ENABLED_MATERIAL.getString()),
+                    MenusLocale.PAGINATION_PREVIOUS_PAGE_ENABLED_NAME.getString(),
+                    viewer -> open(viewer, targetUUID, targetName, page - 1)));
+        }
+        if (hasNext) {
+            buttons.add(new DisplayButton(lastRow + 5,
+                    Material.valueOf(MenusLocale.PAGINATION_NEXT_PAGE_ENABLED_MATERIAL.getString()),
+                    MenusLocale.PAGINATION_NEXT_PAGE_ENABLED_NAME.getString(),
+                    viewer -> open(viewer, targetUUID, targetName, page + 1)));
         }
 
         return buttons;
     }
 
-    public ItemStack getButtonItem(Player player, MatchHistory matchHistory) {
+    public ItemStack getButtonItem(Player player, String playerName, MatchHistory matchHistory) {
         Kit kit = KitService.get().getKitByDisplay(matchHistory.getKitName());
         if (kit == null) {
             return new ItemBuilder(Material.COMPASS)
@@ -60,19 +103,19 @@ public class MatchHistoryMenu extends Menu {
                                             : MenusLocale.MATCH_HISTORY_LOST
                                             .getString())
                             .replace("<winner>",
-                                    matchHistory.isWon() ? player.getName()
+                                    matchHistory.isWon() ? playerName
                                             : matchHistory.getOpponentName())
                             .replace("<loser>",
-                                    !matchHistory.isWon() ? player.getName()
+                                    !matchHistory.isWon() ? playerName
                                             : matchHistory.getOpponentName()))
                     .lore(ItemUtils.getLore(MenusLocale.MATCH_HISTORY_LORE.getStringList(),
                             new Replacement("<arena>", matchHistory.getArenaName()),
                             new Replacement("<kit>", matchHistory.getKitName()),
                             new Replacement("<winner>",
-                                    matchHistory.isWon() ? player.getName()
+                                    matchHistory.isWon() ? playerName
                                             : matchHistory.getOpponentName()),
                             new Replacement("<loser>",
-                                    !matchHistory.isWon() ? player.getName()
+                                    !matchHistory.isWon() ? playerName
                                             : matchHistory.getOpponentName()),
                             new Replacement("<date>", matchHistory.getDate())), player)
 
@@ -88,19 +131,19 @@ public class MatchHistoryMenu extends Menu {
                                             : MenusLocale.MATCH_HISTORY_LOST
                                             .getString())
                             .replace("<winner>",
-                                    matchHistory.isWon() ? player.getName()
+                                    matchHistory.isWon() ? playerName
                                             : matchHistory.getOpponentName())
                             .replace("<loser>",
-                                    !matchHistory.isWon() ? player.getName()
+                                    !matchHistory.isWon() ? playerName
                                             : matchHistory.getOpponentName()))
                     .lore(ItemUtils.getLore(MenusLocale.MATCH_HISTORY_LORE.getStringList(),
                             new Replacement("<arena>", matchHistory.getArenaName()),
                             new Replacement("<kit>", matchHistory.getKitName()),
                             new Replacement("<winner>",
-                                    matchHistory.isWon() ? player.getName()
+                                    matchHistory.isWon() ? playerName
                                             : matchHistory.getOpponentName()),
                             new Replacement("<loser>",
-                                    !matchHistory.isWon() ? player.getName()
+                                    !matchHistory.isWon() ? playerName
                                             : matchHistory.getOpponentName()),
                             new Replacement("<date>", matchHistory.getDate())), player)
 
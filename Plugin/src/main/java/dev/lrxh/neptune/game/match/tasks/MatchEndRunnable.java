@@ -58,8 +58,8 @@ public class MatchEndRunnable extends NeptuneRunnable {
             });
 
             match.sendEndMessage();
-            match.getArena().remove();
-            MatchService.get().matches.remove(match);
+            match.getArena().release();
+            MatchService.get().removeMatch(match);
             MatchEndEvent event = new MatchEndEvent(match);
             Bukkit.getPluginManager().callEvent(event);
             stop();
@@ -1,6 +1,7 @@
 package dev.lrxh.neptune.main;
 
 import com.jonahseguin.drink.annotation.Command;
+import com.jonahseguin.drink.annotation.OptArg;
 import com.jonahseguin.drink.annotation.Require;
 import com.jonahseguin.drink.annotation.Sender;
 import dev.lrxh.neptune.API;
@@ -14,10 +15,17 @@ import dev.lrxh.neptune.profile.data.ProfileState;
 import dev.lrxh.neptune.profile.impl.Profile;
 import dev.lrxh.neptune.utils.CC;
 import dev.lrxh.neptune.utils.GithubUtils;
+import dev.lrxh.neptune.utils.Histogram;
+import dev.lrxh.neptune.utils.timings.Timing;
+import dev.lrxh.neptune.utils.timings.TimingService;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
 public class MainCommand {
 
     @Command(name = "", desc = "")
@@ -60,6 +68,54 @@ public class MainCommand {
         sender.sendMessage(CC.color("&aSuccessfully reloaded configs!"));
     }
 
+    @Command(name = "perf", desc = "", usage = "[on|off|reset|dump]")
+    @Require("neptune.admin")
+    public void perf(@Sender CommandSender sender, @OptArg("show") String action) {
+        TimingService timings = TimingService.get();
+
+        switch (action.toLowerCase()) {
+            case "on" -> {
+                timings.setEnabled(true);
+                sender.sendMessage(CC.color("&aTimings enabled!"));
+            }
+            case "off" -> {
+                timings.setEnabled(false);
+                sender.sendMessage(CC.color("&aTimings disabled!"));
+            }
+            case "reset" -> {
+                timings.reset();
+                sender.sendMessage(CC.color("&aTimings reset!"));
+            }
+            case "dump" -> {
+                try {
+                    File file = timings.dump();
+                    sender.sendMessage(CC.color("&aTimings written to " + file.getPath()));
+                } catch (IOException e) {
+                    sender.sendMessage(CC.error("Failed to write timings: " + e.getMessage()));
+                }
+            }
+            default -> {
+                if (!timings.isEnabled()) {
+                    sender.sendMessage(CC.color("&cTimings are disabled, enable them with /neptune perf on"));
+                }
+
+                long ticks = Math.max(1, timings.getTicks());
+                List<Timing> list = timings.getTimings();
+                sender.sendMessage(CC.color("&eTimings over &f" + timings.getTicks() + " &eticks &7(p50 / p99 / max ms, calls per tick, bytes per call)"));
+
+                for (Timing timing : list.subList(0, Math.min(15, list.size()))) {
+                    Histogram histogram = timing.getHistogram();
+                    sender.sendMessage(CC.color("&f" + timing.getName() + " &7"
+                            + TimingService.millis(histogram.getValueAtPercentile(50)) + " / "
+                            + TimingService.millis(histogram.getValueAtPercentile(99)) + " / "
+                            + TimingService.millis(histogram.getMax()) + " &e"
+                            + String.format("%.2f", (double) timing.getCalls() / ticks) + "/t &7"
+                            + timing.getAllocatedPerCall() + "B"));
+                }
+            }
+        }
+    }
+
     @Command(name = "stop", desc = "")
     public void stop(@Sender Player player) {
         Neptune.get().setAllowMatches(false);
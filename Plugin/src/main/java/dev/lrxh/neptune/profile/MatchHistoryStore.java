@@ -0,0 +1,102 @@
+package dev.lrxh.neptune.profile;
+
+import dev.lrxh.neptune.profile.data.MatchHistory;
+import dev.lrxh.neptune.providers.database.DatabaseService;
+import dev.lrxh.neptune.providers.database.impl.DataDocument;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Append-only match history kept outside the profile document, read newest first in pages.
+ */
+public class MatchHistoryStore {
+    public static final int RECENT = 7;
+    private static MatchHistoryStore instance;
+
+    public static MatchHistoryStore get() {
+        if (instance == null) instance = new MatchHistoryStore();
+
+        return instance;
+    }
+
+    public CompletableFuture<Void> append(UUID playerUUID, MatchHistory matchHistory) {
+        return appendAll(playerUUID, List.of(matchHistory));
+    }
+
+    public CompletableFuture<Void> appendAll(UUID playerUUID, List<MatchHistory> matchHistories) {
+        return DatabaseService.get().getDatabase().appendHistory(playerUUID, toDocuments(matchHistories));
+    }
+
+    /**
+     * Moves history stored inside the profile document here, see {@link dev.lrxh.neptune.providers.database.impl.IDatabase#migrateHistory}.
+     */
+    public CompletableFuture<Void> migrate(UUID playerUUID, List<MatchHistory> matchHistories) {
+        return DatabaseService.get().getDatabase().migrateHistory(playerUUID, toDocuments(matchHistories));
+    }
+
+    public CompletableFuture<List<MatchHistory>> getPage(UUID playerUUID, int page, int size) {
+        return DatabaseService.get().getDatabase().getHistory(playerUUID, page * size, size)
+                .thenApply(documents -> {
+                    List<MatchHistory> matchHistories = new ArrayList<>(documents.size());
+                    for (DataDocument document : documents) {
+                        matchHistories.add(fromDocument(document));
+                    }
+                    return matchHistories;
+                });
+    }
+
+    /**
+     * The latest matches, oldest first like {@link dev.lrxh.neptune.profile.data.GameData#getMatchHistories()}.
+     */
+    public CompletableFuture<List<MatchHistory>> getRecent(UUID playerUUID) {
+        return getPage(playerUUID, 0, RECENT).thenApply(matchHistories -> {
+            Collections.reverse(matchHistories);
+            return matchHistories;
+        });
+    }
+
+    private List<DataDocument> toDocuments(List<MatchHistory> matchHistories) {
+        List<DataDocument> documents = new ArrayList<>(matchHistories.size());
+        for (MatchHistory matchHistory : matchHistories) {
+            documents.add(toDocument(matchHistory));
+        }
+        return documents;
+    }
+
+    private DataDocument toDocument(MatchHistory matchHistory) {
+        DataDocument document = new DataDocument();
+        document.put("playedAt", getPlayedAt(matchHistory));
+        document.put("won", matchHistory.isWon());
+        document.put("opponent", matchHistory.getOpponentName());
+        document.put("kit", matchHistory.getKitName());
+        document.put("arena", matchHistory.getArenaName());
+        document.put("date", matchHistory.getDate());
+        document.put("time", matchHistory.getTime());
+        return document;
+    }
+
+    private MatchHistory fromDocument(DataDocument document) {
+        return new MatchHistory(
+                document.getBoolean("won", false),
+                document.getString("opponent", ""),
+                document.getString("kit", ""),
+                document.getString("arena", ""),
+                document.getString("date", ""),
+                document.getString("time", ""));
+    }
+
+    private long getPlayedAt(MatchHistory matchHistory) {
+        try {
+            return LocalDateTime.parse(matchHistory.getTime()).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException | NullPointerException e) {
+            return System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package dev.lrxh.neptune.profile;
+
+import dev.lrxh.neptune.configs.impl.SettingsLocale;
+import dev.lrxh.neptune.profile.impl.Profile;
+import dev.lrxh.neptune.providers.metrics.MetricsService;
+import dev.lrxh.neptune.providers.metrics.impl.Counter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches profiles of offline players for lookups such as stats and leaderboards.
+ * Every caller gets its own copy, so changing one never reaches the cache or other callers.
+ */
+public class OfflineProfileCache {
+    private static OfflineProfileCache instance;
+    private final Map<UUID, Entry> entries;
+    private final long ttl;
+    private final Counter requests = MetricsService.get().counter("neptune_profile_cache_requests_total",
+            "Profile lookups by whether the player was online, cached or had to be loaded.", "result");
+
+    private OfflineProfileCache() {
+        int capacity = Math.max(1, SettingsLocale.PROFILE_CACHE_SIZE.getInt());
+        this.ttl = TimeUnit.SECONDS.toNanos(SettingsLocale.PROFILE_CACHE_TTL.getInt());
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+
+        MetricsService.get().gauge("neptune_profile_cache_size", "Offline profiles held in the cache.", this::size);
+    }
+
+    public static OfflineProfileCache get() {
+        if (instance == null) instance = new OfflineProfileCache();
+
+        return instance;
+    }
+
+    public CompletableFuture<Profile> get(UUID playerUUID) {
+        return load(playerUUID).thenApply(Profile::copy);
+    }
+
+    private CompletableFuture<Profile> load(UUID playerUUID) {
+        Entry entry;
+
+        synchronized (entries) {
+            entry = entries.get(playerUUID);
+            // In-flight loads are always shared, completed ones only until they expire
+            if (entry != null && (!entry.future.isDone() || System.nanoTime() - entry.loadedAt < ttl)) {
+                requests.inc("hit");
+                return entry.future;
+            }
+
+            entry = new Entry(new CompletableFuture<>(), System.nanoTime());
+            entries.put(playerUUID, entry);
+        }
+
+        requests.inc("miss");
+        Entry loading = entry;
+        ProfileService.get().createProfile(playerUUID).whenComplete((profile, throwable) -> {
+            if (throwable != null) {
+                synchronized (entries) {
+                    entries.remove(playerUUID, loading);
+                }
+                loading.future.completeExceptionally(throwable);
+                return;
+            }
+
+            loading.loadedAt = System.nanoTime();
+            loading.future.complete(profile);
+        });
+
+        return loading.future;
+    }
+
+    public void invalidate(UUID playerUUID) {
+        synchronized (entries) {
+            entries.remove(playerUUID);
+        }
+    }
+
+    public void online() {
+        requests.inc("online");
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static class Entry {
+        private final CompletableFuture<Profile> future;
+        private volatile long loadedAt;
+
+        private Entry(CompletableFuture<Profile> future, long loadedAt) {
+            this.future = future;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -3,21 +3,35 @@ package dev.lrxh.neptune.profile;
 import dev.lrxh.api.profile.IProfile;
 import dev.lrxh.api.profile.IProfileService;
 import dev.lrxh.neptune.Neptune;
+import dev.lrxh.neptune.configs.impl.SettingsLocale;
 import dev.lrxh.neptune.feature.queue.QueueService;
 import dev.lrxh.neptune.profile.impl.Profile;
+import dev.lrxh.neptune.utils.ServerUtils;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class ProfileService implements IProfileService {
+    // Longer than any login takes, a profile staged for so long belongs to a player that never joined
+    private static final long STAGED_TTL = TimeUnit.MINUTES.toNanos(1);
     private static ProfileService instance;
     public final IdentityHashMap<UUID, Profile> profiles = new IdentityHashMap<>();
+    private final Map<UUID, Staged> staged = new ConcurrentHashMap<>();
+    private final Semaphore loading;
     private final Neptune plugin;
 
     public ProfileService() {
         this.plugin = Neptune.get();
+        this.loading = new Semaphore(Math.max(1, SettingsLocale.PROFILE_LOAD_CONCURRENCY.getInt()));
     }
 
     public static ProfileService get() {
@@ -32,6 +46,74 @@ public class ProfileService implements IProfileService {
                 .thenAccept(profile -> profiles.put(player.getUniqueId(), profile));
     }
 
+    /**
+     * Loads the profile of a logging in player, blocking the calling login thread for at most the load timeout.
+     * Returns false if the profile could not be loaded in time, it is then loaded after joining instead.
+     */
+    public boolean preload(String name, UUID uuid) {
+        staged.remove(uuid);
+        sweepStaged();
+
+        // A player still online with this uuid is about to be kicked, their profile gets saved on quit
+        if (Bukkit.getPlayer(uuid) != null) return false;
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SettingsLocale.PROFILE_LOAD_TIMEOUT.getInt());
+
+        try {
+            if (!loading.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        CompletableFuture<Profile> future;
+        try {
+            future = Profile.create(name, uuid, plugin, false);
+        } catch (RuntimeException e) {
+            loading.release();
+            throw e;
+        }
+        // Released when the load is done rather than when this thread stops waiting, so the bound holds on timeouts
+        future.whenComplete((profile, throwable) -> loading.release());
+
+        try {
+            Profile profile = future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            staged.put(uuid, new Staged(profile, System.nanoTime()));
+            return true;
+        } catch (TimeoutException e) {
+            ServerUtils.error("Loading the profile of " + name + " timed out, loading it after join instead");
+            return false;
+        } catch (ExecutionException e) {
+            ServerUtils.error("Failed to load the profile of " + name + ": " + e.getCause().getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public Profile attach(Player player) {
+        Staged entry = staged.remove(player.getUniqueId());
+        if (entry == null) return null;
+
+        Profile profile = entry.profile();
+        profile.setUsername(player.getName());
+        profiles.put(player.getUniqueId(), profile);
+        return profile;
+    }
+
+    public void discard(UUID uuid) {
+        staged.remove(uuid);
+    }
+
+    /**
+     * Drops staged profiles of players whose login was denied later on or who never joined.
+     */
+    public void sweepStaged() {
+        long now = System.nanoTime();
+        staged.values().removeIf(entry -> now - entry.stagedAt() > STAGED_TTL);
+    }
+
     public CompletableFuture<Profile> createProfile(UUID uuid) {
         return Profile.create("username", uuid, plugin, true).thenApply(profile -> profile);
     }
@@ -42,14 +124,35 @@ public class ProfileService implements IProfileService {
         profile.disband();
 
         Profile.save(profile);
+        OfflineProfileCache.get().invalidate(playerUUID);
 
         profiles.remove(playerUUID);
     }
 
-    public void saveAll() {
+    public CompletableFuture<Void> saveAll() {
         for (Profile profile : profiles.values()) {
             Profile.save(profile);
         }
+        return ProfileWriteQueue.get().flush();
+    }
+
+    /**
+     * Saves every loaded profile and waits for the writes, bounded by the configured shutdown timeout.
+     */
+    public void shutdown() {
+        long start = System.currentTimeMillis();
+        ProfileWriteQueue.ShutdownReport report = ProfileWriteQueue.get().shutdown(
+                profiles.values(),
+                Math.max(1, SettingsLocale.DATABASE_SHUTDOWN_BATCH_SIZE.getInt()),
+                SettingsLocale.DATABASE_SHUTDOWN_CONCURRENCY.getInt(),
+                SettingsLocale.DATABASE_SHUTDOWN_TIMEOUT.getInt());
+
+        ServerUtils.info("Saved " + report.persisted() + "/" + report.total() + " profiles in "
+                + (System.currentTimeMillis() - start) + "ms");
+        if (report.failed() > 0 || report.timedOut() > 0) {
+            ServerUtils.error(report.failed() + " profiles failed and " + report.timedOut()
+                    + " timed out while saving, their match results are kept in the stat journal");
+        }
     }
 
     public Profile getByUUID(UUID playerUUID) {
@@ -72,8 +175,13 @@ public class ProfileService implements IProfileService {
 
     public CompletableFuture<Profile> _getProfile(UUID uuid) {
         Profile profile = getByUUID(uuid);
-        return (profile != null)
-                ? CompletableFuture.completedFuture(profile)
-                : createProfile(uuid).thenApply(p -> p);
+        if (profile != null) {
+            OfflineProfileCache.get().online();
+            return CompletableFuture.completedFuture(profile);
+        }
+        return OfflineProfileCache.get().get(uuid);
+    }
+
+    private record Staged(Profile profile, long stagedAt) {
     }
 }
@@ -0,0 +1,209 @@
+package dev.lrxh.neptune.profile;
+
+import dev.lrxh.neptune.profile.impl.Profile;
+import dev.lrxh.neptune.providers.database.DatabaseService;
+import dev.lrxh.neptune.providers.database.impl.DataDocument;
+import dev.lrxh.neptune.utils.ServerUtils;
+import dev.lrxh.neptune.utils.timings.TimingService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ProfileWriteQueue {
+    private static ProfileWriteQueue instance;
+    private final Map<UUID, Profile> pending = new LinkedHashMap<>();
+    private final AtomicLong written = new AtomicLong();
+    private CompletableFuture<Void> next = new CompletableFuture<>();
+    private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+    public static ProfileWriteQueue get() {
+        if (instance == null) instance = new ProfileWriteQueue();
+
+        return instance;
+    }
+
+    /**
+     * Schedules the profile for the next flush, repeated calls for the same player are coalesced.
+     * The returned future completes once that flush has been written.
+     */
+    public synchronized CompletableFuture<Void> queue(Profile profile) {
+        pending.put(profile.getPlayerUUID(), profile);
+        return next;
+    }
+
+    public synchronized boolean isPending(UUID playerUUID) {
+        return pending.containsKey(playerUUID);
+    }
+
+    public synchronized int getPending() {
+        return pending.size();
+    }
+
+    /**
+     * How many profile documents were written to the database since startup.
+     */
+    public long getWritten() {
+        return written.get();
+    }
+
+    /**
+     * Completes once every write queued for the player so far has reached the database.
+     */
+    public synchronized CompletableFuture<Void> await(UUID playerUUID) {
+        return pending.containsKey(playerUUID) ? flush() : tail;
+    }
+
+    public synchronized CompletableFuture<Void> flush() {
+        CompletableFuture<Void> done = next;
+        next = new CompletableFuture<>();
+
+        if (!pending.isEmpty()) {
+            List<Profile> batch = new ArrayList<>(pending.values());
+            pending.clear();
+            tail = tail.thenCompose(ignored -> write(batch));
+        }
+
+        tail.whenComplete((ignored, throwable) -> done.complete(null));
+        return done;
+    }
+
+    /**
+     * Writes the given and all pending profiles in parallel batches and blocks until every batch finished
+     * or the timeout passed. Meant for shutdown, when no later flush would pick up what is left.
+     */
+    public ShutdownReport shutdown(Collection<Profile> profiles, int batchSize, int concurrency, long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        CompletableFuture<Void> inFlight;
+        synchronized (this) {
+            inFlight = tail;
+        }
+        // A running flush requeues its profiles when it fails, so it has to finish before pending is taken
+        if (!await(inFlight, deadline)) {
+            ServerUtils.error("A profile flush was still running when shutting down");
+        }
+
+        Map<UUID, Profile> remaining;
+        synchronized (this) {
+            remaining = new LinkedHashMap<>(pending);
+            pending.clear();
+        }
+        for (Profile profile : profiles) {
+            remaining.putIfAbsent(profile.getPlayerUUID(), profile);
+        }
+
+        List<Profile> dirty = new ArrayList<>();
+        for (Profile profile : remaining.values()) {
+            if (profile.isDirty()) dirty.add(profile);
+        }
+
+        long journalPosition = StatJournal.get().getPosition();
+        Semaphore permits = new Semaphore(Math.max(1, concurrency));
+        Set<UUID> persisted = ConcurrentHashMap.newKeySet();
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+
+        for (int i = 0; i < dirty.size(); i += batchSize) {
+            List<Profile> batch = dirty.subList(i, Math.min(i + batchSize, dirty.size()));
+
+            try {
+                if (!permits.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            Map<UUID, DataDocument> documents = new LinkedHashMap<>();
+            for (Profile profile : batch) {
+                documents.put(profile.getPlayerUUID(), profile.toDocument());
+            }
+
+            writes.add(DatabaseService.get().getDatabase().replaceAll(documents).handle((ignored, throwable) -> {
+                permits.release();
+                if (throwable != null) {
+                    failed.addAndGet(documents.size());
+                    ServerUtils.error("Failed to save " + documents.size() + " profiles while shutting down: " + throwable.getMessage());
+                } else {
+                    persisted.addAll(documents.keySet());
+                    written.addAndGet(documents.size());
+                }
+                return null;
+            }));
+        }
+
+        await(CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])), deadline);
+
+        StatJournal.get().confirm(persisted, journalPosition);
+
+        int written = persisted.size();
+        int errors = failed.get();
+        return new ShutdownReport(dirty.size(), written, errors, dirty.size() - written - errors);
+    }
+
+    private boolean await(CompletableFuture<?> future, long deadline) {
+        try {
+            future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        }
+    }
+
+    private CompletableFuture<Void> write(List<Profile> batch) {
+        long journalPosition = StatJournal.get().getPosition();
+        long started = System.nanoTime();
+
+        return CompletableFuture.supplyAsync(() -> {
+                    Map<UUID, DataDocument> documents = new LinkedHashMap<>();
+                    for (Profile profile : batch) {
+                        if (profile.isDirty()) documents.put(profile.getPlayerUUID(), profile.toDocument());
+                    }
+                    return documents;
+                }, DatabaseService.get().getExecutor())
+                .thenCompose(documents -> documents.isEmpty()
+                        ? CompletableFuture.<Void>completedFuture(null)
+                        : DatabaseService.get().getDatabase().replaceAll(documents)
+                        .thenRun(() -> written.addAndGet(documents.size())))
+                .thenRun(() -> {
+                    // Profiles of the batch that were not dirty anymore were written by an earlier batch
+                    List<UUID> confirmed = new ArrayList<>(batch.size());
+                    for (Profile profile : batch) {
+                        confirmed.add(profile.getPlayerUUID());
+                    }
+                    StatJournal.get().confirm(confirmed, journalPosition);
+
+                    if (TimingService.get().isEnabled()) {
+                        TimingService.get().timing("database:profile-write").record(System.nanoTime() - started, 0);
+                    }
+                })
+                .exceptionally(throwable -> {
+                    ServerUtils.error("Failed to save " + batch.size() + " profiles, retrying on the next flush: " + throwable.getMessage());
+                    for (Profile profile : batch) {
+                        profile.markDirty();
+                        queue(profile);
+                    }
+                    return null;
+                });
+    }
+
+    public record ShutdownReport(int total, int persisted, int failed, int timedOut) {
+    }
+}
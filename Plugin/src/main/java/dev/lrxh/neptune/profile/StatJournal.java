@@ -0,0 +1,475 @@
+package dev.lrxh.neptune.profile;
+
+import dev.lrxh.neptune.Neptune;
+import dev.lrxh.neptune.configs.impl.SettingsLocale;
+import dev.lrxh.neptune.game.kit.Kit;
+import dev.lrxh.neptune.profile.data.KitData;
+import dev.lrxh.neptune.profile.impl.Profile;
+import dev.lrxh.neptune.providers.database.DatabaseService;
+import dev.lrxh.neptune.providers.database.impl.DataDocument;
+import dev.lrxh.neptune.providers.database.impl.IDatabase;
+import dev.lrxh.neptune.utils.ServerUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-mapped append-only journal of match results, written when a match ends and trimmed once the
+ * affected profiles were confirmed written to the database. Records left over after a crash are replayed
+ * into the database on startup, retried on every flush while the database can't take them, and applied to
+ * profiles loaded in the meantime.
+ * <p>
+ * Every record carries the stats of the kit after the match next to the delta, so replaying a record
+ * that already reached the database is harmless.
+ * <p>
+ * When the file is full it is compacted or grown. Records that still don't fit are kept in memory until
+ * they are saved or there is room again, records always reach the file in the order they were made.
+ */
+public class StatJournal {
+    private static final int MAGIC = 0x4E50544A;
+    private static final int VERSION = 1;
+    // magic, version and the live region packed into one long so it is updated in a single write
+    private static final int HEADER = 16;
+    private static StatJournal instance;
+    // every record that is not confirmed yet, oldest first
+    private final Deque<Pending> pending = new ArrayDeque<>();
+    // newest position confirmed for each player that still has pending records
+    private final Map<UUID, Long> confirmed = new HashMap<>();
+    private final Map<UUID, Integer> pendingCounts = new HashMap<>();
+    // results of the previous run that didn't reach the database yet, latest per kit
+    private final Map<UUID, Map<String, Entry>> unreplayed = new LinkedHashMap<>();
+    // players whose unreplayed results went into a loaded profile, with the position its save has to cover
+    private final Map<UUID, Long> handedOver = new HashMap<>();
+    // stands for the records of the previous run at the head of pending, until all of them are replayed
+    private Pending replayRegion;
+    private boolean replaying;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int start;
+    private int end;
+    // added to physical offsets so offsets of pending records stay valid when the live region moves
+    private long shift;
+    private long sequence;
+    private int overflowed;
+
+    public static StatJournal get() {
+        if (instance == null) instance = new StatJournal();
+
+        return instance;
+    }
+
+    public synchronized void load() {
+        File file = new File(Neptune.get().getDataFolder(), "stats.journal");
+        try {
+            channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long capacity = Math.max(SettingsLocale.DATABASE_JOURNAL_SIZE.getInt() * 1024L, channel.size());
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(capacity, 64 * 1024));
+        } catch (IOException e) {
+            ServerUtils.error("Failed to open the stat journal, match results are only kept in memory until saved: " + e.getMessage());
+            buffer = null;
+            return;
+        }
+
+        start = HEADER;
+        end = HEADER;
+
+        if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION) {
+            long bounds = buffer.getLong(8);
+            int storedStart = (int) (bounds >>> 32);
+            int storedEnd = (int) bounds;
+
+            if (storedStart >= HEADER && storedStart <= storedEnd && storedEnd <= buffer.capacity()) {
+                start = storedStart;
+                end = storedEnd;
+            }
+        } else {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            writeBounds();
+        }
+
+        if (start < end) {
+            replay();
+            retryReplay();
+        }
+    }
+
+    /**
+     * Appends the result of a finished match, must be called after the stats of the profile were updated.
+     */
+    public synchronized void record(Profile profile, Kit kit, boolean won, int eloChange) {
+        if (buffer == null) return;
+
+        KitData kitData = profile.getGameData().get(kit);
+        byte[] kitName = kit.getName().getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer payload = ByteBuffer.allocate(16 + 2 + kitName.length + 1 + 4 * 6);
+        payload.putLong(profile.getPlayerUUID().getMostSignificantBits());
+        payload.putLong(profile.getPlayerUUID().getLeastSignificantBits());
+        payload.putShort((short) kitName.length);
+        payload.put(kitName);
+        payload.put((byte) (won ? 1 : 0));
+        payload.putInt(eloChange);
+        payload.putInt(kitData.getElo());
+        payload.putInt(kitData.getKills());
+        payload.putInt(kitData.getDeaths());
+        payload.putInt(kitData.getCurrentStreak());
+        payload.putInt(kitData.getBestStreak());
+
+        CRC32 crc = new CRC32();
+        crc.update(payload.array());
+
+        ByteBuffer record = ByteBuffer.allocate(4 + payload.capacity() + 4);
+        record.putInt(payload.capacity());
+        record.put(payload.array());
+        record.putInt((int) crc.getValue());
+
+        Pending entry = new Pending(++sequence, profile.getPlayerUUID(), record.array());
+        pending.add(entry);
+        pendingCounts.merge(entry.playerUUID, 1, Integer::sum);
+        overflowed++;
+
+        if (!drain()) {
+            ServerUtils.error("Stat journal is full and can't grow, keeping " + overflowed
+                    + " match results in memory until they are saved. Raise DATABASE.JOURNAL_MAX_SIZE if this keeps happening.");
+            ProfileWriteQueue.get().flush();
+        }
+    }
+
+    /**
+     * Position of the newest record, records up to it are covered by documents built afterwards.
+     */
+    public synchronized long getPosition() {
+        return sequence;
+    }
+
+    /**
+     * Marks the records of the players that were made up to the given position as written to the database.
+     */
+    public synchronized void confirm(Collection<UUID> playerUUIDs, long position) {
+        if (buffer == null) return;
+
+        for (UUID playerUUID : playerUUIDs) {
+            if (pendingCounts.containsKey(playerUUID)) confirmed.merge(playerUUID, position, Math::max);
+
+            Long handedOverAt = handedOver.get(playerUUID);
+            if (handedOverAt != null && handedOverAt <= position) {
+                handedOver.remove(playerUUID);
+                unreplayed.remove(playerUUID);
+            }
+        }
+
+        if (replayRegion != null && unreplayed.isEmpty()) finishReplay();
+        trim();
+    }
+
+    /**
+     * Applies the unreplayed results of a player to their profile document as it is loaded, they are
+     * dropped once a save of that profile is confirmed. Returns whether there were any.
+     */
+    public synchronized boolean handOver(UUID playerUUID, DataDocument document) {
+        Map<String, Entry> entries = unreplayed.get(playerUUID);
+        if (entries == null) return false;
+
+        apply(document, entries);
+        handedOver.put(playerUUID, ++sequence);
+        return true;
+    }
+
+    /**
+     * Writes the results of the previous run that didn't reach the database yet, skipping players whose
+     * profile is loaded since their own save covers them. Does nothing while an attempt is running.
+     */
+    public void retryReplay() {
+        Map<UUID, Map<String, Entry>> round = new LinkedHashMap<>();
+        synchronized (this) {
+            if (buffer == null || replaying || unreplayed.isEmpty()) return;
+
+            for (Map.Entry<UUID, Map<String, Entry>> player : unreplayed.entrySet()) {
+                if (!handedOver.containsKey(player.getKey())) round.put(player.getKey(), player.getValue());
+            }
+            if (round.isEmpty()) return;
+            replaying = true;
+        }
+
+        IDatabase database = DatabaseService.get().getDatabase();
+        Map<UUID, CompletableFuture<DataDocument>> reads = new LinkedHashMap<>();
+        for (UUID playerUUID : round.keySet()) {
+            reads.put(playerUUID, database.getUserData(playerUUID));
+        }
+
+        CompletableFuture.allOf(reads.values().toArray(new CompletableFuture[0]))
+                .handle((ignored, throwable) -> null)
+                .thenCompose(ignored -> {
+                    Map<UUID, DataDocument> documents = new LinkedHashMap<>();
+                    Set<UUID> absent = new HashSet<>();
+
+                    for (Map.Entry<UUID, CompletableFuture<DataDocument>> read : reads.entrySet()) {
+                        if (read.getValue().isCompletedExceptionally()) continue;
+
+                        DataDocument document = read.getValue().join();
+                        if (document == null) {
+                            absent.add(read.getKey());
+                            continue;
+                        }
+
+                        apply(document, round.get(read.getKey()));
+                        documents.put(read.getKey(), document);
+                    }
+
+                    CompletableFuture<Void> write = documents.isEmpty()
+                            ? CompletableFuture.completedFuture(null) : database.replaceAll(documents);
+                    return write.handle((written, throwable) -> {
+                        finishRound(round.size(), throwable == null ? documents.keySet() : Set.of(), absent, throwable);
+                        return null;
+                    });
+                });
+    }
+
+    private synchronized void finishRound(int players, Set<UUID> written, Set<UUID> absent, Throwable throwable) {
+        replaying = false;
+
+        for (UUID playerUUID : written) {
+            unreplayed.remove(playerUUID);
+            handedOver.remove(playerUUID);
+        }
+        for (UUID playerUUID : absent) {
+            if (handedOver.containsKey(playerUUID)) continue;
+
+            ServerUtils.error("Skipping journaled results of " + playerUUID + ", the player has no saved profile");
+            unreplayed.remove(playerUUID);
+        }
+
+        int failed = players - written.size() - absent.size();
+        if (failed > 0) {
+            ServerUtils.error("Failed to replay the journaled match results of " + failed + " players, retrying on the next flush"
+                    + (throwable != null ? ": " + throwable.getMessage() : ""));
+        } else if (!written.isEmpty()) {
+            ServerUtils.info("Replayed the journaled match results of " + written.size() + " players");
+        }
+
+        if (replayRegion != null && unreplayed.isEmpty()) {
+            finishReplay();
+            trim();
+        }
+    }
+
+    private void finishReplay() {
+        pending.remove(replayRegion);
+        replayRegion = null;
+        handedOver.clear();
+    }
+
+    /**
+     * Drops confirmed records from the head of the journal, stopping at the first one that isn't.
+     */
+    private void trim() {
+        while (!pending.isEmpty()) {
+            Pending head = pending.peekFirst();
+            if (head == replayRegion) break;
+
+            Long upTo = confirmed.get(head.playerUUID);
+            if (upTo == null || upTo < head.sequence) break;
+
+            pending.pollFirst();
+            if (head.record != null) overflowed--;
+            if (pendingCounts.merge(head.playerUUID, -1, Integer::sum) == 0) {
+                pendingCounts.remove(head.playerUUID);
+                confirmed.remove(head.playerUUID);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            shift += end - HEADER;
+            start = HEADER;
+            end = HEADER;
+            writeBounds();
+            return;
+        }
+
+        // Records in memory are always newer than the ones in the file
+        Pending oldest = pending.peekFirst();
+        int physical = oldest.record == null ? (int) (oldest.offset - shift) : end;
+        if (physical > start) {
+            start = physical;
+            writeBounds();
+        }
+
+        if (overflowed > 0) drain();
+    }
+
+    public synchronized void close() {
+        if (buffer == null) return;
+
+        if (overflowed > 0 && !drain()) {
+            // Nothing is left to keep them, so at least leave enough in the log to restore them by hand
+            for (Pending entry : pending) {
+                if (entry.record == null) continue;
+
+                Entry lost = Entry.read(ByteBuffer.wrap(entry.record, 4, entry.record.length - 8).slice());
+                ServerUtils.error("Lost unsaved match result: " + lost);
+            }
+        }
+
+        buffer.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            ServerUtils.error("Failed to close the stat journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the records kept in memory to the file in order, returns false if some still don't fit.
+     */
+    private boolean drain() {
+        for (Pending entry : pending) {
+            if (entry.record == null) continue;
+
+            int size = entry.record.length;
+            if (end + size > buffer.capacity() && !compact(size) && !grow(end + size)) return false;
+
+            entry.offset = end + shift;
+            buffer.put(end, entry.record);
+            end += size;
+            entry.record = null;
+            overflowed--;
+        }
+
+        writeBounds();
+        return true;
+    }
+
+    /**
+     * Remaps the file with more room, up to the configured maximum size.
+     */
+    private boolean grow(long required) {
+        long max = Math.min(Integer.MAX_VALUE, Math.max(SettingsLocale.DATABASE_JOURNAL_MAX_SIZE.getInt() * 1024L, buffer.capacity()));
+        long capacity = Math.min(Math.max(buffer.capacity() * 2L, required), max);
+        if (capacity < required) return false;
+
+        try {
+            buffer.force();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            ServerUtils.error("Failed to grow the stat journal: " + e.getMessage());
+            return false;
+        }
+
+        ServerUtils.info("Stat journal grew to " + capacity / 1024 + "KB, profiles are saved slower than matches end");
+        return true;
+    }
+
+    /**
+     * Moves the live records to the front of the file. Only done when the copy can't overlap the
+     * records it is copied from, so the old region stays intact until the bounds point at the new one.
+     */
+    private boolean compact(int size) {
+        int live = end - start;
+        if (start == HEADER || live > start - HEADER) return false;
+
+        buffer.put(HEADER, buffer, start, live);
+        shift += start - HEADER;
+        start = HEADER;
+        end = HEADER + live;
+        writeBounds();
+
+        return end + size <= buffer.capacity();
+    }
+
+    private void writeBounds() {
+        buffer.putLong(8, ((long) start << 32) | (end & 0xFFFFFFFFL));
+    }
+
+    private void replay() {
+        int position = start;
+        int records = 0;
+
+        while (position + 8 <= end) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + 8 + length > end) break;
+
+            byte[] payload = new byte[length];
+            buffer.get(position + 4, payload);
+
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(position + 4 + length)) break;
+
+            Entry entry = Entry.read(ByteBuffer.wrap(payload));
+            unreplayed.computeIfAbsent(entry.playerUUID(), uuid -> new HashMap<>()).put(entry.kit(), entry);
+
+            position += 8 + length;
+            records++;
+        }
+
+        // A torn record at the end is cut off, new records are appended after the intact ones
+        end = position;
+
+        if (records == 0) {
+            start = HEADER;
+            end = HEADER;
+            writeBounds();
+            return;
+        }
+        writeBounds();
+
+        // The file keeps these records until every player was written or found to have no profile
+        replayRegion = new Pending(0, null, null);
+        replayRegion.offset = start + shift;
+        pending.add(replayRegion);
+
+        ServerUtils.info("Replaying " + records + " journaled match results of " + unreplayed.size() + " players...");
+    }
+
+    private static void apply(DataDocument document, Map<String, Entry> entries) {
+        DataDocument kitData = document.getDataDocument("kitData");
+        for (Entry entry : entries.values()) {
+            entry.apply(kitData.getDataDocument(entry.kit()));
+        }
+    }
+
+    private static final class Pending {
+        private final long sequence;
+        private final UUID playerUUID;
+        // logical offset in the file, or the encoded record while it is only kept in memory
+        private long offset = -1;
+        private byte[] record;
+
+        private Pending(long sequence, UUID playerUUID, byte[] record) {
+            this.sequence = sequence;
+            this.playerUUID = playerUUID;
+            this.record = record;
+        }
+    }
+
+    private record Entry(UUID playerUUID, String kit, boolean won, int eloChange, int elo, int wins, int losses,
+                         int currentStreak, int bestStreak) {
+
+        private static Entry read(ByteBuffer payload) {
+            UUID playerUUID = new UUID(payload.getLong(), payload.getLong());
+            byte[] kitName = new byte[payload.getShort()];
+            payload.get(kitName);
+
+            return new Entry(playerUUID, new String(kitName, StandardCharsets.UTF_8), payload.get() == 1,
+                    payload.getInt(), payload.getInt(), payload.getInt(), payload.getInt(), payload.getInt(), payload.getInt());
+        }
+
+        private void apply(DataDocument stats) {
+            stats.put("ELO", elo);
+            stats.put("WINS", wins);
+            stats.put("LOSSES", losses);
+            stats.put("WIN_STREAK_CURRENT", currentStreak);
+            stats.put("WIN_STREAK_BEST", bestStreak);
+        }
+    }
+}
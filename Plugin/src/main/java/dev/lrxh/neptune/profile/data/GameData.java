@@ -10,6 +10,7 @@ import dev.lrxh.neptune.feature.party.Party;
 import dev.lrxh.neptune.game.kit.Kit;
 import dev.lrxh.neptune.game.kit.KitService;
 import dev.lrxh.neptune.game.match.Match;
+import dev.lrxh.neptune.profile.MatchHistoryStore;
 import dev.lrxh.neptune.profile.impl.Profile;
 import dev.lrxh.neptune.providers.request.Request;
 import dev.lrxh.neptune.utils.TtlAction;
@@ -39,6 +40,7 @@ public class GameData implements IGameData {
 
     private HashMap<String, Object> customData = new HashMap<>();
     private HashMap<String, Object> persistentData = new HashMap<>();
+    private volatile boolean dirty;
 
     public GameData(Profile profile) {
         this.kitData = new HashMap<>();
@@ -78,6 +80,12 @@ public class GameData implements IGameData {
     @Override
     public void setPersistentData(String key, Object value) {
         persistentData.put(key, value);
+        dirty = true;
+    }
+
+    public void setLastPlayedKit(String lastPlayedKit) {
+        this.lastPlayedKit = lastPlayedKit;
+        dirty = true;
     }
 
     @Override
@@ -90,7 +98,7 @@ public class GameData implements IGameData {
     }
 
     public boolean run(Kit kit, boolean won) {
-        lastPlayedKit = kit.getName();
+        setLastPlayedKit(kit.getName());
         KitData kitData = this.kitData.get(kit);
 
         boolean value = false;
@@ -140,18 +148,6 @@ public class GameData implements IGameData {
         requests.remove(playerUUID);
     }
 
-    public List<String> serializeHistory() {
-        if (matchHistories.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        ArrayList<String> serialized = new ArrayList<>();
-        for (MatchHistory matchHistory : matchHistories) {
-            serialized.add(serialize(matchHistory));
-        }
-        return serialized;
-    }
-
     public ArrayList<MatchHistory> deserializeHistory(List<String> historySerialized) {
         if (historySerialized == null || historySerialized.isEmpty()) {
             return new ArrayList<>();
@@ -165,16 +161,12 @@ public class GameData implements IGameData {
     }
 
     public void addHistory(MatchHistory matchHistory) {
-        if (matchHistories.size() >= 7) {
+        if (matchHistories.size() >= MatchHistoryStore.RECENT) {
             matchHistories.remove(0);
         }
         matchHistories.add(matchHistory);
     }
 
-    private String serialize(MatchHistory matchHistory) {
-        return gson.toJson(matchHistory);
-    }
-
     private MatchHistory deserialize(String serialized) {
         return gson.fromJson(serialized, MatchHistory.class);
     }
@@ -3,6 +3,9 @@ package dev.lrxh.neptune.profile.data;
 import dev.lrxh.api.data.IKitData;
 import dev.lrxh.neptune.feature.divisions.DivisionService;
 import dev.lrxh.neptune.feature.divisions.impl.Division;
+import dev.lrxh.neptune.game.kit.Kit;
+import dev.lrxh.neptune.utils.LoadoutCodec;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.inventory.ItemStack;
@@ -21,11 +24,58 @@ public class KitData implements IKitData {
     private int deaths = 0;
     private int bestStreak = 0;
     private int currentStreak = 0;
-    private List<ItemStack> kitLoadout = new ArrayList<>();
+    private volatile List<ItemStack> kitLoadout = new ArrayList<>();
     private Division division;
     private int elo = 0;
     private HashMap<String, Object> customData = new HashMap<>();
     private HashMap<String, Object> persistentData = new HashMap<>();
+    private volatile boolean dirty;
+    // Filled on the database thread while the main thread swaps loadouts, so it names the list it encodes
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile EncodedLoadout serializedLoadout;
+
+    public void setKills(int kills) {
+        this.kills = kills;
+        dirty = true;
+    }
+
+    public void setDeaths(int deaths) {
+        this.deaths = deaths;
+        dirty = true;
+    }
+
+    public void setBestStreak(int bestStreak) {
+        this.bestStreak = bestStreak;
+        dirty = true;
+    }
+
+    public void setCurrentStreak(int currentStreak) {
+        this.currentStreak = currentStreak;
+        dirty = true;
+    }
+
+    public void setElo(int elo) {
+        this.elo = elo;
+        dirty = true;
+    }
+
+    public void setKitLoadout(List<ItemStack> kitLoadout) {
+        this.kitLoadout = kitLoadout;
+        dirty = true;
+    }
+
+    public String getSerializedLoadout(Kit kit) {
+        List<ItemStack> source = kitLoadout;
+        if (source == null || source.isEmpty()) return "";
+
+        EncodedLoadout cached = serializedLoadout;
+        if (cached != null && cached.source() == source && cached.base() == kit.getItems()) return cached.encoded();
+
+        String encoded = LoadoutCodec.encode(source, kit.getItems());
+        serializedLoadout = new EncodedLoadout(source, kit.getItems(), encoded);
+        return encoded;
+    }
 
     public double getKdr() {
         if (deaths == 0) return kills;
@@ -48,6 +98,7 @@ public class KitData implements IKitData {
     @Override
     public void setPersistentData(String key, Object value) {
         persistentData.put(key, value);
+        dirty = true;
     }
 
     @Override
@@ -93,6 +144,7 @@ public class KitData implements IKitData {
         elo += change;
 
         if (elo < 0) elo = 0;
+        dirty = true;
 
         return updateDivision();
     }
@@ -112,5 +164,7 @@ public class KitData implements IKitData {
 
         return newDivision > previousDivision;
     }
-}
 
+    private record EncodedLoadout(List<ItemStack> source, List<ItemStack> base, String encoded) {
+    }
+}
@@ -24,20 +24,63 @@ public class SettingData {
     private boolean menuSound = true;
     private KillMessagePackage killMessagePackage;
     private List<UUID> followings = new ArrayList<>();
+    private volatile boolean dirty;
 
     public SettingData(Neptune plugin) {
         this.plugin = plugin;
         this.killMessagePackage = CosmeticService.get().getDefault();
     }
 
+    public void setPlayerVisibility(boolean playerVisibility) {
+        this.playerVisibility = playerVisibility;
+        dirty = true;
+    }
+
+    public void setAllowSpectators(boolean allowSpectators) {
+        this.allowSpectators = allowSpectators;
+        dirty = true;
+    }
+
+    public void setAllowDuels(boolean allowDuels) {
+        this.allowDuels = allowDuels;
+        dirty = true;
+    }
+
+    public void setAllowParty(boolean allowParty) {
+        this.allowParty = allowParty;
+        dirty = true;
+    }
+
+    public void setMaxPing(int maxPing) {
+        this.maxPing = maxPing;
+        dirty = true;
+    }
+
+    public void setKillEffect(KillEffect killEffect) {
+        this.killEffect = killEffect;
+        dirty = true;
+    }
+
+    public void setMenuSound(boolean menuSound) {
+        this.menuSound = menuSound;
+        dirty = true;
+    }
+
+    public void setKillMessagePackage(KillMessagePackage killMessagePackage) {
+        this.killMessagePackage = killMessagePackage;
+        dirty = true;
+    }
+
     public void increasePing() {
         if (maxPing == 350) return;
         maxPing += 10;
+        dirty = true;
     }
 
     public void decreasePing() {
         if (maxPing == 10) return;
         maxPing -= 10;
+        dirty = true;
     }
 
     public void addFollower(UUID follower) {
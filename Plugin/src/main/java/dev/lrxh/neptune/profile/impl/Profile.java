@@ -17,15 +17,20 @@ import dev.lrxh.neptune.game.kit.Kit;
 import dev.lrxh.neptune.game.kit.KitService;
 import dev.lrxh.neptune.game.kit.procedure.KitProcedure;
 import dev.lrxh.neptune.game.match.Match;
+import dev.lrxh.neptune.profile.MatchHistoryStore;
+import dev.lrxh.neptune.profile.ProfileWriteQueue;
+import dev.lrxh.neptune.profile.StatJournal;
 import dev.lrxh.neptune.profile.data.*;
 import dev.lrxh.neptune.providers.clickable.ClickableComponent;
 import dev.lrxh.neptune.providers.clickable.Replacement;
 import dev.lrxh.neptune.providers.database.DatabaseService;
 import dev.lrxh.neptune.providers.database.impl.DataDocument;
 import dev.lrxh.neptune.utils.Cooldown;
-import dev.lrxh.neptune.utils.ItemUtils;
+import dev.lrxh.neptune.utils.LoadoutCodec;
 import dev.lrxh.neptune.utils.PlayerUtil;
+import dev.lrxh.neptune.utils.ServerUtils;
 import dev.lrxh.neptune.utils.tasks.NeptuneRunnable;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import net.kyori.adventure.text.TextComponent;
@@ -52,6 +57,10 @@ public class Profile implements IProfile {
     private ArenaProcedure arenaProcedure;
     private KitProcedure kitProcedure;
     private boolean fake;
+    // Entries still stored inside the profile, written back on save until they reach the history store
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile List<String> legacyHistory = List.of();
 
     public Profile(String name, UUID uuid, Neptune plugin, boolean fake) {
         this.plugin = plugin;
@@ -73,135 +82,193 @@ public class Profile implements IProfile {
     }
 
     public static CompletableFuture<Profile> load(Profile profile) {
-        return DatabaseService.get().getDatabase().getUserData(profile.getPlayerUUID())
-                .thenApply(dataDocument -> {
+        return ProfileWriteQueue.get().await(profile.getPlayerUUID())
+                .thenCompose(ignored -> DatabaseService.get().getDatabase().getUserData(profile.getPlayerUUID()))
+                .thenCompose(dataDocument -> {
                     if (dataDocument == null) {
-                        save(profile);
-                        return profile;
-                    }
+                        // Results journaled before the first save of the profile went through
+                        DataDocument fresh = profile.serialize();
+                        if (StatJournal.get().handOver(profile.getPlayerUUID(), fresh)) profile.apply(fresh);
 
-                    GameData gameData = profile.getGameData();
-                    SettingData settingData = profile.getSettingData();
-
-                    gameData.setMatchHistories(
-                            gameData.deserializeHistory(dataDocument.getList("history", new ArrayList<>())));
-
-                    DataDocument kitStatistics = dataDocument.getDataDocument("kitData");
-                    DataDocument settings = dataDocument.getDataDocument("settings");
-
-                    for (Kit kit : KitService.get().kits) {
-                        DataDocument kitDocument = kitStatistics.getDataDocument(kit.getName());
-                        if (kitDocument == null)
-                            continue;
-
-                        KitData profileKitData = gameData.get(kit);
-                        profileKitData.setCurrentStreak(kitDocument.getInteger("WIN_STREAK_CURRENT", 0));
-                        profileKitData.setKills(kitDocument.getInteger("WINS", 0));
-                        profileKitData.setElo(kitDocument.getInteger("ELO", 0));
-                        profileKitData.setDivision(DivisionService.get().getDivisionByElo(profileKitData.getElo()));
-                        profileKitData.setDeaths(kitDocument.getInteger("LOSSES", 0));
-                        profileKitData.setBestStreak(kitDocument.getInteger("WIN_STREAK_BEST", 0));
-                        profileKitData.setKitLoadout(
-                                Objects.equals(kitDocument.getString("kit"), "")
-                                        ? kit.getItems()
-                                        : ItemUtils.deserialize(kitDocument.getString("kit")));
-
-                        DataDocument customPersistentData = kitDocument.getDataDocument("customPersistentData");
-                        if (customPersistentData != null) {
-                            for (String key : customPersistentData.data.keySet()) {
-                                profileKitData.setPersistentData(key, customPersistentData.data.get(key));
-                            }
-                        }
-
-                        profileKitData.updateDivision();
+                        profile.markDirty();
+                        save(profile);
+                        return CompletableFuture.completedFuture(null);
                     }
 
-                    gameData.setLastPlayedKit(kitStatistics.getString("lastPlayedKit", ""));
-
-                    settingData.setPlayerVisibility(settings.getBoolean("showPlayers", true));
-                    settingData.setAllowSpectators(settings.getBoolean("allowSpectators", true));
-                    settingData.setAllowDuels(settings.getBoolean("allowDuels", true));
-                    settingData.setAllowParty(settings.getBoolean("allowParty", true));
-                    settingData.setMaxPing(settings.getInteger("maxPing", 350));
-                    settingData.setKillEffect(KillEffect.valueOf(settings.getString("killEffect", "NONE")));
-                    settingData.setMenuSound(settings.getBoolean("menuSound", false));
-                    settingData.setKillMessagePackage(
-                            CosmeticService.get().getDeathMessagePackage(settings.getString("deathMessagePackage")));
-
-                    DataDocument globalCustomPersistentData = dataDocument.getDataDocument("customPersistentData");
-                    if (globalCustomPersistentData != null) {
-                        for (String key : globalCustomPersistentData.data.keySet()) {
-                            gameData.setPersistentData(key, globalCustomPersistentData.data.get(key));
-                        }
+                    boolean journaled = StatJournal.get().handOver(profile.getPlayerUUID(), dataDocument);
+                    profile.apply(dataDocument);
+                    profile.clearDirty();
+                    if (journaled) {
+                        profile.markDirty();
+                        save(profile);
                     }
 
-                    gameData.getGlobalStats().update();
-
+                    // History used to be stored inside the profile, it is moved to the history store once
+                    List<String> serializedHistory = List.copyOf(dataDocument.getList("history", new ArrayList<>()));
+                    List<MatchHistory> legacyHistory = profile.getGameData().deserializeHistory(serializedHistory);
+                    if (legacyHistory.isEmpty()) return CompletableFuture.completedFuture(null);
+
+                    profile.legacyHistory = serializedHistory;
+                    return MatchHistoryStore.get().migrate(profile.getPlayerUUID(), legacyHistory)
+                            .thenRun(() -> profile.legacyHistory = List.of())
+                            .exceptionally(throwable -> {
+                                ServerUtils.error("Failed to migrate the match history of " + profile.getUsername()
+                                        + ", it is kept in the profile until the next load: " + throwable.getMessage());
+                                return null;
+                            });
+                })
+                .thenCompose(ignored -> MatchHistoryStore.get().getRecent(profile.getPlayerUUID())
+                        .exceptionally(throwable -> new ArrayList<>()))
+                .thenApply(recent -> {
+                    profile.getGameData().setMatchHistories(new ArrayList<>(recent));
                     return profile;
                 });
     }
 
-    public static CompletableFuture<Void> save(Profile profile) {
-        return CompletableFuture.runAsync(() -> {
-            GameData gameData = profile.getGameData();
-            SettingData settingData = profile.getSettingData();
-
-            DataDocument dataDocument = new DataDocument();
-            dataDocument.put("uuid", profile.getPlayerUUID().toString());
-            dataDocument.put("username", profile.getUsername());
-
-            dataDocument.put("history", gameData.serializeHistory());
-
-            DataDocument kitStatsDoc = new DataDocument();
-
-            for (Kit kit : KitService.get().kits) {
-                DataDocument kitStatisticsDocument = new DataDocument();
-                KitData entry = gameData.get(kit);
-
-                kitStatisticsDocument.put("WIN_STREAK_CURRENT", entry.getCurrentStreak());
-                kitStatisticsDocument.put("WINS", entry.getKills());
-                kitStatisticsDocument.put("ELO", entry.getElo());
-                kitStatisticsDocument.put("LOSSES", entry.getDeaths());
-                kitStatisticsDocument.put("WIN_STREAK_BEST", entry.getBestStreak());
-                kitStatisticsDocument.put(
-                        "kit",
-                        (entry.getKitLoadout() == null || entry.getKitLoadout().isEmpty())
-                                ? ""
-                                : ItemUtils.serialize(entry.getKitLoadout()));
-
-                entry.updateDivision();
-
-                DataDocument customPersistentData = new DataDocument();
-                for (String key : entry.getPersistentData().keySet()) {
-                    customPersistentData.put(key, entry.getPersistentData().get(key));
+    private void apply(DataDocument dataDocument) {
+        DataDocument kitStatistics = dataDocument.getDataDocument("kitData");
+        DataDocument settings = dataDocument.getDataDocument("settings");
+
+        for (Kit kit : KitService.get().kits) {
+            DataDocument kitDocument = kitStatistics.getDataDocument(kit.getName());
+            if (kitDocument == null)
+                continue;
+
+            KitData profileKitData = gameData.get(kit);
+            profileKitData.setCurrentStreak(kitDocument.getInteger("WIN_STREAK_CURRENT", 0));
+            profileKitData.setKills(kitDocument.getInteger("WINS", 0));
+            profileKitData.setElo(kitDocument.getInteger("ELO", 0));
+            profileKitData.setDivision(DivisionService.get().getDivisionByElo(profileKitData.getElo()));
+            profileKitData.setDeaths(kitDocument.getInteger("LOSSES", 0));
+            profileKitData.setBestStreak(kitDocument.getInteger("WIN_STREAK_BEST", 0));
+            profileKitData.setKitLoadout(LoadoutCodec.decode(kitDocument.getString("kit"), kit.getItems()));
+
+            DataDocument customPersistentData = kitDocument.getDataDocument("customPersistentData");
+            if (customPersistentData != null) {
+                for (String key : customPersistentData.data.keySet()) {
+                    profileKitData.setPersistentData(key, customPersistentData.data.get(key));
                 }
-                kitStatisticsDocument.put("customPersistentData", customPersistentData);
+            }
 
-                kitStatsDoc.put(kit.getName(), kitStatisticsDocument);
+            profileKitData.updateDivision();
+        }
+
+        gameData.setLastPlayedKit(kitStatistics.getString("lastPlayedKit", ""));
+
+        settingData.setPlayerVisibility(settings.getBoolean("showPlayers", true));
+        settingData.setAllowSpectators(settings.getBoolean("allowSpectators", true));
+        settingData.setAllowDuels(settings.getBoolean("allowDuels", true));
+        settingData.setAllowParty(settings.getBoolean("allowParty", true));
+        settingData.setMaxPing(settings.getInteger("maxPing", 350));
+        settingData.setKillEffect(KillEffect.valueOf(settings.getString("killEffect", "NONE")));
+        settingData.setMenuSound(settings.getBoolean("menuSound", false));
+        settingData.setKillMessagePackage(
+                CosmeticService.get().getDeathMessagePackage(settings.getString("deathMessagePackage")));
+
+        DataDocument globalCustomPersistentData = dataDocument.getDataDocument("customPersistentData");
+        if (globalCustomPersistentData != null) {
+            for (String key : globalCustomPersistentData.data.keySet()) {
+                gameData.setPersistentData(key, globalCustomPersistentData.data.get(key));
             }
+        }
+
+        gameData.getGlobalStats().update();
+    }
+
+    public static CompletableFuture<Void> save(Profile profile) {
+        return ProfileWriteQueue.get().queue(profile);
+    }
+
+    public boolean isDirty() {
+        if (gameData.isDirty() || settingData.isDirty()) return true;
+
+        for (KitData kitData : gameData.getKitDataInternal().values()) {
+            if (kitData.isDirty()) return true;
+        }
+        return false;
+    }
+
+    public void markDirty() {
+        gameData.setDirty(true);
+    }
+
+    public void clearDirty() {
+        gameData.setDirty(false);
+        settingData.setDirty(false);
+        for (KitData kitData : gameData.getKitDataInternal().values()) {
+            kitData.setDirty(false);
+        }
+    }
+
+    public DataDocument toDocument() {
+        // Flags are cleared before reading so changes made while serializing are picked up by the next flush
+        clearDirty();
+        return serialize();
+    }
+
+    /**
+     * A separate profile holding the same data, changes to either don't reach the other.
+     */
+    public Profile copy() {
+        Profile copy = new Profile(username, playerUUID, plugin, true);
+        copy.apply(serialize());
+        copy.legacyHistory = legacyHistory;
+        copy.getGameData().setMatchHistories(new ArrayList<>(gameData.getMatchHistories()));
+        copy.clearDirty();
+        return copy;
+    }
 
-            kitStatsDoc.put("lastPlayedKit", gameData.getLastPlayedKit());
-            dataDocument.put("kitData", kitStatsDoc);
-
-            DataDocument settingsDoc = new DataDocument();
-            settingsDoc.put("showPlayers", settingData.isPlayerVisibility());
-            settingsDoc.put("allowSpectators", settingData.isAllowSpectators());
-            settingsDoc.put("allowDuels", settingData.isAllowDuels());
-            settingsDoc.put("allowParty", settingData.isAllowParty());
-            settingsDoc.put("maxPing", settingData.getMaxPing());
-            settingsDoc.put("killEffect", settingData.getKillEffect().toString());
-            settingsDoc.put("menuSound", settingData.isMenuSound());
-            settingsDoc.put("deathMessagePackage", settingData.getKillMessagePackage().getName());
-            dataDocument.put("settings", settingsDoc);
-
-            DataDocument globalCustomPersistentData = new DataDocument();
-            for (String key : gameData.getPersistentData().keySet()) {
-                globalCustomPersistentData.put(key, gameData.getPersistentData().get(key));
+    private DataDocument serialize() {
+        DataDocument dataDocument = new DataDocument();
+        dataDocument.put("uuid", playerUUID.toString());
+        dataDocument.put("username", username);
+        if (!legacyHistory.isEmpty()) dataDocument.put("history", legacyHistory);
+
+        DataDocument kitStatsDoc = new DataDocument();
+
+        for (Kit kit : KitService.get().kits) {
+            DataDocument kitStatisticsDocument = new DataDocument();
+            KitData entry = gameData.get(kit);
+
+            kitStatisticsDocument.put("WIN_STREAK_CURRENT", entry.getCurrentStreak());
+            kitStatisticsDocument.put("WINS", entry.getKills());
+            kitStatisticsDocument.put("ELO", entry.getElo());
+            kitStatisticsDocument.put("LOSSES", entry.getDeaths());
+            kitStatisticsDocument.put("WIN_STREAK_BEST", entry.getBestStreak());
+            kitStatisticsDocument.put("kit", entry.getSerializedLoadout(kit));
+
+            entry.updateDivision();
+
+            DataDocument customPersistentData = new DataDocument();
+            for (String key : entry.getPersistentData().keySet()) {
+                customPersistentData.put(key, entry.getPersistentData().get(key));
             }
-            dataDocument.put("customPersistentData", globalCustomPersistentData);
+            kitStatisticsDocument.put("customPersistentData", customPersistentData);
+
+            kitStatsDoc.put(kit.getName(), kitStatisticsDocument);
+        }
+
+        kitStatsDoc.put("lastPlayedKit", gameData.getLastPlayedKit());
+        dataDocument.put("kitData", kitStatsDoc);
+
+        DataDocument settingsDoc = new DataDocument();
+        settingsDoc.put("showPlayers", settingData.isPlayerVisibility());
+        settingsDoc.put("allowSpectators", settingData.isAllowSpectators());
+        settingsDoc.put("allowDuels", settingData.isAllowDuels());
+        settingsDoc.put("allowParty", settingData.isAllowParty());
+        settingsDoc.put("maxPing", settingData.getMaxPing());
+        settingsDoc.put("killEffect", settingData.getKillEffect().toString());
+        settingsDoc.put("menuSound", settingData.isMenuSound());
+        settingsDoc.put("deathMessagePackage", settingData.getKillMessagePackage().getName());
+        dataDocument.put("settings", settingsDoc);
+
+        DataDocument globalCustomPersistentData = new DataDocument();
+        for (String key : gameData.getPersistentData().keySet()) {
+            globalCustomPersistentData.put(key, gameData.getPersistentData().get(key));
+        }
+        dataDocument.put("customPersistentData", globalCustomPersistentData);
 
-            DatabaseService.get().getDatabase().replace(profile.getPlayerUUID(), dataDocument);
-        });
+        return dataDocument;
     }
 
     public void handleVisibility() {
@@ -212,7 +279,8 @@ public class Profile implements IProfile {
         state = profileState;
         customState = "";
         handleVisibility();
-        HotbarService.get().giveItems(getPlayer());
+        Player player = getPlayer();
+        if (player != null) HotbarService.get().giveItems(player);
     }
 
     @Override
@@ -338,7 +406,7 @@ public class Profile implements IProfile {
         gameData.addRequest(duelRequest, senderUUID,
                 ignore -> {
                     MessagesLocale.DUEL_EXPIRED.send(senderUUID, new Replacement("<player>", player.getName()));
-                    duelRequest.getArena().remove();
+                    duelRequest.getArena().release();
                 });
 
         TextComponent accept = new ClickableComponent(MessagesLocale.DUEL_ACCEPT.getString(),
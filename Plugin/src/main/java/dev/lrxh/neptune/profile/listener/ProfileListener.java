@@ -22,9 +22,12 @@ import dev.lrxh.neptune.utils.tasks.TaskScheduler;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
 import java.util.Arrays;
@@ -43,22 +46,52 @@ public class ProfileListener implements Listener {
         }
         event.joinMessage(null);
 
+        if (ProfileService.get().attach(player) != null) {
+            onLoad(player);
+            return;
+        }
+
         ProfileService.get().createProfile(player)
                 .thenAccept(unused -> TaskScheduler.get().startTask(new NeptuneRunnable() {
                     @Override
                     public void run() {
-                        PlayerUtil.teleportToSpawn(player.getUniqueId());
-
-                        if (!MessagesLocale.JOIN_MESSAGE.getString().equals("NONE")) {
-                            ServerUtils.broadcast(MessagesLocale.JOIN_MESSAGE,
-                                    new Replacement("<player>", player.getName()));
-                        }
-                        PlayerUtil.reset(player);
-                        HotbarService.get().giveItems(player);
+                        onLoad(player);
                     }
                 }));
     }
 
+    private void onLoad(Player player) {
+        PlayerUtil.teleportToSpawn(player.getUniqueId());
+
+        if (!MessagesLocale.JOIN_MESSAGE.getString().equals("NONE")) {
+            ServerUtils.broadcast(MessagesLocale.JOIN_MESSAGE,
+                    new Replacement("<player>", player.getName()));
+        }
+        PlayerUtil.reset(player);
+        HotbarService.get().giveItems(player);
+    }
+
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        ProfileService.get().preload(event.getName(), event.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLoginResult(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            ProfileService.get().discard(event.getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLogin(PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            ProfileService.get().discard(event.getPlayer().getUniqueId());
+        }
+    }
+
     @EventHandler
     public void onQuit(PlayerQuitEvent event) {
         event.quitMessage(null);
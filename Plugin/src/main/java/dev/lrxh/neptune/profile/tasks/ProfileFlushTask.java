@@ -0,0 +1,15 @@
+package dev.lrxh.neptune.profile.tasks;
+
+import dev.lrxh.neptune.profile.ProfileService;
+import dev.lrxh.neptune.profile.ProfileWriteQueue;
+import dev.lrxh.neptune.profile.StatJournal;
+import dev.lrxh.neptune.utils.tasks.NeptuneRunnable;
+
+public class ProfileFlushTask extends NeptuneRunnable {
+    @Override
+    public void run() {
+        ProfileWriteQueue.get().flush();
+        ProfileService.get().sweepStaged();
+        StatJournal.get().retryReplay();
+    }
+}
@@ -2,8 +2,11 @@ package dev.lrxh.neptune.providers.database;
 
 import dev.lrxh.neptune.Neptune;
 import dev.lrxh.neptune.configs.impl.SettingsLocale;
+import dev.lrxh.neptune.profile.ProfileWriteQueue;
 import dev.lrxh.neptune.providers.database.impl.DatabaseType;
 import dev.lrxh.neptune.providers.database.impl.IDatabase;
+import dev.lrxh.neptune.providers.database.impl.MeteredDatabase;
+import dev.lrxh.neptune.providers.metrics.MetricsService;
 import dev.lrxh.neptune.utils.ServerUtils;
 import lombok.Getter;
 import org.bukkit.Bukkit;
@@ -18,6 +21,8 @@ public class DatabaseService {
     private IDatabase database = null;
 
     public DatabaseService() {
+        instance = this;
+
         String uri = SettingsLocale.URI.getString();
         if (uri != null && (uri.isEmpty() || uri.equals("NONE")) &&
                 !SettingsLocale.DATABASE_TYPE.getString().equalsIgnoreCase("SQLITE")) {
@@ -26,10 +31,34 @@ public class DatabaseService {
         }
 
         try {
-            this.database = DatabaseType.valueOf(SettingsLocale.DATABASE_TYPE.getString()).getIDatabase().load();
+            this.database = new MeteredDatabase(DatabaseType.valueOf(SettingsLocale.DATABASE_TYPE.getString()).getIDatabase()).load();
         } catch (RuntimeException e) {
             ServerUtils.error("Unknown database type in settings.yml");
         }
+
+        registerMetrics();
+    }
+
+    /**
+     * Uses the given database instead of the configured one, for running the plugin's code headless.
+     */
+    public DatabaseService(IDatabase database) {
+        instance = this;
+        this.database = new MeteredDatabase(database).load();
+
+        registerMetrics();
+    }
+
+    private void registerMetrics() {
+        MetricsService.get().gauge("neptune_database_pending_writes", "Profiles waiting for the next flush.",
+                () -> ProfileWriteQueue.get().getPending());
+        MetricsService.get().gauge("neptune_database_profiles_written", "Profiles written to the database since startup.",
+                () -> ProfileWriteQueue.get().getWritten());
+    }
+
+    public void shutdown() {
+        if (database != null) database.close();
+        executor.shutdown();
     }
 
     public static DatabaseService get() {
@@ -64,6 +64,13 @@ public class DataDocument {
         return (int) value;
     }
 
+    public long getLong(String key, long defaultValue) {
+        Object value = data.get(key);
+        if (value == null) return defaultValue;
+
+        return ((Number) value).longValue();
+    }
+
     public boolean getBoolean(String key, boolean defaultValue) {
         Object value = data.get(key);
         if (value == null) return defaultValue;
@@ -5,7 +5,10 @@ import lombok.Getter;
 @Getter
 public enum DatabaseType {
     MONGO(new MongoDatabase()),
-    SQLITE(new SQLiteDatabase());
+    SQLITE(new SQLiteDatabase()),
+    MYSQL(new JdbcDatabase(JdbcDialect.MYSQL)),
+    MARIADB(new JdbcDatabase(JdbcDialect.MARIADB)),
+    POSTGRESQL(new JdbcDatabase(JdbcDialect.POSTGRESQL));
 
     private final IDatabase iDatabase;
 
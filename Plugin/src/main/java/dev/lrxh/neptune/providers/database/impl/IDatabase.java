@@ -3,6 +3,7 @@ package dev.lrxh.neptune.providers.database.impl;
 import dev.lrxh.neptune.configs.impl.SettingsLocale;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -12,11 +13,39 @@ public interface IDatabase {
 
     IDatabase load();
 
+    /**
+     * Completes with null only when the player has no saved profile, a failed read completes exceptionally.
+     */
     CompletableFuture<DataDocument> getUserData(UUID playerUUID);
 
     CompletableFuture<Void> replace(UUID playerUUID, DataDocument newDocument);
 
     CompletableFuture<Void> replace(String playerUUID, DataDocument newDocument);
 
+    CompletableFuture<Void> replaceAll(Map<UUID, DataDocument> documents);
+
     CompletableFuture<List<DataDocument>> getAllByKitType(String kitName, String type);
+
+    /**
+     * Stats of the kit for every player that has any, flattened next to their uuid and username.
+     */
+    CompletableFuture<List<DataDocument>> getKitStats(String kitName);
+
+    CompletableFuture<Void> appendHistory(UUID playerUUID, List<DataDocument> entries);
+
+    /**
+     * Appends the history that used to be stored inside the profile and removes it from there,
+     * safe to run again when an earlier attempt was cut short.
+     */
+    CompletableFuture<Void> migrateHistory(UUID playerUUID, List<DataDocument> entries);
+
+    /**
+     * Match history of the player, newest first.
+     */
+    CompletableFuture<List<DataDocument>> getHistory(UUID playerUUID, int offset, int limit);
+
+    /**
+     * Releases connections, called once every pending write has finished or was given up on.
+     */
+    void close();
 }
@@ -0,0 +1,123 @@
+package dev.lrxh.neptune.providers.database.impl;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import dev.lrxh.neptune.Neptune;
+import dev.lrxh.neptune.configs.impl.SettingsLocale;
+import dev.lrxh.neptune.providers.database.DatabaseService;
+import dev.lrxh.neptune.utils.ServerUtils;
+import org.bukkit.Bukkit;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+public class JdbcDatabase extends RelationalDatabase {
+    private final JdbcDialect dialect;
+    private final Supplier<Executor> executor;
+    private HikariDataSource dataSource;
+
+    public JdbcDatabase(JdbcDialect dialect) {
+        this(dialect, () -> DatabaseService.get().getExecutor());
+    }
+
+    /**
+     * Runs queries on the given executor instead of the database service's, so the backend can be used on its own.
+     */
+    JdbcDatabase(JdbcDialect dialect, Supplier<Executor> executor) {
+        this.dialect = dialect;
+        this.executor = executor;
+    }
+
+    @Override
+    public IDatabase load() {
+        HikariConfig config = new HikariConfig();
+        config.setDriverClassName(dialect.getDriverClass());
+        config.setJdbcUrl(uri);
+        config.setUsername(SettingsLocale.DATABASE_USERNAME.getString());
+        config.setPassword(SettingsLocale.DATABASE_PASSWORD.getString());
+        config.setMaximumPoolSize(Math.max(1, SettingsLocale.DATABASE_POOL_SIZE.getInt()));
+        config.setMinimumIdle(Math.min(2, config.getMaximumPoolSize()));
+
+        return load(config);
+    }
+
+    /**
+     * Connects with the given pool and creates the tables, the dialect's connection properties are added to it.
+     */
+    IDatabase load(HikariConfig config) {
+        try {
+            config.setPoolName("neptune-" + dialect.name().toLowerCase());
+
+            switch (dialect) {
+                case MYSQL -> {
+                    config.addDataSourceProperty("cachePrepStmts", "true");
+                    config.addDataSourceProperty("prepStmtCacheSize", "250");
+                    config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+                    config.addDataSourceProperty("rewriteBatchedStatements", "true");
+                }
+                case MARIADB -> config.addDataSourceProperty("useBulkStmts", "true");
+                case POSTGRESQL -> config.addDataSourceProperty("reWriteBatchedInserts", "true");
+            }
+
+            this.dataSource = new HikariDataSource(config);
+
+            try (Connection connection = dataSource.getConnection()) {
+                createTables(connection);
+            }
+        } catch (SQLException | RuntimeException e) {
+            ServerUtils.error("Failed to connect / initialize " + dialect.name() + " database: " + e.getMessage());
+            Bukkit.getPluginManager().disablePlugin(Neptune.get());
+        }
+        return this;
+    }
+
+    @Override
+    protected String getLongTextType() {
+        return dialect.getLongTextType();
+    }
+
+    @Override
+    protected void createIndex(Connection connection, String name, String table, String columns) throws SQLException {
+        if (dialect.isCreateIndexIfNotExists()) {
+            super.createIndex(connection, name, table, columns);
+            return;
+        }
+
+        try (ResultSet indexes = connection.getMetaData().getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+            while (indexes.next()) {
+                if (name.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) return;
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX " + name + " ON " + table + " (" + columns + ")");
+        }
+    }
+
+    @Override
+    protected <T> CompletableFuture<T> submit(SQLTask<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (dataSource == null) {
+                throw new CompletionException(new SQLException(dialect.name() + " database is not initialized!"));
+            }
+
+            try (Connection connection = dataSource.getConnection()) {
+                return task.run(connection);
+            } catch (SQLException e) {
+                ServerUtils.error("Error executing query on " + dialect.name() + ": " + e.getMessage());
+                throw new CompletionException(e);
+            }
+        }, executor.get());
+    }
+
+    @Override
+    public void close() {
+        if (dataSource != null) dataSource.close();
+    }
+}
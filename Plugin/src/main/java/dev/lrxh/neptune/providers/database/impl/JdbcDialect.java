@@ -0,0 +1,16 @@
+package dev.lrxh.neptune.providers.database.impl;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum JdbcDialect {
+    MYSQL("com.mysql.cj.jdbc.Driver", "MEDIUMTEXT", false),
+    MARIADB("org.mariadb.jdbc.Driver", "MEDIUMTEXT", true),
+    POSTGRESQL("org.postgresql.Driver", "TEXT", true);
+
+    private final String driverClass;
+    private final String longTextType;
+    private final boolean createIndexIfNotExists;
+}
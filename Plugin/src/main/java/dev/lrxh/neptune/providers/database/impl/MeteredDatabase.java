@@ -0,0 +1,88 @@
+package dev.lrxh.neptune.providers.database.impl;
+
+import dev.lrxh.neptune.providers.metrics.MetricsService;
+import dev.lrxh.neptune.providers.metrics.impl.Counter;
+import dev.lrxh.neptune.providers.metrics.impl.Summary;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Records the latency and failures of every operation of the wrapped database.
+ */
+public class MeteredDatabase implements IDatabase {
+    private final IDatabase database;
+    private final Summary latency = MetricsService.get().summary("neptune_database_latency_seconds",
+            "Time database operations take to complete.", "operation");
+    private final Counter errors = MetricsService.get().counter("neptune_database_errors_total",
+            "Database operations that failed.", "operation");
+
+    public MeteredDatabase(IDatabase database) {
+        this.database = database;
+    }
+
+    @Override
+    public IDatabase load() {
+        database.load();
+        return this;
+    }
+
+    @Override
+    public CompletableFuture<DataDocument> getUserData(UUID playerUUID) {
+        return track("getUserData", System.nanoTime(), database.getUserData(playerUUID));
+    }
+
+    @Override
+    public CompletableFuture<Void> replace(UUID playerUUID, DataDocument newDocument) {
+        return track("replace", System.nanoTime(), database.replace(playerUUID, newDocument));
+    }
+
+    @Override
+    public CompletableFuture<Void> replace(String playerUUID, DataDocument newDocument) {
+        return track("replace", System.nanoTime(), database.replace(playerUUID, newDocument));
+    }
+
+    @Override
+    public CompletableFuture<Void> replaceAll(Map<UUID, DataDocument> documents) {
+        return track("replaceAll", System.nanoTime(), database.replaceAll(documents));
+    }
+
+    @Override
+    public CompletableFuture<List<DataDocument>> getAllByKitType(String kitName, String type) {
+        return track("getAllByKitType", System.nanoTime(), database.getAllByKitType(kitName, type));
+    }
+
+    @Override
+    public CompletableFuture<List<DataDocument>> getKitStats(String kitName) {
+        return track("getKitStats", System.nanoTime(), database.getKitStats(kitName));
+    }
+
+    @Override
+    public CompletableFuture<Void> appendHistory(UUID playerUUID, List<DataDocument> entries) {
+        return track("appendHistory", System.nanoTime(), database.appendHistory(playerUUID, entries));
+    }
+
+    @Override
+    public CompletableFuture<Void> migrateHistory(UUID playerUUID, List<DataDocument> entries) {
+        return track("migrateHistory", System.nanoTime(), database.migrateHistory(playerUUID, entries));
+    }
+
+    @Override
+    public CompletableFuture<List<DataDocument>> getHistory(UUID playerUUID, int offset, int limit) {
+        return track("getHistory", System.nanoTime(), database.getHistory(playerUUID, offset, limit));
+    }
+
+    @Override
+    public void close() {
+        database.close();
+    }
+
+    private <T> CompletableFuture<T> track(String operation, long start, CompletableFuture<T> future) {
+        return future.whenComplete((result, throwable) -> {
+            latency.record(operation, System.nanoTime() - start);
+            if (throwable != null) errors.inc(operation);
+        });
+    }
+}
@@ -1,29 +1,63 @@
 package dev.lrxh.neptune.providers.database.impl;
 
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.ClientSession;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteManyModel;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import dev.lrxh.neptune.providers.database.DatabaseService;
 import dev.lrxh.neptune.utils.ServerUtils;
 import org.bson.Document;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class MongoDatabase implements IDatabase {
+    private static final List<String> LEADERBOARD_STATS = List.of("ELO", "WINS", "LOSSES", "WIN_STREAK_BEST");
+    private static final int MATERIALIZE_BATCH_SIZE = 500;
     private MongoCollection<Document> collection;
+    private MongoCollection<Document> history;
+    // one small row per player and played kit, kept next to the profiles so leaderboards never read whole profiles
+    private MongoCollection<Document> leaderboards;
     private MongoClient mongoClient;
+    private boolean transactions;
 
     @Override
     public IDatabase load() {
         try {
             mongoClient = MongoClients.create(uri);
+            // Only replica sets and sharded clusters support transactions, a standalone server rejects them
+            Document hello = mongoClient.getDatabase("admin").runCommand(new Document("hello", 1));
+            transactions = hello.containsKey("setName") || "isdbgrid".equals(hello.getString("msg"));
+
             collection = mongoClient.getDatabase(database).getCollection("playerData");
+            history = mongoClient.getDatabase(database).getCollection("matchHistory");
+            history.createIndex(Indexes.compoundIndex(Indexes.ascending("uuid"), Indexes.descending("playedAt")));
+            collection.createIndex(Indexes.ascending("uuid"));
+
+            leaderboards = mongoClient.getDatabase(database).getCollection("leaderboards");
+            for (String stat : LEADERBOARD_STATS) {
+                leaderboards.createIndex(Indexes.compoundIndex(Indexes.ascending("kit"), Indexes.descending(stat)));
+            }
+            if (leaderboards.estimatedDocumentCount() == 0) materializeLeaderboards();
         } catch (Exception e) {
             ServerUtils.error("Failed to connect to MongoDB: " + e.getMessage());
         }
@@ -34,75 +68,194 @@ public class MongoDatabase implements IDatabase {
     public CompletableFuture<DataDocument> getUserData(UUID playerUUID) {
         return CompletableFuture.supplyAsync(() -> {
             if (collection == null) {
-                ServerUtils.error("MongoDB collection is not initialized!");
-                return null;
+                throw new CompletionException(new IllegalStateException("MongoDB collection is not initialized!"));
             }
+            // Only a missing profile is null, callers tell it apart from a failed read
             try {
                 Document document = collection.find(Filters.eq("uuid", playerUUID.toString())).first();
                 return (document != null) ? new DataDocument(document) : null;
             } catch (MongoException e) {
                 ServerUtils.error("Error fetching user data from MongoDB: " + e.getMessage());
-                return null;
+                throw new CompletionException(e);
             }
         }, DatabaseService.get().getExecutor());
     }
 
     @Override
     public CompletableFuture<Void> replace(UUID playerUUID, DataDocument newDocument) {
+        return replace(playerUUID.toString(), newDocument);
+    }
+
+    @Override
+    public CompletableFuture<Void> replace(String playerUUID, DataDocument newDocument) {
         return CompletableFuture.runAsync(() -> {
             if (collection == null) {
-                ServerUtils.error("MongoDB collection is not initialized!");
-                return;
+                throw new CompletionException(new IllegalStateException("MongoDB collection is not initialized!"));
             }
+
+            Document document = newDocument.toDocument();
             try {
-                Document document = newDocument.toDocument();
-                collection.replaceOne(Filters.eq("uuid", playerUUID.toString()), document,
-                        new ReplaceOptions().upsert(true));
+                write(List.of(new ReplaceOneModel<>(Filters.eq("uuid", playerUUID), document, new ReplaceOptions().upsert(true))),
+                        getLeaderboardRows(playerUUID, document));
             } catch (MongoException e) {
                 ServerUtils.error("Error replacing user data in MongoDB: " + e.getMessage());
+                throw new CompletionException(e);
             }
         }, DatabaseService.get().getExecutor());
     }
 
     @Override
-    public CompletableFuture<Void> replace(String playerUUID, DataDocument newDocument) {
+    public CompletableFuture<Void> replaceAll(Map<UUID, DataDocument> documents) {
         return CompletableFuture.runAsync(() -> {
             if (collection == null) {
+                throw new CompletionException(new IllegalStateException("MongoDB collection is not initialized!"));
+            }
+
+            List<WriteModel<Document>> writes = new ArrayList<>(documents.size());
+            List<WriteModel<Document>> rows = new ArrayList<>();
+            ReplaceOptions options = new ReplaceOptions().upsert(true);
+            for (Map.Entry<UUID, DataDocument> entry : documents.entrySet()) {
+                Document document = entry.getValue().toDocument();
+                writes.add(new ReplaceOneModel<>(Filters.eq("uuid", entry.getKey().toString()), document, options));
+                rows.addAll(getLeaderboardRows(entry.getKey().toString(), document));
+            }
+
+            try {
+                write(writes, rows);
+            } catch (MongoException e) {
+                throw new CompletionException(e);
+            }
+        }, DatabaseService.get().getExecutor());
+    }
+
+    @Override
+    public CompletableFuture<List<DataDocument>> getKitStats(String kitName) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<DataDocument> results = new ArrayList<>();
+            if (leaderboards == null) {
                 ServerUtils.error("MongoDB collection is not initialized!");
-                return;
+                return results;
             }
+
             try {
-                Document document = newDocument.toDocument();
-                collection.replaceOne(Filters.eq("uuid", playerUUID), document, new ReplaceOptions().upsert(true));
+                leaderboards.find(Filters.eq("kit", kitName))
+                        .projection(Projections.exclude("_id", "kit"))
+                        .forEach(row -> results.add(new DataDocument(row)));
             } catch (MongoException e) {
-                ServerUtils.error("Error replacing user data in MongoDB: " + e.getMessage());
+                ServerUtils.error("Error fetching kit stats from MongoDB: " + e.getMessage());
+            }
+
+            return results;
+        }, DatabaseService.get().getExecutor());
+    }
+
+    @Override
+    public CompletableFuture<Void> appendHistory(UUID playerUUID, List<DataDocument> entries) {
+        if (entries.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        return CompletableFuture.runAsync(() -> {
+            if (history == null) {
+                throw new CompletionException(new IllegalStateException("MongoDB collection is not initialized!"));
+            }
+
+            List<Document> documents = new ArrayList<>(entries.size());
+            for (DataDocument entry : entries) {
+                Document document = entry.toDocument();
+                document.put("uuid", playerUUID.toString());
+                documents.add(document);
+            }
+
+            try {
+                history.insertMany(documents);
+            } catch (MongoException e) {
+                ServerUtils.error("Error appending match history to MongoDB: " + e.getMessage());
+                throw new CompletionException(e);
             }
         }, DatabaseService.get().getExecutor());
     }
 
+    @Override
+    public CompletableFuture<Void> migrateHistory(UUID playerUUID, List<DataDocument> entries) {
+        return CompletableFuture.runAsync(() -> {
+            if (collection == null || history == null) {
+                throw new CompletionException(new IllegalStateException("MongoDB collection is not initialized!"));
+            }
+
+            // Keyed by the place in the legacy list, so entries a cut short migration already inserted aren't inserted twice
+            List<Document> documents = new ArrayList<>(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                Document document = entries.get(i).toDocument();
+                document.put("_id", playerUUID + ":legacy:" + i);
+                document.put("uuid", playerUUID.toString());
+                documents.add(document);
+            }
+
+            try {
+                try {
+                    history.insertMany(documents, new InsertManyOptions().ordered(false));
+                } catch (MongoBulkWriteException e) {
+                    for (BulkWriteError error : e.getWriteErrors()) {
+                        if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) throw e;
+                    }
+                }
+
+                collection.updateOne(Filters.eq("uuid", playerUUID.toString()), Updates.unset("history"));
+            } catch (MongoException e) {
+                ServerUtils.error("Error migrating match history in MongoDB: " + e.getMessage());
+                throw new CompletionException(e);
+            }
+        }, DatabaseService.get().getExecutor());
+    }
+
+    @Override
+    public CompletableFuture<List<DataDocument>> getHistory(UUID playerUUID, int offset, int limit) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<DataDocument> results = new ArrayList<>();
+            if (history == null) {
+                ServerUtils.error("MongoDB collection is not initialized!");
+                return results;
+            }
+
+            try {
+                history.find(Filters.eq("uuid", playerUUID.toString()))
+                        .sort(new Document("playedAt", -1))
+                        .skip(offset)
+                        .limit(limit)
+                        .forEach(document -> results.add(new DataDocument(document)));
+            } catch (MongoException e) {
+                ServerUtils.error("Error fetching match history from MongoDB: " + e.getMessage());
+            }
+
+            return results;
+        }, DatabaseService.get().getExecutor());
+    }
+
     @Override
     public CompletableFuture<List<DataDocument>> getAllByKitType(String kitName, String type) {
         return CompletableFuture.supplyAsync(() -> {
             List<DataDocument> results = new ArrayList<>();
-            if (collection == null) {
+            if (leaderboards == null) {
                 ServerUtils.error("MongoDB collection is not initialized!");
                 return results;
             }
 
             try {
-                collection.find(Filters.exists("data.kitData." + kitName + "." + type))
-                        .sort(new Document("data.kitData." + kitName + "." + type, -1))
+                leaderboards.find(Filters.and(Filters.eq("kit", kitName), Filters.gt(type, 0)))
+                        .sort(Sorts.descending(type))
                         .limit(10)
-                        .forEach(doc -> {
-                            String jsonString = doc.getString("data");
-
-                            if (jsonString != null) {
-                                DataDocument dataDoc = new DataDocument(jsonString);
-                                results.add(dataDoc);
-                            } else {
-                                ServerUtils
-                                        .error("[DEBUG] Missing 'data' field for document with _id: " + doc.get("_id"));
-                            }
+                        .projection(Projections.fields(Projections.include("uuid", "username", type), Projections.excludeId()))
+                        .forEach(row -> {
+                            DataDocument stats = new DataDocument();
+                            stats.put(type, row.get(type));
+
+                            DataDocument kitData = new DataDocument();
+                            kitData.put(kitName, stats);
+
+                            DataDocument document = new DataDocument();
+                            document.put("uuid", row.getString("uuid"));
+                            document.put("username", row.getString("username"));
+                            document.put("kitData", kitData);
+                            results.add(document);
                         });
             } catch (MongoException e) {
                 ServerUtils.error("Error fetching data by kit/type from MongoDB: " + e.getMessage());
@@ -112,4 +265,95 @@ public class MongoDatabase implements IDatabase {
         }, DatabaseService.get().getExecutor());
     }
 
+    /**
+     * Writes the profiles and their leaderboard rows in one transaction when the deployment supports it.
+     * Otherwise a failed leaderboard write fails the whole call, so the profile write queue retries both.
+     */
+    private void write(List<WriteModel<Document>> profiles, List<WriteModel<Document>> rows) {
+        if (!transactions) {
+            collection.bulkWrite(profiles, new BulkWriteOptions().ordered(false));
+            writeLeaderboardRows(rows);
+            return;
+        }
+
+        try (ClientSession session = mongoClient.startSession()) {
+            session.withTransaction(() -> {
+                collection.bulkWrite(session, profiles, new BulkWriteOptions().ordered(false));
+                if (!rows.isEmpty()) leaderboards.bulkWrite(session, rows, new BulkWriteOptions().ordered(false));
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Leaderboard rows of every kit the player has played, replacing the previous rows of those kits
+     * and removing the rows of kits whose stats were reset.
+     */
+    private List<WriteModel<Document>> getLeaderboardRows(String uuid, Document profile) {
+        List<WriteModel<Document>> rows = new ArrayList<>();
+        if (!(profile.get("kitData") instanceof Document kitData)) return rows;
+
+        List<String> reset = new ArrayList<>();
+        ReplaceOptions options = new ReplaceOptions().upsert(true);
+        for (Map.Entry<String, Object> entry : kitData.entrySet()) {
+            if (!(entry.getValue() instanceof Document stats)) continue;
+
+            Document row = new Document("_id", uuid + ":" + entry.getKey())
+                    .append("uuid", uuid)
+                    .append("username", profile.getString("username"))
+                    .append("kit", entry.getKey())
+                    .append("WIN_STREAK_CURRENT", getStat(stats, "WIN_STREAK_CURRENT"));
+            for (String stat : LEADERBOARD_STATS) {
+                row.append(stat, getStat(stats, stat));
+            }
+            if (row.getInteger("WINS") + row.getInteger("LOSSES") == 0) {
+                reset.add(row.getString("_id"));
+                continue;
+            }
+
+            rows.add(new ReplaceOneModel<>(Filters.eq("_id", row.get("_id")), row, options));
+        }
+
+        if (!reset.isEmpty()) rows.add(new DeleteManyModel<>(Filters.in("_id", reset)));
+        return rows;
+    }
+
+    private int getStat(Document stats, String stat) {
+        return stats.get(stat) instanceof Number number ? number.intValue() : 0;
+    }
+
+    private void writeLeaderboardRows(List<WriteModel<Document>> rows) {
+        if (rows.isEmpty() || leaderboards == null) return;
+
+        leaderboards.bulkWrite(rows, new BulkWriteOptions().ordered(false));
+    }
+
+    /**
+     * Builds the leaderboard rows from the stored profiles, only needed once when the collection is new.
+     */
+    private void materializeLeaderboards() {
+        List<WriteModel<Document>> rows = new ArrayList<>();
+        int players = 0;
+
+        for (Document profile : collection.find().projection(Projections.include("uuid", "username", "kitData"))) {
+            String uuid = profile.getString("uuid");
+            if (uuid == null) continue;
+
+            rows.addAll(getLeaderboardRows(uuid, profile));
+            players++;
+
+            if (rows.size() >= MATERIALIZE_BATCH_SIZE) {
+                writeLeaderboardRows(rows);
+                rows.clear();
+            }
+        }
+        writeLeaderboardRows(rows);
+
+        if (players > 0) ServerUtils.info("Built leaderboard rows for " + players + " players.");
+    }
+
+    @Override
+    public void close() {
+        if (mongoClient != null) mongoClient.close();
+    }
 }
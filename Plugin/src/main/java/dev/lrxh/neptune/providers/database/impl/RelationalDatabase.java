@@ -0,0 +1,459 @@
+package dev.lrxh.neptune.providers.database.impl;
+
+import org.bson.Document;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Stores profiles in normalized tables instead of one JSON document per player,
+ * leaderboards are served from the (kit, stat) indexes on the kit stats table.
+ */
+public abstract class RelationalDatabase implements IDatabase {
+    private static final Map<String, String> STAT_COLUMNS = Map.of(
+            "WINS", "wins",
+            "LOSSES", "losses",
+            "ELO", "elo",
+            "WIN_STREAK_CURRENT", "win_streak_current",
+            "WIN_STREAK_BEST", "win_streak_best"
+    );
+    private static final String[] TABLES = {
+            "neptune_players", "neptune_settings", "neptune_kit_stats", "neptune_loadouts", "neptune_history"
+    };
+
+    private static final String SQL_INSERT_PLAYER = "INSERT INTO neptune_players(uuid, username, last_played_kit, persistent_data) VALUES (?, ?, ?, ?)";
+    private static final String SQL_INSERT_SETTINGS = "INSERT INTO neptune_settings(uuid, show_players, allow_spectators, allow_duels, " +
+            "allow_party, max_ping, kill_effect, menu_sound, death_message_package) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_INSERT_KIT_STATS = "INSERT INTO neptune_kit_stats(uuid, kit, elo, wins, losses, " +
+            "win_streak_current, win_streak_best, persistent_data) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_INSERT_LOADOUT = "INSERT INTO neptune_loadouts(uuid, kit, loadout) VALUES (?, ?, ?)";
+    private static final String SQL_INSERT_HISTORY = "INSERT INTO neptune_history(uuid, idx, entry) VALUES (?, ?, ?)";
+    private static final String SQL_INSERT_MATCH = "INSERT INTO neptune_match_history(uuid, played_at, won, opponent, kit, arena, " +
+            "match_date, match_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @FunctionalInterface
+    protected interface SQLTask<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Runs the task with a connection on the backend's executor.
+     */
+    protected abstract <T> CompletableFuture<T> submit(SQLTask<T> task);
+
+    protected String getLongTextType() {
+        return "TEXT";
+    }
+
+    protected void createTables(Connection connection) throws SQLException {
+        String text = getLongTextType();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS neptune_players (" +
+                    "uuid VARCHAR(36) NOT NULL PRIMARY KEY, " +
+                    "username VARCHAR(32), " +
+                    "last_played_kit VARCHAR(64), " +
+                    "persistent_data " + text + ")");
+            statement.execute("CREATE TABLE IF NOT EXISTS neptune_settings (" +
+                    "uuid VARCHAR(36) NOT NULL PRIMARY KEY, " +
+                    "show_players SMALLINT NOT NULL, " +
+                    "allow_spectators SMALLINT NOT NULL, " +
+                    "allow_duels SMALLINT NOT NULL, " +
+                    "allow_party SMALLINT NOT NULL, " +
+                    "max_ping INT NOT NULL, " +
+                    "kill_effect VARCHAR(64), " +
+                    "menu_sound SMALLINT NOT NULL, " +
+                    "death_message_package VARCHAR(64))");
+            statement.execute("CREATE TABLE IF NOT EXISTS neptune_kit_stats (" +
+                    "uuid VARCHAR(36) NOT NULL, " +
+                    "kit VARCHAR(64) NOT NULL, " +
+                    "elo INT NOT NULL, " +
+                    "wins INT NOT NULL, " +
+                    "losses INT NOT NULL, " +
+                    "win_streak_current INT NOT NULL, " +
+                    "win_streak_best INT NOT NULL, " +
+                    "persistent_data " + text + ", " +
+                    "PRIMARY KEY (uuid, kit))");
+            statement.execute("CREATE TABLE IF NOT EXISTS neptune_loadouts (" +
+                    "uuid VARCHAR(36) NOT NULL, " +
+                    "kit VARCHAR(64) NOT NULL, " +
+                    "loadout " + text + " NOT NULL, " +
+                    "PRIMARY KEY (uuid, kit))");
+            statement.execute("CREATE TABLE IF NOT EXISTS neptune_history (" +
+                    "uuid VARCHAR(36) NOT NULL, " +
+                    "idx INT NOT NULL, " +
+                    "entry " + text + " NOT NULL, " +
+                    "PRIMARY KEY (uuid, idx))");
+            statement.execute("CREATE TABLE IF NOT EXISTS neptune_match_history (" +
+                    "uuid VARCHAR(36) NOT NULL, " +
+                    "played_at BIGINT NOT NULL, " +
+                    "won SMALLINT NOT NULL, " +
+                    "opponent VARCHAR(32), " +
+                    "kit VARCHAR(128), " +
+                    "arena VARCHAR(128), " +
+                    "match_date VARCHAR(32), " +
+                    "match_time VARCHAR(32))");
+        }
+
+        createIndex(connection, "idx_match_history_player", "neptune_match_history", "uuid, played_at");
+
+        for (String column : STAT_COLUMNS.values()) {
+            createIndex(connection, "idx_kit_stats_" + column, "neptune_kit_stats", "kit, " + column);
+        }
+    }
+
+    protected void createIndex(Connection connection, String name, String table, String columns) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS " + name + " ON " + table + " (" + columns + ")");
+        }
+    }
+
+    @Override
+    public CompletableFuture<DataDocument> getUserData(UUID playerUUID) {
+        return submit(connection -> read(connection, playerUUID.toString()));
+    }
+
+    @Override
+    public CompletableFuture<Void> replace(UUID playerUUID, DataDocument newDocument) {
+        return replace(playerUUID.toString(), newDocument);
+    }
+
+    @Override
+    public CompletableFuture<Void> replace(String playerUUID, DataDocument newDocument) {
+        return submit(connection -> {
+            write(connection, List.of(Map.entry(playerUUID, newDocument)));
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> replaceAll(Map<UUID, DataDocument> documents) {
+        List<Map.Entry<String, DataDocument>> entries = new ArrayList<>(documents.size());
+        for (Map.Entry<UUID, DataDocument> entry : documents.entrySet()) {
+            entries.add(Map.entry(entry.getKey().toString(), entry.getValue()));
+        }
+
+        return submit(connection -> {
+            write(connection, entries);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<DataDocument>> getAllByKitType(String kitName, String type) {
+        String column = STAT_COLUMNS.get(type);
+        if (column == null) return CompletableFuture.completedFuture(new ArrayList<>());
+
+        String sql = "SELECT s.uuid, p.username, s.elo, s.wins, s.losses, s.win_streak_current, s.win_streak_best " +
+                "FROM neptune_kit_stats s JOIN neptune_players p ON p.uuid = s.uuid " +
+                "WHERE s.kit = ? AND s." + column + " > 0 " +
+                "ORDER BY s." + column + " DESC LIMIT 10";
+
+        return submit(connection -> {
+            List<DataDocument> results = new ArrayList<>();
+
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ps.setString(1, kitName);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        DataDocument document = new DataDocument();
+                        document.put("uuid", rs.getString("uuid"));
+                        document.put("username", rs.getString("username"));
+
+                        DataDocument kitData = new DataDocument();
+                        kitData.put(kitName, readStats(rs));
+                        document.put("kitData", kitData);
+
+                        results.add(document);
+                    }
+                }
+            }
+
+            return results;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<DataDocument>> getKitStats(String kitName) {
+        return submit(connection -> {
+            List<DataDocument> results = new ArrayList<>();
+
+            try (PreparedStatement ps = connection.prepareStatement("SELECT s.*, p.username FROM neptune_kit_stats s " +
+                    "JOIN neptune_players p ON p.uuid = s.uuid WHERE s.kit = ?")) {
+                ps.setString(1, kitName);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        DataDocument document = readStats(rs);
+                        document.put("uuid", rs.getString("uuid"));
+                        document.put("username", rs.getString("username"));
+                        results.add(document);
+                    }
+                }
+            }
+
+            return results;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> appendHistory(UUID playerUUID, List<DataDocument> entries) {
+        return submit(connection -> {
+            insertHistory(connection, playerUUID, entries);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> migrateHistory(UUID playerUUID, List<DataDocument> entries) {
+        return submit(connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try {
+                insertHistory(connection, playerUUID, entries);
+                try (PreparedStatement ps = connection.prepareStatement("DELETE FROM neptune_history WHERE uuid = ?")) {
+                    ps.setString(1, playerUUID.toString());
+                    ps.executeUpdate();
+                }
+
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+
+    private void insertHistory(Connection connection, UUID playerUUID, List<DataDocument> entries) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(SQL_INSERT_MATCH)) {
+            for (DataDocument entry : entries) {
+                ps.setString(1, playerUUID.toString());
+                ps.setLong(2, entry.getLong("playedAt", System.currentTimeMillis()));
+                ps.setInt(3, entry.getBoolean("won", false) ? 1 : 0);
+                ps.setString(4, entry.getString("opponent"));
+                ps.setString(5, entry.getString("kit"));
+                ps.setString(6, entry.getString("arena"));
+                ps.setString(7, entry.getString("date"));
+                ps.setString(8, entry.getString("time"));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<DataDocument>> getHistory(UUID playerUUID, int offset, int limit) {
+        return submit(connection -> {
+            List<DataDocument> results = new ArrayList<>();
+
+            try (PreparedStatement ps = connection.prepareStatement("SELECT * FROM neptune_match_history WHERE uuid = ? " +
+                    "ORDER BY played_at DESC LIMIT ? OFFSET ?")) {
+                ps.setString(1, playerUUID.toString());
+                ps.setInt(2, limit);
+                ps.setInt(3, offset);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        DataDocument document = new DataDocument();
+                        document.put("playedAt", rs.getLong("played_at"));
+                        document.put("won", rs.getInt("won") != 0);
+                        document.put("opponent", rs.getString("opponent"));
+                        document.put("kit", rs.getString("kit"));
+                        document.put("arena", rs.getString("arena"));
+                        document.put("date", rs.getString("match_date"));
+                        document.put("time", rs.getString("match_time"));
+                        results.add(document);
+                    }
+                }
+            }
+
+            return results;
+        });
+    }
+
+    protected DataDocument read(Connection connection, String uuid) throws SQLException {
+        DataDocument document = new DataDocument();
+        DataDocument kitData = new DataDocument();
+
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT username, last_played_kit, persistent_data FROM neptune_players WHERE uuid = ?")) {
+            ps.setString(1, uuid);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return null;
+
+                document.put("uuid", uuid);
+                document.put("username", rs.getString("username"));
+                document.put("customPersistentData", parse(rs.getString("persistent_data")));
+                kitData.put("lastPlayedKit", rs.getString("last_played_kit"));
+            }
+        }
+
+        try (PreparedStatement ps = connection.prepareStatement("SELECT s.*, l.loadout FROM neptune_kit_stats s " +
+                "LEFT JOIN neptune_loadouts l ON l.uuid = s.uuid AND l.kit = s.kit WHERE s.uuid = ?")) {
+            ps.setString(1, uuid);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    DataDocument stats = readStats(rs);
+                    String loadout = rs.getString("loadout");
+                    stats.put("kit", loadout == null ? "" : loadout);
+                    stats.put("customPersistentData", parse(rs.getString("persistent_data")));
+                    kitData.put(rs.getString("kit"), stats);
+                }
+            }
+        }
+        document.put("kitData", kitData);
+
+        try (PreparedStatement ps = connection.prepareStatement("SELECT * FROM neptune_settings WHERE uuid = ?")) {
+            ps.setString(1, uuid);
+            try (ResultSet rs = ps.executeQuery()) {
+                DataDocument settings = new DataDocument();
+                if (rs.next()) {
+                    settings.put("showPlayers", rs.getInt("show_players") != 0);
+                    settings.put("allowSpectators", rs.getInt("allow_spectators") != 0);
+                    settings.put("allowDuels", rs.getInt("allow_duels") != 0);
+                    settings.put("allowParty", rs.getInt("allow_party") != 0);
+                    settings.put("maxPing", rs.getInt("max_ping"));
+                    settings.put("killEffect", rs.getString("kill_effect"));
+                    settings.put("menuSound", rs.getInt("menu_sound") != 0);
+                    settings.put("deathMessagePackage", rs.getString("death_message_package"));
+                }
+                document.put("settings", settings);
+            }
+        }
+
+        try (PreparedStatement ps = connection.prepareStatement("SELECT entry FROM neptune_history WHERE uuid = ? ORDER BY idx")) {
+            ps.setString(1, uuid);
+            try (ResultSet rs = ps.executeQuery()) {
+                List<String> history = new ArrayList<>();
+                while (rs.next()) {
+                    history.add(rs.getString("entry"));
+                }
+                document.put("history", history);
+            }
+        }
+
+        return document;
+    }
+
+    /**
+     * Replaces every row of the given players inside one transaction, reusing one statement per table.
+     */
+    protected void write(Connection connection, List<Map.Entry<String, DataDocument>> documents) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try {
+            for (String table : TABLES) {
+                try (PreparedStatement ps = connection.prepareStatement("DELETE FROM " + table + " WHERE uuid = ?")) {
+                    for (Map.Entry<String, DataDocument> entry : documents) {
+                        ps.setString(1, entry.getKey());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+            }
+
+            try (PreparedStatement players = connection.prepareStatement(SQL_INSERT_PLAYER);
+                 PreparedStatement settings = connection.prepareStatement(SQL_INSERT_SETTINGS);
+                 PreparedStatement kitStats = connection.prepareStatement(SQL_INSERT_KIT_STATS);
+                 PreparedStatement loadouts = connection.prepareStatement(SQL_INSERT_LOADOUT);
+                 PreparedStatement history = connection.prepareStatement(SQL_INSERT_HISTORY)) {
+
+                for (Map.Entry<String, DataDocument> entry : documents) {
+                    String uuid = entry.getKey();
+                    DataDocument document = entry.getValue();
+                    DataDocument kitData = document.getDataDocument("kitData");
+
+                    players.setString(1, uuid);
+                    players.setString(2, document.getString("username"));
+                    players.setString(3, kitData.getString("lastPlayedKit", ""));
+                    players.setString(4, toJson(document.getDataDocument("customPersistentData")));
+                    players.addBatch();
+
+                    DataDocument settingsDocument = document.getDataDocument("settings");
+                    settings.setString(1, uuid);
+                    settings.setInt(2, settingsDocument.getBoolean("showPlayers", true) ? 1 : 0);
+                    settings.setInt(3, settingsDocument.getBoolean("allowSpectators", true) ? 1 : 0);
+                    settings.setInt(4, settingsDocument.getBoolean("allowDuels", true) ? 1 : 0);
+                    settings.setInt(5, settingsDocument.getBoolean("allowParty", true) ? 1 : 0);
+                    settings.setInt(6, settingsDocument.getInteger("maxPing", 350));
+                    settings.setString(7, settingsDocument.getString("killEffect", "NONE"));
+                    settings.setInt(8, settingsDocument.getBoolean("menuSound", false) ? 1 : 0);
+                    settings.setString(9, settingsDocument.getString("deathMessagePackage"));
+                    settings.addBatch();
+
+                    for (Map.Entry<String, Object> kit : kitData.data.entrySet()) {
+                        if (!(kit.getValue() instanceof DataDocument stats)) continue;
+
+                        kitStats.setString(1, uuid);
+                        kitStats.setString(2, kit.getKey());
+                        kitStats.setInt(3, stats.getInteger("ELO", 0));
+                        kitStats.setInt(4, stats.getInteger("WINS", 0));
+                        kitStats.setInt(5, stats.getInteger("LOSSES", 0));
+                        kitStats.setInt(6, stats.getInteger("WIN_STREAK_CURRENT", 0));
+                        kitStats.setInt(7, stats.getInteger("WIN_STREAK_BEST", 0));
+                        kitStats.setString(8, toJson(stats.getDataDocument("customPersistentData")));
+                        kitStats.addBatch();
+
+                        String loadout = stats.getString("kit", "");
+                        if (!loadout.isEmpty()) {
+                            loadouts.setString(1, uuid);
+                            loadouts.setString(2, kit.getKey());
+                            loadouts.setString(3, loadout);
+                            loadouts.addBatch();
+                        }
+                    }
+
+                    List<String> entries = document.getList("history", new ArrayList<>());
+                    for (int i = 0; i < entries.size(); i++) {
+                        history.setString(1, uuid);
+                        history.setInt(2, i);
+                        history.setString(3, entries.get(i));
+                        history.addBatch();
+                    }
+                }
+
+                players.executeBatch();
+                settings.executeBatch();
+                kitStats.executeBatch();
+                loadouts.executeBatch();
+                history.executeBatch();
+            }
+
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private DataDocument readStats(ResultSet rs) throws SQLException {
+        DataDocument stats = new DataDocument();
+        stats.put("ELO", rs.getInt("elo"));
+        stats.put("WINS", rs.getInt("wins"));
+        stats.put("LOSSES", rs.getInt("losses"));
+        stats.put("WIN_STREAK_CURRENT", rs.getInt("win_streak_current"));
+        stats.put("WIN_STREAK_BEST", rs.getInt("win_streak_best"));
+        return stats;
+    }
+
+    private String toJson(DataDocument document) {
+        return document.data.isEmpty() ? null : document.toDocument().toJson();
+    }
+
+    private DataDocument parse(String json) {
+        return json == null || json.isEmpty() ? new DataDocument() : new DataDocument(Document.parse(json));
+    }
+}
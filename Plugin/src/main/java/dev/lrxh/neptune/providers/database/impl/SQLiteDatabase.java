@@ -8,13 +8,9 @@ import java.sql.*;
 import java.util.*;
 import java.util.concurrent.*;
 
-public class SQLiteDatabase implements IDatabase {
-    private static final String SQL_CREATE_TABLE = "CREATE TABLE IF NOT EXISTS playerData (" +
-            "uuid VARCHAR(36) NOT NULL PRIMARY KEY, " +
-            "data TEXT NOT NULL" +
-            ")";
-    private static final String SQL_UPSERT = "INSERT INTO playerData(uuid, data) VALUES (?, ?) " +
-            "ON CONFLICT(uuid) DO UPDATE SET data = excluded.data";
+public class SQLiteDatabase extends RelationalDatabase {
+    private static final String LEGACY_TABLE = "playerData";
+    private static final int MIGRATION_BATCH_SIZE = 500;
     private final String dbPath;
     private final ExecutorService dbExecutor;
     private Connection connection;
@@ -34,7 +30,12 @@ public class SQLiteDatabase implements IDatabase {
             this.connection = DriverManager.getConnection(dbPath);
             Future<?> initFuture = dbExecutor.submit(() -> {
                 configureConnectionPragmas();
-                createTableIfNotExists();
+                try {
+                    createTables(connection);
+                    migrateLegacyData();
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
             });
             initFuture.get();
         } catch (SQLException | InterruptedException | ExecutionException e) {
@@ -63,101 +64,83 @@ public class SQLiteDatabase implements IDatabase {
         }
     }
 
-    private void createTableIfNotExists() {
-        try {
-            ensureConnectionOpen();
-            try (Statement stmt = connection.createStatement()) {
-                stmt.execute(SQL_CREATE_TABLE);
-            }
-        } catch (SQLException e) {
-            ServerUtils.error("Error creating playerData table: " + e.getMessage());
+    /**
+     * Moves players stored in the old single JSON column format into the normalized tables,
+     * the old table is kept as playerData_legacy afterwards so the migration only runs once.
+     */
+    private void migrateLegacyData() throws SQLException {
+        try (ResultSet tables = connection.getMetaData().getTables(null, null, LEGACY_TABLE, null)) {
+            if (!tables.next()) return;
         }
-    }
 
-    public CompletableFuture<List<Map<String, Object>>> queryData(String sql) {
-        return CompletableFuture.supplyAsync(() -> {
-            List<Map<String, Object>> results = new ArrayList<>();
-            try {
-                ensureConnectionOpen();
-                try (Statement stmt = connection.createStatement();
-                     ResultSet rs = stmt.executeQuery(sql)) {
+        int migrated = 0;
+        String last = "";
 
-                    ResultSetMetaData meta = rs.getMetaData();
-                    int columnCount = meta.getColumnCount();
+        while (true) {
+            List<Map.Entry<String, DataDocument>> batch = new ArrayList<>(MIGRATION_BATCH_SIZE);
+            int rows = 0;
 
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "SELECT uuid, data FROM " + LEGACY_TABLE + " WHERE uuid > ? ORDER BY uuid LIMIT " + MIGRATION_BATCH_SIZE)) {
+                ps.setString(1, last);
+                try (ResultSet rs = ps.executeQuery()) {
                     while (rs.next()) {
-                        Map<String, Object> row = new LinkedHashMap<>(columnCount);
-                        for (int i = 1; i <= columnCount; i++) {
-                            row.put(meta.getColumnName(i), rs.getObject(i));
+                        rows++;
+                        last = rs.getString("uuid");
+                        try {
+                            batch.add(Map.entry(last, new DataDocument(rs.getString("data"))));
+                        } catch (RuntimeException e) {
+                            ServerUtils.error("Skipping unreadable player data of " + last + " during migration");
                         }
-                        results.add(row);
                     }
                 }
-            } catch (SQLException e) {
-                ServerUtils.error("Error executing query on SQLite: " + e.getMessage());
-                throw new RuntimeException(e);
             }
-            return results;
-        }, dbExecutor);
+
+            if (!batch.isEmpty()) {
+                write(connection, batch);
+                migrated += batch.size();
+            }
+            if (rows < MIGRATION_BATCH_SIZE) break;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + LEGACY_TABLE + " RENAME TO " + LEGACY_TABLE + "_legacy");
+        }
+
+        ServerUtils.info("Migrated " + migrated + " players to the new SQLite schema.");
     }
 
-    public CompletableFuture<Integer> executeUpdate(String sql, Object... params) {
+    @Override
+    protected <T> CompletableFuture<T> submit(SQLTask<T> task) {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 ensureConnectionOpen();
-                try (PreparedStatement ps = connection.prepareStatement(sql)) {
-                    for (int i = 0; i < params.length; i++) {
-                        ps.setObject(i + 1, params[i]);
-                    }
-                    return ps.executeUpdate();
-                }
+                return task.run(connection);
             } catch (SQLException e) {
-                ServerUtils.error("Error executing update on SQLite: " + e.getMessage());
-                throw new RuntimeException(e);
+                ServerUtils.error("Error executing query on SQLite: " + e.getMessage());
+                throw new CompletionException(e);
             }
         }, dbExecutor);
     }
 
     @Override
-    public CompletableFuture<DataDocument> getUserData(UUID playerUUID) {
-        return queryData("SELECT data FROM playerData WHERE uuid = '" + playerUUID + "'")
-                .thenApply(list -> {
-                    if (list.isEmpty())
-                        return null;
-                    String dataString = (String) list.get(0).get("data");
-                    return new DataDocument(dataString);
-                });
-    }
-
-    @Override
-    public CompletableFuture<Void> replace(UUID playerUUID, DataDocument newDocument) {
-        return executeUpdate(SQL_UPSERT, playerUUID.toString(), newDocument.toDocument().toJson())
-                .thenApply(ignored -> null);
-    }
-
-    @Override
-    public CompletableFuture<Void> replace(String playerUUID, DataDocument newDocument) {
-        return executeUpdate(SQL_UPSERT, playerUUID, newDocument.toDocument().toJson())
-                .thenApply(ignored -> null);
-    }
-
-    @Override
-    public CompletableFuture<List<DataDocument>> getAllByKitType(String kitName, String type) {
-        String sql = "SELECT data FROM playerData " +
-                "WHERE json_extract(data, '$.kitData.\"" + kitName + "\"." + type + "') IS NOT NULL " +
-                "AND json_extract(data, '$.kitData.\"" + kitName + "\"." + type + "') > 0 " +
-                "ORDER BY CAST(json_extract(data, '$.kitData.\"" + kitName + "\"." + type + "') AS INTEGER) DESC";
-
-        return queryData(sql).thenApply(resultList -> {
-            List<DataDocument> results = new ArrayList<>();
-            for (Map<String, Object> row : resultList) {
-                String jsonString = (String) row.get("data");
-                if (jsonString != null) {
-                    results.add(new DataDocument(jsonString));
-                }
+    public void close() {
+        // Closed on the database thread so it happens after every write that was already submitted
+        Future<?> closing = dbExecutor.submit(() -> {
+            try {
+                if (connection != null && !connection.isClosed()) connection.close();
+            } catch (SQLException e) {
+                ServerUtils.error("Failed to close SQLite connection: " + e.getMessage());
             }
-            return results;
         });
-    }
+        dbExecutor.shutdown();
 
+        try {
+            closing.get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            ServerUtils.error("Timed out closing SQLite connection");
+        }
+    }
 }
@@ -0,0 +1,148 @@
+package dev.lrxh.neptune.providers.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.lrxh.neptune.Neptune;
+import dev.lrxh.neptune.configs.impl.SettingsLocale;
+import dev.lrxh.neptune.providers.metrics.impl.Counter;
+import dev.lrxh.neptune.providers.metrics.impl.Gauge;
+import dev.lrxh.neptune.providers.metrics.impl.Metric;
+import dev.lrxh.neptune.providers.metrics.impl.Summary;
+import dev.lrxh.neptune.utils.ServerUtils;
+import org.bukkit.Bukkit;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the plugin's metrics, optionally served in the Prometheus text format on localhost.
+ */
+public class MetricsService {
+    private static MetricsService instance;
+    private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public static MetricsService get() {
+        if (instance == null) instance = new MetricsService();
+
+        return instance;
+    }
+
+    public Counter counter(String name, String help) {
+        return counter(name, help, null);
+    }
+
+    public Counter counter(String name, String help, String labelName) {
+        return (Counter) metrics.computeIfAbsent(name, n -> new Counter(n, help, labelName));
+    }
+
+    public Summary summary(String name, String help) {
+        return summary(name, help, null);
+    }
+
+    public Summary summary(String name, String help, String labelName) {
+        return (Summary) metrics.computeIfAbsent(name, n -> new Summary(n, help, labelName));
+    }
+
+    public void gauge(String name, String help, Supplier<? extends Number> supplier) {
+        metrics.put(name, new Gauge(name, help, null, () -> Map.of("", supplier.get())));
+    }
+
+    public void gauge(String name, String help, String labelName, Supplier<Map<String, ? extends Number>> supplier) {
+        metrics.put(name, new Gauge(name, help, labelName, supplier));
+    }
+
+    /**
+     * Every metric in the Prometheus text format, must be called on the main thread.
+     */
+    public String scrape() {
+        StringBuilder builder = new StringBuilder();
+        for (Metric metric : metrics.values()) {
+            try {
+                metric.write(builder);
+            } catch (RuntimeException e) {
+                ServerUtils.error("Failed to collect metric " + metric.getName() + ": " + e.getMessage());
+            }
+        }
+        return builder.toString();
+    }
+
+    public void start() {
+        if (!SettingsLocale.METRICS_ENABLED.getBoolean()) return;
+
+        int port = SettingsLocale.METRICS_PORT.getInt();
+        try {
+            // Gauges read plugin state that is only safe to touch from the main thread
+            start(port, () -> Bukkit.getScheduler().callSyncMethod(Neptune.get(), this::scrape).get(5, TimeUnit.SECONDS));
+        } catch (IOException e) {
+            ServerUtils.error("Failed to start the metrics endpoint on port " + port + ": " + e.getMessage());
+            return;
+        }
+
+        ServerUtils.info("Serving metrics on http://localhost:" + port + "/metrics");
+    }
+
+    /**
+     * Serves what the source returns on the loopback port, 0 binds any free one. Returns the bound port.
+     */
+    public int start(int port, Callable<String> source) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "neptune-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", exchange -> handle(exchange, source));
+        server.start();
+
+        return server.getAddress().getPort();
+    }
+
+    public void shutdown() {
+        if (server == null) return;
+
+        server.stop(0);
+        executor.shutdown();
+        server = null;
+    }
+
+    private void handle(HttpExchange exchange, Callable<String> source) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body;
+            try {
+                body = source.call().getBytes(StandardCharsets.UTF_8);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            } catch (Exception e) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+    }
+}
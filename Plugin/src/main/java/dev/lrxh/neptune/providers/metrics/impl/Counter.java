@@ -0,0 +1,39 @@
+package dev.lrxh.neptune.providers.metrics.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Counter extends Metric {
+    private static final String UNLABELLED = "";
+    private final Map<String, LongAdder> values = new ConcurrentHashMap<>();
+
+    public Counter(String name, String help, String labelName) {
+        super(name, help, "counter", labelName);
+    }
+
+    public void inc() {
+        inc(UNLABELLED);
+    }
+
+    public void inc(String labelValue) {
+        values.computeIfAbsent(labelValue, value -> new LongAdder()).increment();
+    }
+
+    public long get(String labelValue) {
+        LongAdder adder = values.get(labelValue);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    @Override
+    protected void writeSamples(StringBuilder builder) {
+        if (values.isEmpty()) {
+            if (getLabelName() == null) writeSample(builder, "", null, null, 0);
+            return;
+        }
+
+        for (Map.Entry<String, LongAdder> entry : values.entrySet()) {
+            writeSample(builder, "", entry.getKey(), null, entry.getValue().sum());
+        }
+    }
+}
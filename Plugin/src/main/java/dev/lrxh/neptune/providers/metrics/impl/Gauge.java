@@ -0,0 +1,23 @@
+package dev.lrxh.neptune.providers.metrics.impl;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Value read when scraped, always on the main thread.
+ */
+public class Gauge extends Metric {
+    private final Supplier<Map<String, ? extends Number>> supplier;
+
+    public Gauge(String name, String help, String labelName, Supplier<Map<String, ? extends Number>> supplier) {
+        super(name, help, "gauge", labelName);
+        this.supplier = supplier;
+    }
+
+    @Override
+    protected void writeSamples(StringBuilder builder) {
+        for (Map.Entry<String, ? extends Number> entry : supplier.get().entrySet()) {
+            writeSample(builder, "", entry.getKey(), null, entry.getValue().doubleValue());
+        }
+    }
+}
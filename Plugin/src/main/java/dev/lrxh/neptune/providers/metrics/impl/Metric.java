@@ -0,0 +1,50 @@
+package dev.lrxh.neptune.providers.metrics.impl;
+
+import lombok.Getter;
+
+@Getter
+public abstract class Metric {
+    private final String name;
+    private final String help;
+    private final String type;
+    private final String labelName;
+
+    protected Metric(String name, String help, String type, String labelName) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+        this.labelName = labelName;
+    }
+
+    /**
+     * Appends the metric in the Prometheus text exposition format.
+     */
+    public void write(StringBuilder builder) {
+        builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        writeSamples(builder);
+    }
+
+    protected abstract void writeSamples(StringBuilder builder);
+
+    protected void writeSample(StringBuilder builder, String suffix, String labelValue, String extraLabel, double value) {
+        builder.append(name).append(suffix);
+
+        boolean labelled = labelName != null && labelValue != null;
+        if (labelled || extraLabel != null) {
+            builder.append('{');
+            if (labelled) builder.append(labelName).append("=\"").append(escape(labelValue)).append('"');
+            if (extraLabel != null) builder.append(labelled ? "," : "").append(extraLabel);
+            builder.append('}');
+        }
+
+        builder.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) builder.append((long) value);
+        else builder.append(value);
+        builder.append('\n');
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,95 @@
+package dev.lrxh.neptune.providers.metrics.impl;
+
+import dev.lrxh.neptune.utils.Histogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Durations recorded in nanoseconds and exported in seconds. Quantiles cover roughly the last ten minutes,
+ * the sum and count are kept since startup like Prometheus expects.
+ */
+public class Summary extends Metric {
+    private static final String UNLABELLED = "";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    private static final long MAX_AGE = TimeUnit.MINUTES.toNanos(10);
+    private static final int AGE_BUCKETS = 5;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public Summary(String name, String help, String labelName) {
+        super(name, help, "summary", labelName);
+    }
+
+    public void record(long nanos) {
+        record(UNLABELLED, nanos);
+    }
+
+    public void record(String labelValue, long nanos) {
+        windows.computeIfAbsent(labelValue, value -> new Window()).record(nanos);
+    }
+
+    @Override
+    protected void writeSamples(StringBuilder builder) {
+        for (Map.Entry<String, Window> entry : windows.entrySet()) {
+            Window window = entry.getValue();
+            Histogram histogram = window.current();
+
+            for (double quantile : QUANTILES) {
+                writeSample(builder, "", entry.getKey(), "quantile=\"" + quantile + "\"",
+                        histogram.getValueAtPercentile(quantile * 100) / 1e9);
+            }
+            writeSample(builder, "_sum", entry.getKey(), null, window.total.get() / 1e9);
+            writeSample(builder, "_count", entry.getKey(), null, window.count.get());
+        }
+    }
+
+    /**
+     * Every value goes into each of the staggered histograms, quantiles are read from the oldest one,
+     * which is replaced by an empty histogram once it spans the whole window.
+     */
+    private static class Window {
+        private final AtomicReferenceArray<Histogram> ages = new AtomicReferenceArray<>(AGE_BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong total = new AtomicLong();
+        private volatile long rotatedAt = System.nanoTime();
+        private int oldest;
+
+        private Window() {
+            for (int i = 0; i < AGE_BUCKETS; i++) {
+                ages.set(i, new Histogram());
+            }
+        }
+
+        private void record(long nanos) {
+            rotate();
+            for (int i = 0; i < AGE_BUCKETS; i++) {
+                ages.get(i).record(nanos);
+            }
+            count.incrementAndGet();
+            total.addAndGet(Math.max(0, nanos));
+        }
+
+        private Histogram current() {
+            rotate();
+            synchronized (this) {
+                return ages.get(oldest);
+            }
+        }
+
+        private void rotate() {
+            if (System.nanoTime() - rotatedAt < MAX_AGE / AGE_BUCKETS) return;
+
+            synchronized (this) {
+                long now = System.nanoTime();
+                while (now - rotatedAt >= MAX_AGE / AGE_BUCKETS) {
+                    ages.set(oldest, new Histogram());
+                    oldest = (oldest + 1) % AGE_BUCKETS;
+                    rotatedAt += MAX_AGE / AGE_BUCKETS;
+                }
+            }
+        }
+    }
+}
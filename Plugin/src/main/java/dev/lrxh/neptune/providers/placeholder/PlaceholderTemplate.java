@@ -0,0 +1,71 @@
+package dev.lrxh.neptune.providers.placeholder;
+
+import dev.lrxh.neptune.scoreboard.snapshot.PlayerSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class PlaceholderTemplate {
+    private final String raw;
+    private final String[] literals;
+    private final String[] keys;
+    private final List<Function<PlayerSnapshot, String>> resolvers;
+
+    private PlaceholderTemplate(String raw, String[] literals, String[] keys,
+                                List<Function<PlayerSnapshot, String>> resolvers) {
+        this.raw = raw;
+        this.literals = literals;
+        this.keys = keys;
+        this.resolvers = resolvers;
+    }
+
+    public static PlaceholderTemplate compile(String line, Map<String, Function<PlayerSnapshot, String>> table) {
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<Function<PlayerSnapshot, String>> resolvers = new ArrayList<>();
+
+        int literalStart = 0;
+        int open = line.indexOf('<');
+        while (open != -1) {
+            int close = line.indexOf('>', open + 1);
+            if (close == -1) break;
+
+            int nested = line.lastIndexOf('<', close);
+            String key = line.substring(nested, close + 1);
+            Function<PlayerSnapshot, String> resolver = table.get(key);
+
+            if (resolver != null) {
+                literals.add(line.substring(literalStart, nested));
+                keys.add(key);
+                resolvers.add(resolver);
+                literalStart = close + 1;
+            }
+
+            open = line.indexOf('<', close + 1);
+        }
+        literals.add(line.substring(literalStart));
+
+        return new PlaceholderTemplate(line, literals.toArray(new String[0]), keys.toArray(new String[0]), resolvers);
+    }
+
+    public boolean isStatic() {
+        return keys.length == 0;
+    }
+
+    public String apply(PlayerSnapshot snapshot) {
+        if (isStatic()) return raw;
+
+        StringBuilder builder = new StringBuilder(raw.length() + keys.length * 8);
+        for (int i = 0; i < keys.length; i++) {
+            builder.append(literals[i]);
+
+            String value = resolvers.get(i).apply(snapshot);
+            builder.append(value != null ? value : keys[i]);
+        }
+        builder.append(literals[keys.length]);
+
+        return builder.toString();
+    }
+}
@@ -1,198 +1,245 @@
 package dev.lrxh.neptune.providers.placeholder;
 
-import dev.lrxh.neptune.API;
 import dev.lrxh.neptune.Neptune;
-import dev.lrxh.neptune.feature.party.Party;
-import dev.lrxh.neptune.feature.queue.QueueEntry;
-import dev.lrxh.neptune.feature.queue.QueueService;
-import dev.lrxh.neptune.game.kit.impl.KitRule;
-import dev.lrxh.neptune.game.match.Match;
-import dev.lrxh.neptune.game.match.MatchService;
-import dev.lrxh.neptune.game.match.impl.ffa.FfaFightMatch;
-import dev.lrxh.neptune.game.match.impl.participant.Participant;
-import dev.lrxh.neptune.game.match.impl.solo.SoloFightMatch;
-import dev.lrxh.neptune.game.match.impl.team.MatchTeam;
-import dev.lrxh.neptune.game.match.impl.team.TeamFightMatch;
-import dev.lrxh.neptune.profile.data.GlobalStats;
 import dev.lrxh.neptune.profile.data.ProfileState;
-import dev.lrxh.neptune.profile.impl.Profile;
-import dev.lrxh.neptune.utils.PlayerUtil;
+import dev.lrxh.neptune.scoreboard.ScoreboardSnapshotService;
+import dev.lrxh.neptune.scoreboard.snapshot.MatchSnapshot;
+import dev.lrxh.neptune.scoreboard.snapshot.ParticipantSnapshot;
+import dev.lrxh.neptune.scoreboard.snapshot.PlayerSnapshot;
+import dev.lrxh.neptune.scoreboard.snapshot.TeamSnapshot;
 import lombok.experimental.UtilityClass;
 import me.clip.placeholderapi.PlaceholderAPI;
 import me.clip.placeholderapi.PlaceholderAPIPlugin;
 import net.kyori.adventure.text.Component;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 @UtilityClass
 public class PlaceholderUtil {
 
+    private static final Map<String, Function<PlayerSnapshot, String>> RESOLVERS = new HashMap<>();
+    private static final Map<String, PlaceholderTemplate> TEMPLATES = new ConcurrentHashMap<>();
+    private static final int MAX_TEMPLATES = 4096;
+    private static final Pattern TAG_PATTERN = Pattern.compile("<.*?>");
+
     public List<String> format(List<String> lines, Player player) {
-        List<String> formattedLines = new ArrayList<>();
+        return format(lines, player, ScoreboardSnapshotService.get().get(player));
+    }
+
+    public List<String> format(List<String> lines, Player player, PlayerSnapshot snapshot) {
+        List<String> formattedLines = new ArrayList<>(lines.size());
+
+        if (snapshot == null) {
+            formattedLines.addAll(lines);
+            return formattedLines;
+        }
 
         for (String line : lines) {
-            formattedLines.add(format(line, player));
+            formattedLines.add(format(line, player, snapshot));
         }
 
         return formattedLines;
     }
 
     public Component format(Component component, Player player) {
+        PlayerSnapshot snapshot = ScoreboardSnapshotService.get().get(player);
+        if (snapshot == null) return component;
+
         return component.replaceText(builder -> builder
-                .match(Pattern.compile("<.*?>"))
+                .match(TAG_PATTERN)
                 .replacement((match, builder1) -> {
                     String placeholder = match.group();
-                    String replacement = format(placeholder, player);
+                    String replacement = format(placeholder, player, snapshot);
                     return Component.text(replacement);
                 }));
     }
 
     public String format(String line, Player player) {
-        Profile profile = API.getProfile(player);
-        if (profile == null)
+        PlayerSnapshot snapshot = ScoreboardSnapshotService.get().get(player);
+        if (snapshot == null)
             return line;
-        ProfileState state = profile.getState();
-
-        line = line.replaceAll("<online>", String.valueOf(Bukkit.getServer().getOnlinePlayers().size()));
-        line = line.replaceAll("<queued>", String.valueOf(QueueService.get().getQueueSize()));
-        line = line.replaceAll("<in-match>", String.valueOf(MatchService.get().matches.size()));
-        line = line.replaceAll("<player>", player.getName());
-        line = line.replaceAll("<ping>", String.valueOf((PlayerUtil.getPing(player))));
-        line = line.replaceAll("<division>", profile.getGameData().getGlobalStats().getDivision().getDisplayName());
-
-        GlobalStats globalStats = profile.getGameData().getGlobalStats();
-        line = line.replaceAll("<wins>", String.valueOf(globalStats.getWins()));
-        line = line.replaceAll("<losses>", String.valueOf(globalStats.getLosses()));
-        line = line.replaceAll("<currentStreak>", String.valueOf(globalStats.getCurrentStreak()));
-
-        if (state.equals(ProfileState.IN_QUEUE)) {
-            QueueEntry queueEntry = QueueService.get().get(player.getUniqueId());
-            if (queueEntry == null)
-                return line;
-            line = line.replaceAll("<kit>", queueEntry.getKit().getDisplayName());
-            line = line.replaceAll("<maxPing>", String.valueOf(profile.getSettingData().getMaxPing()));
-            line = line.replaceAll("<time>", String.valueOf(queueEntry.getTime().formatTime()));
-            line = line.replaceAll("<kit_division>",
-                    profile.getGameData().get(queueEntry.getKit()).getDivision().getDisplayName());
-        }
 
-        if (state.equals(ProfileState.IN_KIT_EDITOR)) {
-            line = line.replaceAll("<kit>", profile.getGameData().getKitEditor().getDisplayName());
-        }
+        return format(line, player, snapshot);
+    }
 
-        Party party = profile.getGameData().getParty();
-        if (party != null) {
-            line = line.replaceAll("<leader>", party.getLeaderName());
-            line = line.replaceAll("<size>", String.valueOf(party.getUsers().size()));
-            line = line.replaceAll("<party-max>", String.valueOf(party.getMaxUsers()));
-        }
+    public String format(String line, Player player, PlayerSnapshot snapshot) {
+        PlaceholderTemplate template = TEMPLATES.get(line);
+        if (template == null) {
+            if (TEMPLATES.size() >= MAX_TEMPLATES) TEMPLATES.clear();
 
-        if (profile.getMatch() != null) {
-            Match match = profile.getMatch();
-            Participant participant = match.getParticipant(player.getUniqueId());
-
-            line = line.replaceAll("<maxPoints>", String.valueOf(match.getRounds()));
-            line = line.replaceAll("<kit_division>",
-                    profile.getGameData().get(profile.getMatch().getKit()).getDivision().getDisplayName());
-            if (match instanceof SoloFightMatch soloFightMatch) {
-                Participant red = soloFightMatch.getParticipantA();
-                Participant blue = soloFightMatch.getParticipantB();
-                line = line.replaceAll("<red-hits>", String.valueOf(red.getHits()));
-                line = line.replaceAll("<blue-hits>", String.valueOf(blue.getHits()));
-                line = line.replaceAll("<red-combo>", red.getCombo() > 1 ? "&e(" + red.getCombo() + " Combo)" : "");
-                line = line.replaceAll("<blue-combo>", blue.getCombo() > 1 ? "&e(" + blue.getCombo() + " Combo)" : "");
-                line = line.replaceAll("<red-points>", String.valueOf(red.getPoints()));
-                line = line.replaceAll("<blue-points>", String.valueOf(blue.getPoints()));
-                line = line.replaceAll("<red-difference>", String.valueOf(red.getHitsDifference(blue)));
-                line = line.replaceAll("<blue-difference>", String.valueOf(blue.getHitsDifference(red)));
-                line = line.replaceAll("<playerRed_name>", red.getNameUnColored());
-                line = line.replaceAll("<playerBlue_name>", blue.getNameUnColored());
-
-                line = line.replaceAll("<playerRed_ping>",
-                        String.valueOf(PlayerUtil.getPing(red.getPlayer())));
-                line = line.replaceAll("<playerBlue_ping>",
-                        String.valueOf(PlayerUtil.getPing(blue.getPlayer())));
-
-                if (match.getKit().is(KitRule.BED_WARS)) {
-                    line = line.replaceAll("<red-bed-status>", !red.isBedBroken() ? "&a✔" : "&c1");
-                    line = line.replaceAll("<blue-bed-status>", !blue.isBedBroken() ? "&a✔" : "&c1");
-                }
-
-                if (participant != null) {
-                    Participant opponent = participant.getOpponent();
-                    Player opponentPlayer = participant.getOpponent().getPlayer();
-
-                    line = line.replaceAll("<hits>", String.valueOf(participant.getHits()));
-                    line = line.replaceAll("<combo>",
-                            participant.getCombo() > 1 ? "&e(" + participant.getCombo() + " Combo)" : "");
-                    line = line.replaceAll("<opponent>", participant.getOpponent().getNameUnColored());
-                    line = line.replaceAll("<opponent-ping>",
-                            String.valueOf(opponentPlayer == null ? 0 : opponentPlayer.getPing()));
-                    line = line.replaceAll("<opponent-combo>",
-                            opponent.getCombo() > 1 ? "&e(" + opponent.getCombo() + " Combo)" : "");
-                    line = line.replaceAll("<opponent-hits>", String.valueOf(opponent.getHits()));
-                    line = line.replaceAll("<diffrence>", participant.getHitsDifference(opponent));
-                    // fixes the typo
-                    line = line.replaceAll("<difference>", participant.getHitsDifference(opponent));
-                    line = line.replaceAll("<points>", String.valueOf(participant.getPoints()));
-                    line = line.replaceAll("<opponent-points>", String.valueOf(opponent.getPoints()));
-
-                    if (match.getKit().is(KitRule.BED_WARS)) {
-                        line = line.replaceAll("<bed-status>", !participant.isBedBroken() ? "&a✔" : "&c1");
-                        line = line.replaceAll("<opponent-bed-status>", !opponent.isBedBroken() ? "&a✔" : "&c1");
-                    }
-                }
-            } else if (match instanceof TeamFightMatch teamFightMatch) {
-                MatchTeam redTeam = teamFightMatch.getTeamA();
-                MatchTeam blueTeam = teamFightMatch.getTeamB();
-                line = line.replaceAll("<alive-red>", String.valueOf(redTeam.getAliveParticipants()));
-                line = line.replaceAll("<max-red>", String.valueOf(redTeam.getParticipants().size()));
-                line = line.replaceAll("<alive-blue>", String.valueOf(blueTeam.getAliveParticipants()));
-                line = line.replaceAll("<max-blue>", String.valueOf(blueTeam.getParticipants().size()));
-
-                if (match.getKit().is(KitRule.BED_WARS)) {
-                    line = line.replaceAll("<red-bed-status>",
-                            !redTeam.isBedBroken() ? "&a✔" : "&c" + redTeam.getAliveParticipants());
-                    line = line.replaceAll("<blue-bed-status>",
-                            !blueTeam.isBedBroken() ? "&a✔" : "&c" + blueTeam.getAliveParticipants());
-                }
-                if (participant != null) {
-                    MatchTeam matchTeam = teamFightMatch.getParticipantTeam(participant);
-                    MatchTeam opponentTeam = teamFightMatch.getParticipantTeam(participant).getOpponentTeam();
-                    line = line.replaceAll("<alive>", String.valueOf(matchTeam.getAliveParticipants()));
-                    line = line.replaceAll("<max>", String.valueOf(matchTeam.getParticipants().size()));
-                    line = line.replaceAll("<alive-opponent>", String.valueOf(opponentTeam.getAliveParticipants()));
-                    line = line.replaceAll("<max-opponent>", String.valueOf(opponentTeam.getParticipants().size()));
-
-                    if (match.getRounds() > 1) {
-                        line = line.replaceAll("<points>", String.valueOf(matchTeam.getPoints()));
-                        line = line.replaceAll("<opponent-points>", String.valueOf(opponentTeam.getPoints()));
-                    }
-                    if (match.getKit().is(KitRule.BED_WARS)) {
-                        line = line.replaceAll("<team-bed-status>",
-                                !matchTeam.isBedBroken() ? "&a✔" : "&c" + matchTeam.getAliveParticipants());
-                        line = line.replaceAll("<opponent-team-bed-status>",
-                                !opponentTeam.isBedBroken() ? "&a✔" : "&c" + opponentTeam.getAliveParticipants());
-                    }
-                }
-            } else if (match instanceof FfaFightMatch ffaFightMatch) {
-                line = line.replaceAll("<alive>", String
-                        .valueOf(ffaFightMatch.getParticipants().size() - ffaFightMatch.deadParticipants.size()));
-                line = line.replaceAll("<max>", String.valueOf(ffaFightMatch.getParticipants().size()));
-            }
-
-            line = line.replaceAll("<kit>", match.getKit().getDisplayName());
-            line = line.replaceAll("<arena>", match.getArena().getDisplayName());
-            line = line.replaceAll("<time>", match.getTime().formatTime());
+            template = PlaceholderTemplate.compile(line, RESOLVERS);
+            TEMPLATES.put(line, template);
         }
+
+        line = template.apply(snapshot);
+
         if (Neptune.get().isPlaceholder() && PlaceholderAPIPlugin.getInstance().isEnabled()) {
             return PlaceholderAPI.setPlaceholders(player, line);
         }
 
         return line;
     }
-}
\ No newline at end of file
+
+    public void clearCache() {
+        TEMPLATES.clear();
+    }
+
+    private void register(String key, Function<PlayerSnapshot, String> resolver) {
+        RESOLVERS.put(key, resolver);
+    }
+
+    private String bedStatus(boolean broken, String alive) {
+        return !broken ? "&a✔" : "&c" + alive;
+    }
+
+    private String combo(ParticipantSnapshot participant) {
+        return participant.combo() > 1 ? "&e(" + participant.combo() + " Combo)" : "";
+    }
+
+    private MatchSnapshot solo(PlayerSnapshot snapshot) {
+        MatchSnapshot match = snapshot.match();
+        return match != null && match.type() == MatchSnapshot.Type.SOLO ? match : null;
+    }
+
+    private MatchSnapshot team(PlayerSnapshot snapshot) {
+        MatchSnapshot match = snapshot.match();
+        return match != null && match.type() == MatchSnapshot.Type.TEAM ? match : null;
+    }
+
+    private ParticipantSnapshot soloParticipant(PlayerSnapshot snapshot) {
+        return solo(snapshot) != null ? snapshot.participant() : null;
+    }
+
+    private ParticipantSnapshot soloOpponent(PlayerSnapshot snapshot) {
+        ParticipantSnapshot participant = soloParticipant(snapshot);
+        return participant == null ? null : snapshot.match().getOpponent(participant);
+    }
+
+    private TeamSnapshot ownTeam(PlayerSnapshot snapshot) {
+        MatchSnapshot match = team(snapshot);
+        if (match == null || snapshot.participant() == null) return null;
+        return match.getTeam(snapshot.participant());
+    }
+
+    private TeamSnapshot opponentTeam(PlayerSnapshot snapshot) {
+        MatchSnapshot match = team(snapshot);
+        if (match == null || snapshot.participant() == null) return null;
+        return match.getOpponentTeam(snapshot.participant());
+    }
+
+    static {
+        register("<online>", snapshot -> String.valueOf(snapshot.online()));
+        register("<queued>", snapshot -> String.valueOf(snapshot.queued()));
+        register("<in-match>", snapshot -> String.valueOf(snapshot.inMatch()));
+        register("<player>", PlayerSnapshot::name);
+        register("<ping>", snapshot -> String.valueOf(snapshot.ping()));
+        register("<division>", PlayerSnapshot::division);
+        register("<wins>", snapshot -> String.valueOf(snapshot.wins()));
+        register("<losses>", snapshot -> String.valueOf(snapshot.losses()));
+        register("<currentStreak>", snapshot -> String.valueOf(snapshot.currentStreak()));
+
+        register("<kit>", snapshot -> {
+            if (snapshot.queueKit() != null) return snapshot.queueKit();
+            if (snapshot.state() == ProfileState.IN_KIT_EDITOR) return snapshot.editorKit();
+            if (snapshot.match() != null) return snapshot.match().kit();
+            return null;
+        });
+        register("<maxPing>", snapshot -> snapshot.queueKit() == null ? null : String.valueOf(snapshot.maxPing()));
+        register("<time>", snapshot -> {
+            if (snapshot.queueTime() != null) return snapshot.queueTime();
+            if (snapshot.match() != null) return snapshot.match().time();
+            return null;
+        });
+        register("<kit_division>", PlayerSnapshot::kitDivision);
+
+        register("<leader>", snapshot -> snapshot.party() == null ? null : snapshot.party().leader());
+        register("<size>", snapshot -> snapshot.party() == null ? null : String.valueOf(snapshot.party().size()));
+        register("<party-max>", snapshot -> snapshot.party() == null ? null : String.valueOf(snapshot.party().max()));
+
+        register("<maxPoints>", snapshot -> snapshot.match() == null ? null : String.valueOf(snapshot.match().rounds()));
+        register("<arena>", snapshot -> snapshot.match() == null ? null : snapshot.match().arena());
+
+        register("<red-hits>", snapshot -> solo(snapshot) == null ? null : String.valueOf(solo(snapshot).red().hits()));
+        register("<blue-hits>", snapshot -> solo(snapshot) == null ? null : String.valueOf(solo(snapshot).blue().hits()));
+        register("<red-combo>", snapshot -> solo(snapshot) == null ? null : combo(solo(snapshot).red()));
+        register("<blue-combo>", snapshot -> solo(snapshot) == null ? null : combo(solo(snapshot).blue()));
+        register("<red-points>", snapshot -> solo(snapshot) == null ? null : String.valueOf(solo(snapshot).red().points()));
+        register("<blue-points>", snapshot -> solo(snapshot) == null ? null : String.valueOf(solo(snapshot).blue().points()));
+        register("<red-difference>", snapshot -> solo(snapshot) == null ? null : solo(snapshot).red().difference());
+        register("<blue-difference>", snapshot -> solo(snapshot) == null ? null : solo(snapshot).blue().difference());
+        register("<playerRed_name>", snapshot -> solo(snapshot) == null ? null : solo(snapshot).red().name());
+        register("<playerBlue_name>", snapshot -> solo(snapshot) == null ? null : solo(snapshot).blue().name());
+        register("<playerRed_ping>", snapshot -> solo(snapshot) == null ? null : String.valueOf(solo(snapshot).red().ping()));
+        register("<playerBlue_ping>", snapshot -> solo(snapshot) == null ? null : String.valueOf(solo(snapshot).blue().ping()));
+
+        register("<red-bed-status>", snapshot -> {
+            MatchSnapshot match = snapshot.match();
+            if (match == null || !match.bedWars()) return null;
+            if (match.type() == MatchSnapshot.Type.SOLO) return bedStatus(match.red().bedBroken(), "1");
+            if (match.type() == MatchSnapshot.Type.TEAM)
+                return bedStatus(match.redTeam().bedBroken(), String.valueOf(match.redTeam().alive()));
+            return null;
+        });
+        register("<blue-bed-status>", snapshot -> {
+            MatchSnapshot match = snapshot.match();
+            if (match == null || !match.bedWars()) return null;
+            if (match.type() == MatchSnapshot.Type.SOLO) return bedStatus(match.blue().bedBroken(), "1");
+            if (match.type() == MatchSnapshot.Type.TEAM)
+                return bedStatus(match.blueTeam().bedBroken(), String.valueOf(match.blueTeam().alive()));
+            return null;
+        });
+
+        register("<hits>", snapshot -> soloParticipant(snapshot) == null ? null : String.valueOf(soloParticipant(snapshot).hits()));
+        register("<combo>", snapshot -> soloParticipant(snapshot) == null ? null : combo(soloParticipant(snapshot)));
+        register("<opponent>", snapshot -> soloOpponent(snapshot) == null ? null : soloOpponent(snapshot).name());
+        register("<opponent-ping>", snapshot -> soloOpponent(snapshot) == null ? null : String.valueOf(soloOpponent(snapshot).ping()));
+        register("<opponent-combo>", snapshot -> soloOpponent(snapshot) == null ? null : combo(soloOpponent(snapshot)));
+        register("<opponent-hits>", snapshot -> soloOpponent(snapshot) == null ? null : String.valueOf(soloOpponent(snapshot).hits()));
+        register("<diffrence>", snapshot -> soloParticipant(snapshot) == null ? null : soloParticipant(snapshot).difference());
+        // fixes the typo
+        register("<difference>", snapshot -> soloParticipant(snapshot) == null ? null : soloParticipant(snapshot).difference());
+        register("<points>", snapshot -> {
+            if (soloParticipant(snapshot) != null) return String.valueOf(soloParticipant(snapshot).points());
+            if (ownTeam(snapshot) != null && snapshot.match().rounds() > 1) return String.valueOf(ownTeam(snapshot).points());
+            return null;
+        });
+        register("<opponent-points>", snapshot -> {
+            if (soloOpponent(snapshot) != null) return String.valueOf(soloOpponent(snapshot).points());
+            if (opponentTeam(snapshot) != null && snapshot.match().rounds() > 1)
+                return String.valueOf(opponentTeam(snapshot).points());
+            return null;
+        });
+        register("<bed-status>", snapshot -> soloParticipant(snapshot) == null || !snapshot.match().bedWars() ? null
+                : bedStatus(soloParticipant(snapshot).bedBroken(), "1"));
+        register("<opponent-bed-status>", snapshot -> soloOpponent(snapshot) == null || !snapshot.match().bedWars() ? null
+                : bedStatus(soloOpponent(snapshot).bedBroken(), "1"));
+
+        register("<alive-red>", snapshot -> team(snapshot) == null ? null : String.valueOf(team(snapshot).redTeam().alive()));
+        register("<max-red>", snapshot -> team(snapshot) == null ? null : String.valueOf(team(snapshot).redTeam().size()));
+        register("<alive-blue>", snapshot -> team(snapshot) == null ? null : String.valueOf(team(snapshot).blueTeam().alive()));
+        register("<max-blue>", snapshot -> team(snapshot) == null ? null : String.valueOf(team(snapshot).blueTeam().size()));
+        register("<alive>", snapshot -> {
+            MatchSnapshot match = snapshot.match();
+            if (match != null && match.type() == MatchSnapshot.Type.FFA) return String.valueOf(match.alive());
+            return ownTeam(snapshot) == null ? null : String.valueOf(ownTeam(snapshot).alive());
+        });
+        register("<max>", snapshot -> {
+            MatchSnapshot match = snapshot.match();
+            if (match != null && match.type() == MatchSnapshot.Type.FFA) return String.valueOf(match.size());
+            return ownTeam(snapshot) == null ? null : String.valueOf(ownTeam(snapshot).size());
+        });
+        register("<alive-opponent>", snapshot -> opponentTeam(snapshot) == null ? null : String.valueOf(opponentTeam(snapshot).alive()));
+        register("<max-opponent>", snapshot -> opponentTeam(snapshot) == null ? null : String.valueOf(opponentTeam(snapshot).size()));
+        register("<team-bed-status>", snapshot -> ownTeam(snapshot) == null || !snapshot.match().bedWars() ? null
+                : bedStatus(ownTeam(snapshot).bedBroken(), String.valueOf(ownTeam(snapshot).alive())));
+        register("<opponent-team-bed-status>", snapshot -> opponentTeam(snapshot) == null || !snapshot.match().bedWars() ? null
+                : bedStatus(opponentTeam(snapshot).bedBroken(), String.valueOf(opponentTeam(snapshot).alive())));
+    }
+}
@@ -7,11 +7,14 @@ import org.bukkit.OfflinePlayer;
 public class LeaderboardPlaceholder implements Placeholder {
     @Override
     public boolean match(String string) {
-        return LeaderboardService.get().PATTERN.matcher(string).matches();
+        return LeaderboardService.get().PATTERN.matcher(string).matches()
+                || LeaderboardService.get().RANK_PATTERN.matcher(string).matches();
     }
 
     @Override
     public String parse(OfflinePlayer player, String string) {
-        return LeaderboardService.get().getPlaceholder(string);
+        if (player == null) return LeaderboardService.get().getPlaceholder(string);
+
+        return LeaderboardService.get().getPlaceholder(player.getUniqueId(), string);
     }
 }
@@ -8,6 +8,7 @@ import org.bukkit.OfflinePlayer;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -33,7 +34,7 @@ public class RecentMatchPlaceholder implements Placeholder {
         int matchHistoryIndex = Integer.parseInt(matcher.group(1));
         String type = matcher.group(2);
         if (profile.getGameData().getMatchHistories().size() < matchHistoryIndex) return "";
-        List<MatchHistory> matchHistories = profile.getGameData().getMatchHistories();
+        List<MatchHistory> matchHistories = new ArrayList<>(profile.getGameData().getMatchHistories());
         Collections.reverse(matchHistories);
         MatchHistory history = matchHistories.get(matchHistoryIndex - 1);
         return switch (type) {
@@ -2,14 +2,13 @@ package dev.lrxh.neptune.scoreboard;
 
 import dev.lrxh.neptune.API;
 import dev.lrxh.neptune.configs.impl.ScoreboardLocale;
-import dev.lrxh.neptune.game.kit.impl.KitRule;
-import dev.lrxh.neptune.game.match.Match;
-import dev.lrxh.neptune.game.match.impl.ffa.FfaFightMatch;
-import dev.lrxh.neptune.game.match.impl.solo.SoloFightMatch;
-import dev.lrxh.neptune.game.match.impl.team.TeamFightMatch;
-import dev.lrxh.neptune.profile.data.ProfileState;
+import dev.lrxh.neptune.game.match.impl.MatchState;
 import dev.lrxh.neptune.profile.impl.Profile;
+import dev.lrxh.neptune.providers.metrics.MetricsService;
+import dev.lrxh.neptune.providers.metrics.impl.Summary;
 import dev.lrxh.neptune.providers.placeholder.PlaceholderUtil;
+import dev.lrxh.neptune.scoreboard.snapshot.MatchSnapshot;
+import dev.lrxh.neptune.scoreboard.snapshot.PlayerSnapshot;
 import fr.mrmicky.fastboard.FastAdapter;
 import org.bukkit.entity.Player;
 
@@ -17,47 +16,48 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class ScoreboardAdapter implements FastAdapter {
+    private final Summary renderTime = MetricsService.get().summary("neptune_scoreboard_render_seconds",
+            "Time taken to render the scoreboard lines of a player.");
+
     public String getTitle(Player player) {
         return PlaceholderUtil.format(getAnimatedText(), player);
     }
 
     public List<String> getLines(Player player) {
-        Profile profile = API.getProfile(player);
-        if (profile == null) return new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            return render(player);
+        } finally {
+            renderTime.record(System.nanoTime() - start);
+        }
+    }
 
-        ProfileState state = profile.getState();
-        Match match;
+    private List<String> render(Player player) {
+        PlayerSnapshot snapshot = ScoreboardSnapshotService.get().get(player);
+        if (snapshot == null) return new ArrayList<>();
 
-        switch (state) {
+        MatchSnapshot match = snapshot.match();
+
+        switch (snapshot.state()) {
             case IN_LOBBY:
-                return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.LOBBY.getStringList()), player);
+                return PlaceholderUtil.format(ScoreboardLocale.LOBBY.getStringList(), player, snapshot);
             case IN_KIT_EDITOR:
-                return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.KIT_EDITOR.getStringList()), player);
+                return PlaceholderUtil.format(ScoreboardLocale.KIT_EDITOR.getStringList(), player, snapshot);
             case IN_PARTY:
-                return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.PARTY_LOBBY.getStringList()), player);
+                return PlaceholderUtil.format(ScoreboardLocale.PARTY_LOBBY.getStringList(), player, snapshot);
             case IN_QUEUE:
-                return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_QUEUE.getStringList()), player);
+                return PlaceholderUtil.format(ScoreboardLocale.IN_QUEUE.getStringList(), player, snapshot);
             case IN_GAME:
-                match = profile.getMatch();
-                return match.getScoreboard(player.getUniqueId());
+                if (match == null) break;
+                List<String> lines = getGameLines(match);
+                if (lines == null) break;
+                return PlaceholderUtil.format(lines, player, snapshot);
             case IN_SPECTATOR:
-                match = profile.getMatch();
-                if (match instanceof SoloFightMatch) {
-                    if (match.getKit().is(KitRule.BED_WARS)) {
-                        return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_SPECTATOR_BEDWARS.getStringList()), player);
-                    }
-                    return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_SPECTATOR.getStringList()), player);
-                } else if (match instanceof TeamFightMatch) {
-                    if (match.getKit().is(KitRule.BED_WARS)) {
-                        return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_SPECTATOR_BEDWARS.getStringList()), player);
-                    }
-                    return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_SPECTATOR_TEAM.getStringList()), player);
-                } else if (match instanceof FfaFightMatch) {
-                    return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_SPECTATOR_FFA.getStringList()), player);
-                }
-                return PlaceholderUtil.format(new ArrayList<>(ScoreboardLocale.IN_SPECTATOR.getStringList()), player);
+                if (match == null) break;
+                return PlaceholderUtil.format(getSpectatorLines(match), player, snapshot);
             case IN_CUSTOM:
-                return PlaceholderUtil.format(ScoreboardService.get().getScoreboardLines(profile.getCustomState(), profile), player);
+                Profile profile = API.getProfile(player);
+                return PlaceholderUtil.format(ScoreboardService.get().getScoreboardLines(profile.getCustomState(), profile), player, snapshot);
             default:
                 break;
         }
@@ -65,6 +65,64 @@ public class ScoreboardAdapter implements FastAdapter {
         return new ArrayList<>();
     }
 
+    private List<String> getGameLines(MatchSnapshot match) {
+        switch (match.type()) {
+            case SOLO:
+                if (match.bestOfThree() && match.state().equals(MatchState.STARTING)) {
+                    return ScoreboardLocale.IN_GAME_BEST_OF.getStringList();
+                }
+
+                switch (match.state()) {
+                    case STARTING:
+                        return ScoreboardLocale.IN_GAME_STARTING.getStringList();
+                    case IN_ROUND:
+                        if (match.rounds() > 1) {
+                            return ScoreboardLocale.IN_GAME_BEST_OF.getStringList();
+                        }
+                        if (match.boxing()) {
+                            return ScoreboardLocale.IN_GAME_BOXING.getStringList();
+                        }
+                        if (match.bedWars()) {
+                            return ScoreboardLocale.IN_GAME_BEDWARS.getStringList();
+                        }
+                        return ScoreboardLocale.IN_GAME.getStringList();
+                    case ENDING:
+                        return ScoreboardLocale.IN_GAME_ENDED.getStringList();
+                    default:
+                        return null;
+                }
+            case TEAM:
+                if (match.bedWars()) {
+                    return ScoreboardLocale.IN_GAME_BEDWARS_TEAM.getStringList();
+                } else if (match.boxing()) {
+                    return ScoreboardLocale.IN_GAME_BOXING_TEAM.getStringList();
+                }
+                return ScoreboardLocale.IN_GAME_TEAM.getStringList();
+            default:
+                if (match.boxing()) {
+                    return ScoreboardLocale.IN_GAME_BOXING_FFA.getStringList();
+                }
+                return ScoreboardLocale.IN_GAME_FFA.getStringList();
+        }
+    }
+
+    private List<String> getSpectatorLines(MatchSnapshot match) {
+        switch (match.type()) {
+            case SOLO:
+                if (match.bedWars()) {
+                    return ScoreboardLocale.IN_SPECTATOR_BEDWARS.getStringList();
+                }
+                return ScoreboardLocale.IN_SPECTATOR.getStringList();
+            case TEAM:
+                if (match.bedWars()) {
+                    return ScoreboardLocale.IN_SPECTATOR_BEDWARS.getStringList();
+                }
+                return ScoreboardLocale.IN_SPECTATOR_TEAM.getStringList();
+            default:
+                return ScoreboardLocale.IN_SPECTATOR_FFA.getStringList();
+        }
+    }
+
     private String getAnimatedText() {
         int index = (int) ((System.currentTimeMillis() / ScoreboardLocale.UPDATE_INTERVAL.getInt())
                 % ScoreboardLocale.TITLE.getStringList().size());
@@ -0,0 +1,69 @@
+package dev.lrxh.neptune.scoreboard;
+
+import dev.lrxh.neptune.API;
+import dev.lrxh.neptune.feature.queue.QueueService;
+import dev.lrxh.neptune.game.match.Match;
+import dev.lrxh.neptune.game.match.MatchService;
+import dev.lrxh.neptune.profile.impl.Profile;
+import dev.lrxh.neptune.providers.metrics.MetricsService;
+import dev.lrxh.neptune.providers.metrics.impl.Summary;
+import dev.lrxh.neptune.scoreboard.snapshot.MatchSnapshot;
+import dev.lrxh.neptune.scoreboard.snapshot.PlayerSnapshot;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class ScoreboardSnapshotService {
+    private static ScoreboardSnapshotService instance;
+    private volatile Map<UUID, PlayerSnapshot> snapshots = Map.of();
+    private final Summary captureTime = MetricsService.get().summary("neptune_scoreboard_snapshot_seconds",
+            "Time taken on the main thread to capture the scoreboard state of every player.");
+
+    public static ScoreboardSnapshotService get() {
+        if (instance == null) instance = new ScoreboardSnapshotService();
+
+        return instance;
+    }
+
+    public void capture() {
+        long start = System.nanoTime();
+        int online = Bukkit.getOnlinePlayers().size();
+        int queued = QueueService.get().getQueueSize();
+        int inMatch = MatchService.get().matches.size();
+
+        Map<Match, MatchSnapshot> matches = new IdentityHashMap<>();
+        Map<UUID, PlayerSnapshot> captured = new HashMap<>();
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            Profile profile = API.getProfile(player);
+            if (profile == null) continue;
+
+            Match match = profile.getMatch();
+            MatchSnapshot matchSnapshot = match == null ? null : matches.computeIfAbsent(match, MatchSnapshot::capture);
+
+            captured.put(player.getUniqueId(), PlayerSnapshot.capture(player, profile, matchSnapshot, online, queued, inMatch));
+        }
+
+        snapshots = Map.copyOf(captured);
+        captureTime.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Snapshot captured this interval, players that joined since then get one built on the main thread.
+     */
+    public PlayerSnapshot get(Player player) {
+        PlayerSnapshot snapshot = snapshots.get(player.getUniqueId());
+        if (snapshot != null || !Bukkit.isPrimaryThread()) return snapshot;
+
+        Profile profile = API.getProfile(player);
+        if (profile == null) return null;
+
+        Match match = profile.getMatch();
+        return PlayerSnapshot.capture(player, profile, match == null ? null : MatchSnapshot.capture(match),
+                Bukkit.getOnlinePlayers().size(), QueueService.get().getQueueSize(), MatchService.get().matches.size());
+    }
+}
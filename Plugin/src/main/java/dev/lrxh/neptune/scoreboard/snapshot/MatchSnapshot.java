@@ -0,0 +1,89 @@
+package dev.lrxh.neptune.scoreboard.snapshot;
+
+import dev.lrxh.neptune.game.kit.impl.KitRule;
+import dev.lrxh.neptune.game.match.Match;
+import dev.lrxh.neptune.game.match.impl.MatchState;
+import dev.lrxh.neptune.game.match.impl.ffa.FfaFightMatch;
+import dev.lrxh.neptune.game.match.impl.participant.Participant;
+import dev.lrxh.neptune.game.match.impl.solo.SoloFightMatch;
+import dev.lrxh.neptune.game.match.impl.team.MatchTeam;
+import dev.lrxh.neptune.game.match.impl.team.TeamFightMatch;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public record MatchSnapshot(Type type, MatchState state, String kit, String arena, String time, int rounds,
+                            boolean bedWars, boolean boxing, boolean bestOfThree,
+                            ParticipantSnapshot red, ParticipantSnapshot blue,
+                            TeamSnapshot redTeam, TeamSnapshot blueTeam,
+                            int alive, int size,
+                            Map<UUID, ParticipantSnapshot> participants) {
+
+    public static MatchSnapshot capture(Match match) {
+        Map<UUID, ParticipantSnapshot> participants = new HashMap<>();
+        ParticipantSnapshot red = null;
+        ParticipantSnapshot blue = null;
+        TeamSnapshot redTeam = null;
+        TeamSnapshot blueTeam = null;
+        int alive = 0;
+        int size = 0;
+        Type type;
+
+        if (match instanceof SoloFightMatch soloFightMatch) {
+            type = Type.SOLO;
+            red = ParticipantSnapshot.capture(soloFightMatch.getParticipantA(), true);
+            blue = ParticipantSnapshot.capture(soloFightMatch.getParticipantB(), false);
+            participants.put(red.uuid(), red);
+            participants.put(blue.uuid(), blue);
+        } else if (match instanceof TeamFightMatch teamFightMatch) {
+            type = Type.TEAM;
+            MatchTeam teamA = teamFightMatch.getTeamA();
+            redTeam = TeamSnapshot.capture(teamA);
+            blueTeam = TeamSnapshot.capture(teamFightMatch.getTeamB());
+
+            for (Participant participant : match.getParticipantsList()) {
+                ParticipantSnapshot snapshot = ParticipantSnapshot.capture(participant, teamA.participants().contains(participant));
+                participants.put(snapshot.uuid(), snapshot);
+            }
+        } else {
+            type = Type.FFA;
+            if (match instanceof FfaFightMatch ffaFightMatch) {
+                size = ffaFightMatch.getParticipants().size();
+                alive = size - ffaFightMatch.deadParticipants.size();
+            }
+
+            for (Participant participant : match.getParticipantsList()) {
+                ParticipantSnapshot snapshot = ParticipantSnapshot.capture(participant, false);
+                participants.put(snapshot.uuid(), snapshot);
+            }
+        }
+
+        return new MatchSnapshot(type, match.getState(), match.getKit().getDisplayName(), match.getArena().getDisplayName(),
+                match.getTime().formatTime(), match.getRounds(),
+                match.getKit().is(KitRule.BED_WARS), match.getKit().is(KitRule.BOXING), match.getKit().is(KitRule.BEST_OF_THREE),
+                red, blue, redTeam, blueTeam, alive, size, Map.copyOf(participants));
+    }
+
+    public ParticipantSnapshot getParticipant(UUID uuid) {
+        return participants.get(uuid);
+    }
+
+    public ParticipantSnapshot getOpponent(ParticipantSnapshot participant) {
+        return participant.opponent() == null ? null : participants.get(participant.opponent());
+    }
+
+    public TeamSnapshot getTeam(ParticipantSnapshot participant) {
+        return participant.red() ? redTeam : blueTeam;
+    }
+
+    public TeamSnapshot getOpponentTeam(ParticipantSnapshot participant) {
+        return participant.red() ? blueTeam : redTeam;
+    }
+
+    public enum Type {
+        SOLO,
+        TEAM,
+        FFA
+    }
+}
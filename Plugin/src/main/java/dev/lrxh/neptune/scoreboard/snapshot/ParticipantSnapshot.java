@@ -0,0 +1,28 @@
+package dev.lrxh.neptune.scoreboard.snapshot;
+
+import dev.lrxh.neptune.game.match.impl.participant.Participant;
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+
+public record ParticipantSnapshot(UUID uuid, UUID opponent, String name, int hits, int combo, int points, int ping,
+                                  boolean bedBroken, String difference, boolean red) {
+
+    public static ParticipantSnapshot capture(Participant participant, boolean red) {
+        Participant opponent = participant.getOpponent();
+        Player player = participant.getPlayer();
+
+        return new ParticipantSnapshot(
+                participant.getPlayerUUID(),
+                opponent == null ? null : opponent.getPlayerUUID(),
+                participant.getNameUnColored(),
+                participant.getHits(),
+                participant.getCombo(),
+                participant.getPoints(),
+                player == null ? 0 : player.getPing(),
+                participant.isBedBroken(),
+                opponent == null ? "" : participant.getHitsDifference(opponent),
+                red
+        );
+    }
+}
@@ -0,0 +1,10 @@
+package dev.lrxh.neptune.scoreboard.snapshot;
+
+import dev.lrxh.neptune.feature.party.Party;
+
+public record PartySnapshot(String leader, int size, int max) {
+
+    public static PartySnapshot capture(Party party) {
+        return new PartySnapshot(party.getLeaderName(), party.getUsers().size(), party.getMaxUsers());
+    }
+}
@@ -0,0 +1,51 @@
+package dev.lrxh.neptune.scoreboard.snapshot;
+
+import dev.lrxh.neptune.feature.queue.QueueEntry;
+import dev.lrxh.neptune.feature.queue.QueueService;
+import dev.lrxh.neptune.game.kit.Kit;
+import dev.lrxh.neptune.profile.data.GlobalStats;
+import dev.lrxh.neptune.profile.data.ProfileState;
+import dev.lrxh.neptune.profile.impl.Profile;
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+
+public record PlayerSnapshot(UUID uuid, String name, int ping, ProfileState state,
+                             String division, int wins, int losses, int currentStreak, int maxPing,
+                             String editorKit, String queueKit, String queueTime, String kitDivision,
+                             PartySnapshot party, MatchSnapshot match, ParticipantSnapshot participant,
+                             int online, int queued, int inMatch) {
+
+    public static PlayerSnapshot capture(Player player, Profile profile, MatchSnapshot match,
+                                         int online, int queued, int inMatch) {
+        ProfileState state = profile.getState();
+        GlobalStats globalStats = profile.getGameData().getGlobalStats();
+
+        QueueEntry queueEntry = state == ProfileState.IN_QUEUE ? QueueService.get().get(player.getUniqueId()) : null;
+        Kit editorKit = state == ProfileState.IN_KIT_EDITOR ? profile.getGameData().getKitEditor() : null;
+
+        Kit divisionKit = queueEntry != null ? queueEntry.getKit() : profile.getMatch() != null ? profile.getMatch().getKit() : null;
+
+        return new PlayerSnapshot(
+                player.getUniqueId(),
+                player.getName(),
+                player.getPing(),
+                state,
+                globalStats.getDivision().getDisplayName(),
+                globalStats.getWins(),
+                globalStats.getLosses(),
+                globalStats.getCurrentStreak(),
+                profile.getSettingData().getMaxPing(),
+                editorKit == null ? null : editorKit.getDisplayName(),
+                queueEntry == null ? null : queueEntry.getKit().getDisplayName(),
+                queueEntry == null ? null : queueEntry.getTime().formatTime(),
+                divisionKit == null ? null : profile.getGameData().get(divisionKit).getDivision().getDisplayName(),
+                profile.getGameData().getParty() == null ? null : PartySnapshot.capture(profile.getGameData().getParty()),
+                match,
+                match == null ? null : match.getParticipant(player.getUniqueId()),
+                online,
+                queued,
+                inMatch
+        );
+    }
+}
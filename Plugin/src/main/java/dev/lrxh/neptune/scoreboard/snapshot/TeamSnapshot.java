@@ -0,0 +1,10 @@
+package dev.lrxh.neptune.scoreboard.snapshot;
+
+import dev.lrxh.neptune.game.match.impl.team.MatchTeam;
+
+public record TeamSnapshot(int alive, int size, int points, boolean bedBroken) {
+
+    public static TeamSnapshot capture(MatchTeam team) {
+        return new TeamSnapshot(team.getAliveParticipants(), team.participants().size(), team.getPoints(), team.isBedBroken());
+    }
+}
@@ -0,0 +1,11 @@
+package dev.lrxh.neptune.scoreboard.tasks;
+
+import dev.lrxh.neptune.scoreboard.ScoreboardSnapshotService;
+import dev.lrxh.neptune.utils.tasks.NeptuneRunnable;
+
+public class ScoreboardSnapshotTask extends NeptuneRunnable {
+    @Override
+    public void run() {
+        ScoreboardSnapshotService.get().capture();
+    }
+}
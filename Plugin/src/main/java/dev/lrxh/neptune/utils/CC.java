@@ -2,21 +2,25 @@ package dev.lrxh.neptune.utils;
 
 import dev.lrxh.neptune.configs.impl.MessagesLocale;
 import dev.lrxh.neptune.providers.clickable.Replacement;
+import dev.lrxh.neptune.providers.metrics.MetricsService;
 import dev.lrxh.neptune.providers.placeholder.PlaceholderUtil;
 import lombok.experimental.UtilityClass;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.format.TextDecoration;
 import net.kyori.adventure.text.minimessage.MiniMessage;
-import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
-import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import org.bukkit.entity.Player;
-import org.intellij.lang.annotations.Subst;
 
-import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @UtilityClass
 public class CC {
+    private final LruCache<String, TextComponent> COMPONENTS = new LruCache<>(8192,
+            MetricsService.get().counter("neptune_component_cache_requests_total", "Colored messages by whether they were parsed before.", "result"));
+    private final LruCache<String, MessageTemplate> TEMPLATES = new LruCache<>(2048,
+            MetricsService.get().counter("neptune_template_cache_requests_total", "Message templates by whether they were compiled before.", "result"));
+
     public TextComponent error(String message) {
         return color(MessagesLocale.ERROR_MESSAGE.getString().replace("<error>", message));
     }
@@ -30,6 +34,10 @@ public class CC {
     }
 
     public TextComponent color(String message) {
+        return COMPONENTS.get(message, CC::parse);
+    }
+
+    private TextComponent parse(String message) {
         String converted = convertLegacyToMiniMessage(message);
         Component parsed = MiniMessage.miniMessage().deserialize(converted);
 
@@ -76,19 +84,14 @@ public class CC {
     }
 
     public Component returnMessage(Player player, String message, Replacement... replacements) {
-        String miniMessageInput = convertLegacyToMiniMessage(message);
-
-        TagResolver resolver = TagResolver.resolver(
-                Arrays.stream(replacements)
-                        .map(replacement -> {
-                            @Subst("") String key = replacement.getPlaceholder().replaceAll("^<|>$", "").toLowerCase();
-                            return TagResolver.resolver(
-                                    key,
-                                    Placeholder.component(key, replacement.getReplacement()).tag()
-                            );
-                        })
-                        .toArray(TagResolver[]::new)
-        );
-        return PlaceholderUtil.format(MiniMessage.miniMessage().deserialize(miniMessageInput, resolver), player);
+        Map<String, Component> values = new LinkedHashMap<>();
+        for (Replacement replacement : replacements) {
+            values.put(replacement.getPlaceholder().replaceAll("^<|>$", "").toLowerCase(), replacement.getReplacement());
+        }
+
+        String key = values.isEmpty() ? message : String.join(",", values.keySet()) + '\u0000' + message;
+        MessageTemplate template = TEMPLATES.get(key, k -> MessageTemplate.compile(convertLegacyToMiniMessage(message), values.keySet()));
+
+        return PlaceholderUtil.format(template.apply(values), player);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,136 @@
+package dev.lrxh.neptune.utils;
+
+import lombok.experimental.UtilityClass;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encodes kit loadouts as '#' followed by Base64 of: version, slot count, amount of non empty slots
+ * and for each of those its slot index and {@link ItemStack#serializeAsBytes()} payload.
+ * An empty string refers to the kit's default items, anything else is the legacy GZIP object stream format.
+ */
+@UtilityClass
+public class LoadoutCodec {
+    private final char PREFIX = '#';
+    private final int VERSION = 1;
+
+    public String encode(List<ItemStack> loadout, List<ItemStack> defaults) {
+        if (loadout == null || isEmpty(loadout) || matches(loadout, defaults)) return "";
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            int used = 0;
+            for (ItemStack item : loadout) {
+                if (!isAir(item)) used++;
+            }
+
+            out.writeByte(VERSION);
+            writeVarInt(out, loadout.size());
+            writeVarInt(out, used);
+
+            for (int slot = 0; slot < loadout.size(); slot++) {
+                ItemStack item = loadout.get(slot);
+                if (isAir(item)) continue;
+
+                byte[] data = item.serializeAsBytes();
+                writeVarInt(out, slot);
+                writeVarInt(out, data.length);
+                out.write(data);
+            }
+
+            out.flush();
+            return PREFIX + Base64.getEncoder().encodeToString(bytes.toByteArray());
+        } catch (IOException | RuntimeException e) {
+            ServerUtils.error("Occurred while encoding loadout " + e.getMessage());
+            return ItemUtils.serialize(loadout);
+        }
+    }
+
+    public List<ItemStack> decode(String encoded, List<ItemStack> defaults) {
+        if (encoded == null || encoded.isEmpty()) return defaults;
+        if (encoded.charAt(0) != PREFIX) {
+            List<ItemStack> legacy = ItemUtils.deserialize(encoded);
+            return legacy == null ? defaults : legacy;
+        }
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(encoded.substring(1))));
+
+            int version = in.readUnsignedByte();
+            if (version != VERSION) throw new IOException("Unknown loadout version " + version);
+
+            ItemStack[] items = new ItemStack[readVarInt(in)];
+            int used = readVarInt(in);
+
+            for (int i = 0; i < used; i++) {
+                int slot = readVarInt(in);
+                byte[] data = new byte[readVarInt(in)];
+                in.readFully(data);
+                items[slot] = ItemStack.deserializeBytes(data);
+            }
+
+            return new ArrayList<>(Arrays.asList(items));
+        } catch (IOException | RuntimeException e) {
+            ServerUtils.error("Occurred while decoding loadout " + e.getMessage());
+            return defaults;
+        }
+    }
+
+    private boolean matches(List<ItemStack> loadout, List<ItemStack> defaults) {
+        if (defaults == null) return false;
+        if (loadout == defaults) return true;
+
+        int size = Math.max(loadout.size(), defaults.size());
+        for (int i = 0; i < size; i++) {
+            ItemStack a = i < loadout.size() ? loadout.get(i) : null;
+            ItemStack b = i < defaults.size() ? defaults.get(i) : null;
+
+            if (isAir(a) != isAir(b)) return false;
+            if (!isAir(a) && !a.equals(b)) return false;
+        }
+        return true;
+    }
+
+    private boolean isEmpty(List<ItemStack> loadout) {
+        for (ItemStack item : loadout) {
+            if (!isAir(item)) return false;
+        }
+        return true;
+    }
+
+    private boolean isAir(ItemStack item) {
+        return item == null || item.getType().isAir() || item.getAmount() <= 0;
+    }
+
+    private void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int read;
+        do {
+            if (shift >= 35) throw new IOException("VarInt too big");
+            read = in.readUnsignedByte();
+            value |= (read & 0x7F) << shift;
+            shift += 7;
+        } while ((read & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,86 @@
+package dev.lrxh.neptune.utils;
+
+import dev.lrxh.neptune.providers.metrics.impl.Counter;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Cache of roughly the given capacity that takes no lock on lookups. The clock ticks on every miss and entries
+ * remember the tick they were last used in, once the cache is over capacity one caller drops the entries used
+ * longest ago while everyone else carries on.
+ */
+public class LruCache<K, V> {
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock eviction = new ReentrantLock();
+    private final int capacity;
+    private final Counter requests;
+
+    public LruCache(int capacity, Counter requests) {
+        this.capacity = capacity;
+        this.requests = requests;
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            requests.inc("hit");
+            entry.touch(clock.get());
+            return entry.value;
+        }
+
+        requests.inc("miss");
+        V value = loader.apply(key);
+        if (value == null) return null;
+
+        entries.putIfAbsent(key, new Entry<>(value, clock.incrementAndGet()));
+        if (entries.size() > capacity) evict();
+        return value;
+    }
+
+    /**
+     * Drops the entries over capacity and another tenth of it, oldest first.
+     */
+    private void evict() {
+        if (!eviction.tryLock()) return;
+
+        try {
+            int size = entries.size();
+            if (size <= capacity) return;
+
+            long[] used = new long[size];
+            int count = 0;
+            for (Entry<V> entry : entries.values()) {
+                if (count == used.length) break;
+                used[count++] = entry.used;
+            }
+            Arrays.sort(used, 0, count);
+
+            int target = Math.min(count, size - capacity + capacity / 10);
+            long threshold = used[Math.max(0, target - 1)];
+            entries.values().removeIf(entry -> entry.used <= threshold);
+        } finally {
+            eviction.unlock();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private volatile long used;
+
+        private Entry(V value, long used) {
+            this.value = value;
+            this.used = used;
+        }
+
+        private void touch(long now) {
+            // Only written when it changes, so hot entries aren't written on every lookup
+            if (used != now) used = now;
+        }
+    }
+}
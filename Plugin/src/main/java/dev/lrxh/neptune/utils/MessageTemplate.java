@@ -0,0 +1,53 @@
+package dev.lrxh.neptune.utils;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.intellij.lang.annotations.Subst;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+public class MessageTemplate {
+    private static final char MARKER = '\u0000';
+    private static final Pattern PATTERN = Pattern.compile(MARKER + "([^" + MARKER + "]+)" + MARKER);
+    private final Component component;
+    private final boolean dynamic;
+
+    private MessageTemplate(Component component, boolean dynamic) {
+        this.component = component;
+        this.dynamic = dynamic;
+    }
+
+    /**
+     * Parses a MiniMessage string once, leaving a marker for every dynamic tag
+     * so that per-call work is reduced to substituting the tag values.
+     */
+    public static MessageTemplate compile(String miniMessage, Collection<String> keys) {
+        TagResolver resolver = TagResolver.resolver(
+                keys.stream()
+                        .map(key -> {
+                            @Subst("") String name = key;
+                            return TagResolver.resolver(name, Tag.selfClosingInserting(Component.text(MARKER + name + MARKER)));
+                        })
+                        .toArray(TagResolver[]::new)
+        );
+
+        return new MessageTemplate(MiniMessage.miniMessage().deserialize(miniMessage, resolver), !keys.isEmpty());
+    }
+
+    public Component apply(Map<String, ? extends Component> values) {
+        if (!dynamic) return component;
+
+        return component.replaceText(TextReplacementConfig.builder()
+                .match(PATTERN)
+                .replacement((result, builder) -> {
+                    Component value = values.get(result.group(1));
+                    return value == null ? Component.empty() : value;
+                })
+                .build());
+    }
+}
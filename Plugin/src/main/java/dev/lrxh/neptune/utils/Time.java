@@ -38,6 +38,10 @@ public class Time implements ITime {
         return String.format("%02d.%02ds", seconds, millis);
     }
 
+    public long getElapsed() {
+        return (stop ? lastCurrentTime : System.currentTimeMillis()) - oldTime;
+    }
+
     public void setZero() {
         this.oldTime = 0;
         this.lastCurrentTime = 0;
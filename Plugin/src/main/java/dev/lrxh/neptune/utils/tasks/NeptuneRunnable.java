@@ -1,8 +1,15 @@
 package dev.lrxh.neptune.utils.tasks;
 
+import dev.lrxh.neptune.utils.timings.Timing;
+import dev.lrxh.neptune.utils.timings.TimingService;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
 
 public abstract class NeptuneRunnable extends BukkitRunnable {
+    // Scheduled through execute() instead of run() so every task is timed, see TimingService
+    private BukkitTask task;
 
     public void start(long delay, long period) {
         TaskScheduler.get().startTask(this, delay, period);
@@ -25,4 +32,79 @@ public abstract class NeptuneRunnable extends BukkitRunnable {
         TaskScheduler.get().removeTask(this);
     }
 
+    void execute() {
+        TimingService timings = TimingService.get();
+        if (!timings.isEnabled()) {
+            run();
+            return;
+        }
+
+        Timing timing = timings.timing(getClass());
+        long start = System.nanoTime();
+        long allocated = timings.getAllocatedBytes();
+        try {
+            run();
+        } finally {
+            timing.record(System.nanoTime() - start, timings.getAllocatedBytes() - allocated);
+        }
+    }
+
+    @Override
+    public synchronized BukkitTask runTask(Plugin plugin) {
+        checkNotScheduled();
+        return task = Bukkit.getScheduler().runTask(plugin, this::execute);
+    }
+
+    @Override
+    public synchronized BukkitTask runTaskLater(Plugin plugin, long delay) {
+        checkNotScheduled();
+        return task = Bukkit.getScheduler().runTaskLater(plugin, this::execute, delay);
+    }
+
+    @Override
+    public synchronized BukkitTask runTaskTimer(Plugin plugin, long delay, long period) {
+        checkNotScheduled();
+        return task = Bukkit.getScheduler().runTaskTimer(plugin, this::execute, delay, period);
+    }
+
+    @Override
+    public synchronized BukkitTask runTaskAsynchronously(Plugin plugin) {
+        checkNotScheduled();
+        return task = Bukkit.getScheduler().runTaskAsynchronously(plugin, this::execute);
+    }
+
+    @Override
+    public synchronized BukkitTask runTaskLaterAsynchronously(Plugin plugin, long delay) {
+        checkNotScheduled();
+        return task = Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, this::execute, delay);
+    }
+
+    @Override
+    public synchronized BukkitTask runTaskTimerAsynchronously(Plugin plugin, long delay, long period) {
+        checkNotScheduled();
+        return task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::execute, delay, period);
+    }
+
+    @Override
+    public synchronized void cancel() {
+        if (task == null) {
+            super.cancel();
+            return;
+        }
+        task.cancel();
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return task == null ? super.isCancelled() : task.isCancelled();
+    }
+
+    @Override
+    public synchronized int getTaskId() {
+        return task == null ? super.getTaskId() : task.getTaskId();
+    }
+
+    private void checkNotScheduled() {
+        if (task != null) throw new IllegalStateException("Already scheduled as " + task.getTaskId());
+    }
 }
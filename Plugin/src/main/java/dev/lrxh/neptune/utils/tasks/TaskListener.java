@@ -1,6 +1,7 @@
 package dev.lrxh.neptune.utils.tasks;
 
 import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import dev.lrxh.neptune.utils.timings.TimingService;
 import lombok.Getter;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -19,8 +20,10 @@ public class TaskListener implements Listener {
     @EventHandler
     public void onTickEnd(ServerTickEndEvent event) {
         for (NeptuneRunnable runnable : new HashSet<>(runnables)) {
-            runnable.run();
+            runnable.execute();
             runnables.remove(runnable);
         }
+
+        TimingService.get().tick(event.getTickDuration());
     }
 }
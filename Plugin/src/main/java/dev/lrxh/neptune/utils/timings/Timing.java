@@ -0,0 +1,36 @@
+package dev.lrxh.neptune.utils.timings;
+
+import dev.lrxh.neptune.utils.Histogram;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+@Getter
+public class Timing {
+    private final String name;
+    private final Histogram histogram = new Histogram();
+    private final LongAdder allocated = new LongAdder();
+
+    public Timing(String name) {
+        this.name = name;
+    }
+
+    public void record(long nanos, long allocatedBytes) {
+        histogram.record(nanos);
+        if (allocatedBytes > 0) allocated.add(allocatedBytes);
+    }
+
+    public long getCalls() {
+        return histogram.getCount();
+    }
+
+    public long getAllocatedPerCall() {
+        long calls = histogram.getCount();
+        return calls == 0 ? 0 : allocated.sum() / calls;
+    }
+
+    public void reset() {
+        histogram.reset();
+        allocated.reset();
+    }
+}
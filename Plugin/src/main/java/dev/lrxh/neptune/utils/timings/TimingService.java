@@ -0,0 +1,175 @@
+package dev.lrxh.neptune.utils.timings;
+
+import dev.lrxh.neptune.Neptune;
+import dev.lrxh.neptune.utils.Histogram;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records how long tasks, event handlers and database writes take. While disabled every timed call only
+ * costs a volatile read.
+ */
+public class TimingService {
+    private static TimingService instance;
+    private final Map<String, Timing> timings = new ConcurrentHashMap<>();
+    private final ClassValue<Timing> taskTimings = new ClassValue<>() {
+        @Override
+        protected Timing computeValue(Class<?> type) {
+            return timing("task:" + type.getName().substring(type.getName().lastIndexOf('.') + 1));
+        }
+    };
+    private final Timing tickTiming = timing("server:tick");
+    private final AtomicLong ticks = new AtomicLong();
+    private final com.sun.management.ThreadMXBean threadBean;
+    private volatile boolean enabled;
+
+    public TimingService() {
+        com.sun.management.ThreadMXBean bean = null;
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean
+                && threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            bean = threadMXBean;
+        }
+        this.threadBean = bean;
+    }
+
+    public static TimingService get() {
+        if (instance == null) instance = new TimingService();
+
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) reset();
+        this.enabled = enabled;
+    }
+
+    public Timing timing(String name) {
+        return timings.computeIfAbsent(name, Timing::new);
+    }
+
+    public Timing timing(Class<?> taskType) {
+        return taskTimings.get(taskType);
+    }
+
+    public long getTicks() {
+        return ticks.get();
+    }
+
+    /**
+     * Bytes allocated by the calling thread so far, 0 if the JVM can't tell.
+     */
+    public long getAllocatedBytes() {
+        return threadBean == null ? 0 : threadBean.getCurrentThreadAllocatedBytes();
+    }
+
+    public void tick(double tickMillis) {
+        if (!enabled) return;
+
+        ticks.incrementAndGet();
+        tickTiming.record((long) (tickMillis * 1_000_000), 0);
+    }
+
+    public void reset() {
+        for (Timing timing : timings.values()) {
+            timing.reset();
+        }
+        ticks.set(0);
+    }
+
+    /**
+     * Every timing that was called since the last reset, the most expensive first.
+     */
+    public List<Timing> getTimings() {
+        List<Timing> result = new ArrayList<>();
+        for (Timing timing : timings.values()) {
+            if (timing.getCalls() > 0) result.add(timing);
+        }
+        result.sort(Comparator.comparingLong((Timing timing) -> timing.getHistogram().getTotal()).reversed());
+        return result;
+    }
+
+    /**
+     * Registers the listener like the plugin manager does, but with every handler timed separately.
+     */
+    @SuppressWarnings("unchecked")
+    public void registerEvents(Listener listener) {
+        String listenerName = listener.getClass().getSimpleName();
+
+        for (Method method : listener.getClass().getDeclaredMethods()) {
+            EventHandler handler = method.getAnnotation(EventHandler.class);
+            if (handler == null || method.getParameterCount() != 1
+                    || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) continue;
+
+            Class<? extends Event> eventClass = (Class<? extends Event>) method.getParameterTypes()[0];
+            EventExecutor executor = EventExecutor.create(method, eventClass);
+            Timing timing = timing("event:" + listenerName + "#" + method.getName() + "(" + eventClass.getSimpleName() + ")");
+
+            Neptune.get().getServer().getPluginManager().registerEvent(eventClass, listener, handler.priority(),
+                    (target, event) -> {
+                        if (!enabled || !eventClass.isInstance(event)) {
+                            executor.execute(target, event);
+                            return;
+                        }
+
+                        long start = System.nanoTime();
+                        long allocated = getAllocatedBytes();
+                        try {
+                            executor.execute(target, event);
+                        } finally {
+                            timing.record(System.nanoTime() - start, getAllocatedBytes() - allocated);
+                        }
+                    }, Neptune.get(), handler.ignoreCancelled());
+        }
+    }
+
+    public File dump() throws IOException {
+        File folder = new File(Neptune.get().getDataFolder(), "timings");
+        if (!folder.exists() && !folder.mkdirs()) throw new IOException("Could not create " + folder);
+
+        File file = new File(folder, "timings-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".tsv");
+        long ticks = Math.max(1, getTicks());
+
+        try (PrintWriter writer = new PrintWriter(file)) {
+            writer.println("component\tcalls\tcalls_per_tick\ttotal_ms\tmean_ms\tp50_ms\tp90_ms\tp99_ms\tmax_ms\talloc_bytes_per_call");
+            for (Timing timing : getTimings()) {
+                Histogram histogram = timing.getHistogram();
+                writer.println(String.join("\t",
+                        timing.getName(),
+                        String.valueOf(timing.getCalls()),
+                        String.format("%.3f", (double) timing.getCalls() / ticks),
+                        millis(histogram.getTotal()),
+                        millis((long) histogram.getMean()),
+                        millis(histogram.getValueAtPercentile(50)),
+                        millis(histogram.getValueAtPercentile(90)),
+                        millis(histogram.getValueAtPercentile(99)),
+                        millis(histogram.getMax()),
+                        String.valueOf(timing.getAllocatedPerCall())));
+            }
+        }
+        return file;
+    }
+
+    public static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+}
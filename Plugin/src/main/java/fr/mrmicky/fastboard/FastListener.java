@@ -15,6 +15,7 @@ public class FastListener implements Listener {
     @EventHandler
     public void onJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
+        manager.remove(player.getUniqueId());
         manager.boards.put(player.getUniqueId(), new FastBoard(player));
     }
 
@@ -22,7 +23,8 @@ public class FastListener implements Listener {
     public void onQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
 
-        FastBoard board = manager.boards.remove(player.getUniqueId());
+        FastBoard board = manager.boards.get(player.getUniqueId());
+        manager.remove(player.getUniqueId());
 
         if (board != null) {
             board.delete();
@@ -3,17 +3,29 @@ package fr.mrmicky.fastboard;
 import fr.mrmicky.fastboard.adventure.FastBoard;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class FastManager {
     protected final FastAdapter fastAdapter;
-    protected final HashMap<UUID, FastBoard> boards;
+    protected final Map<UUID, FastBoard> boards;
+    protected final Map<UUID, String> titles;
+    protected final Map<UUID, List<String>> lines;
 
     public FastManager(JavaPlugin plugin, FastAdapter fastAdapter) {
         this.fastAdapter = fastAdapter;
-        this.boards = new HashMap<>();
+        this.boards = new ConcurrentHashMap<>();
+        this.titles = new ConcurrentHashMap<>();
+        this.lines = new ConcurrentHashMap<>();
         plugin.getServer().getPluginManager().registerEvents(new FastListener(this), plugin);
-        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, new FastRunnable(this), 0, 4L);
+        new FastRunnable(this).runTaskTimerAsynchronously(plugin, 0, 4L);
+    }
+
+    protected void remove(UUID uuid) {
+        boards.remove(uuid);
+        titles.remove(uuid);
+        lines.remove(uuid);
     }
 }
@@ -1,6 +1,7 @@
 package fr.mrmicky.fastboard;
 
 import dev.lrxh.neptune.utils.CC;
+import dev.lrxh.neptune.utils.tasks.NeptuneRunnable;
 import fr.mrmicky.fastboard.adventure.FastBoard;
 import lombok.AllArgsConstructor;
 import net.kyori.adventure.text.Component;
@@ -10,7 +11,7 @@ import org.bukkit.entity.Player;
 import java.util.*;
 
 @AllArgsConstructor
-public class FastRunnable implements Runnable {
+public class FastRunnable extends NeptuneRunnable {
     private FastManager manager;
 
     @Override
@@ -23,27 +24,46 @@ public class FastRunnable implements Runnable {
 
             if (player == null || !player.isOnline()) {
                 iterator.remove();
+                manager.titles.remove(entry.getKey());
+                manager.lines.remove(entry.getKey());
                 continue;
             }
 
             FastBoard board = entry.getValue();
+            if (board.isDeleted()) continue;
 
             String rawTitle = getSafeTitle(player);
+            if (!rawTitle.equals(manager.titles.get(entry.getKey()))) {
+                board.updateTitle(CC.color(rawTitle));
+                manager.titles.put(entry.getKey(), rawTitle);
+            }
+
             List<String> rawLines = getSafeLines(player);
+            List<String> previous = manager.lines.get(entry.getKey());
+            if (rawLines.equals(previous)) continue;
 
-            board.updateTitle(CC.color(rawTitle));
+            // Lines whose raw text did not change keep the component already on the board
+            List<Component> current = board.getLines();
+            List<Component> newLines = new ArrayList<>(rawLines.size());
+            for (int i = 0; i < rawLines.size(); i++) {
+                String line = rawLines.get(i);
 
-            List<Component> newLines = new ArrayList<>();
-            for (String line : rawLines) {
-                newLines.add(CC.color(line));
+                if (previous != null && i < previous.size() && i < current.size() && line.equals(previous.get(i))) {
+                    newLines.add(current.get(i));
+                } else {
+                    newLines.add(CC.color(line));
+                }
             }
+
             board.updateLines(newLines);
+            manager.lines.put(entry.getKey(), new ArrayList<>(rawLines));
         }
     }
 
     private String getSafeTitle(Player player) {
         try {
-            return manager.fastAdapter.getTitle(player);
+            String title = manager.fastAdapter.getTitle(player);
+            return title == null ? "" : title;
         } catch (Exception e) {
             return "Default Title"; // Fallback title
         }
@@ -51,7 +71,8 @@ public class FastRunnable implements Runnable {
 
     private List<String> getSafeLines(Player player) {
         try {
-            return manager.fastAdapter.getLines(player);
+            List<String> lines = manager.fastAdapter.getLines(player);
+            return lines == null ? Collections.emptyList() : lines;
         } catch (Exception e) {
             return Collections.emptyList(); // Fallback to an empty list of lines
         }
@@ -0,0 +1,224 @@
+package dev.lrxh.neptune.providers.database.impl;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Runs the JDBC backend against H2 in the compatibility mode of each dialect.
+ */
+class JdbcDatabaseTest {
+    private static final String KIT = "NoDebuff";
+    private final List<JdbcDatabase> databases = new ArrayList<>();
+
+    static Stream<Arguments> dialects() {
+        return Stream.of(
+                Arguments.of(JdbcDialect.MYSQL, "MySQL"),
+                Arguments.of(JdbcDialect.MARIADB, "MariaDB"),
+                Arguments.of(JdbcDialect.POSTGRESQL, "PostgreSQL"));
+    }
+
+    @AfterEach
+    void close() {
+        databases.forEach(JdbcDatabase::close);
+    }
+
+    @ParameterizedTest
+    @MethodSource("dialects")
+    void loadKeepsTablesAndIndexes(JdbcDialect dialect, String mode) {
+        String name = UUID.randomUUID().toString();
+        UUID player = UUID.randomUUID();
+
+        open(dialect, mode, name).replace(player, profile(player, "Player", 1000, 1, 0, List.of())).join();
+
+        // Loading again, like after a restart, must not fail on the tables and indexes that already exist
+        assertNotNull(open(dialect, mode, name).getUserData(player).join());
+    }
+
+    @ParameterizedTest
+    @MethodSource("dialects")
+    void replaceAndGetUserData(JdbcDialect dialect, String mode) {
+        JdbcDatabase database = open(dialect, mode);
+        UUID player = UUID.randomUUID();
+
+        database.replace(player, profile(player, "Player", 1200, 5, 3, List.of("first", "second"))).join();
+        DataDocument document = database.getUserData(player).join();
+
+        assertEquals(player.toString(), document.getString("uuid"));
+        assertEquals("Player", document.getString("username"));
+
+        DataDocument kitData = document.getDataDocument("kitData");
+        assertEquals(KIT, kitData.getString("lastPlayedKit"));
+
+        DataDocument stats = kitData.getDataDocument(KIT);
+        assertEquals(1200, stats.getInteger("ELO", 0));
+        assertEquals(5, stats.getInteger("WINS", 0));
+        assertEquals(3, stats.getInteger("LOSSES", 0));
+        assertEquals("loadout", stats.getString("kit"));
+        assertEquals(7, stats.getDataDocument("customPersistentData").getInteger("kills", 0));
+
+        DataDocument settings = document.getDataDocument("settings");
+        assertEquals(200, settings.getInteger("maxPing", 0));
+        assertEquals(false, settings.getBoolean("allowDuels", true));
+
+        assertEquals(List.of("first", "second"), document.getList("history", List.of()));
+        assertNull(database.getUserData(UUID.randomUUID()).join());
+    }
+
+    @ParameterizedTest
+    @MethodSource("dialects")
+    void replaceOverwritesEveryRow(JdbcDialect dialect, String mode) {
+        JdbcDatabase database = open(dialect, mode);
+        UUID player = UUID.randomUUID();
+
+        database.replace(player, profile(player, "Player", 1000, 1, 0, List.of("old", "older"))).join();
+        database.replaceAll(Map.of(player, profile(player, "Renamed", 1100, 2, 0, List.of("new")))).join();
+
+        DataDocument document = database.getUserData(player).join();
+        assertEquals("Renamed", document.getString("username"));
+        assertEquals(1100, document.getDataDocument("kitData").getDataDocument(KIT).getInteger("ELO", 0));
+        assertEquals(List.of("new"), document.getList("history", List.of()));
+        assertEquals(1, database.getKitStats(KIT).join().size());
+    }
+
+    @ParameterizedTest
+    @MethodSource("dialects")
+    void getKitStats(JdbcDialect dialect, String mode) {
+        JdbcDatabase database = open(dialect, mode);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        database.replaceAll(Map.of(
+                first, profile(first, "First", 1300, 10, 2, List.of()),
+                second, profile(second, "Second", 900, 0, 4, List.of()))).join();
+
+        List<DataDocument> stats = database.getKitStats(KIT).join();
+        assertEquals(2, stats.size());
+
+        DataDocument row = stats.stream().filter(document -> document.getString("uuid").equals(first.toString()))
+                .findFirst().orElseThrow();
+        assertEquals("First", row.getString("username"));
+        assertEquals(1300, row.getInteger("ELO", 0));
+        assertEquals(10, row.getInteger("WINS", 0));
+        assertEquals(2, row.getInteger("LOSSES", 0));
+
+        List<DataDocument> top = database.getAllByKitType(KIT, "WINS").join();
+        assertEquals(1, top.size());
+        assertEquals("First", top.get(0).getString("username"));
+        assertEquals(10, top.get(0).getDataDocument("kitData").getDataDocument(KIT).getInteger("WINS", 0));
+
+        List<DataDocument> elo = database.getAllByKitType(KIT, "ELO").join();
+        assertEquals(List.of("First", "Second"), elo.stream().map(document -> document.getString("username")).toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("dialects")
+    void historyIsPagedNewestFirst(JdbcDialect dialect, String mode) {
+        JdbcDatabase database = open(dialect, mode);
+        UUID player = UUID.randomUUID();
+
+        database.appendHistory(player, List.of(match(1, "A"), match(2, "B"))).join();
+        database.appendHistory(player, List.of(match(3, "C"))).join();
+        database.appendHistory(UUID.randomUUID(), List.of(match(4, "D"))).join();
+
+        List<DataDocument> firstPage = database.getHistory(player, 0, 2).join();
+        assertEquals(List.of("C", "B"), firstPage.stream().map(document -> document.getString("opponent")).toList());
+        assertEquals(3, firstPage.get(0).getLong("playedAt", 0));
+        assertEquals(true, firstPage.get(0).getBoolean("won", false));
+        assertEquals(KIT, firstPage.get(0).getString("kit"));
+
+        List<DataDocument> secondPage = database.getHistory(player, 2, 2).join();
+        assertEquals(List.of("A"), secondPage.stream().map(document -> document.getString("opponent")).toList());
+    }
+
+    @ParameterizedTest
+    @MethodSource("dialects")
+    void migrateHistoryMovesLegacyEntriesOnce(JdbcDialect dialect, String mode) {
+        JdbcDatabase database = open(dialect, mode);
+        UUID player = UUID.randomUUID();
+
+        database.replace(player, profile(player, "Player", 1000, 1, 0, List.of("legacy"))).join();
+        database.migrateHistory(player, List.of(match(1, "A"), match(2, "B"))).join();
+
+        assertEquals(List.of(), database.getUserData(player).join().getList("history", List.of()));
+        assertEquals(List.of("B", "A"), database.getHistory(player, 0, 10).join().stream()
+                .map(document -> document.getString("opponent")).toList());
+    }
+
+    private JdbcDatabase open(JdbcDialect dialect, String mode) {
+        return open(dialect, mode, UUID.randomUUID().toString());
+    }
+
+    private JdbcDatabase open(JdbcDialect dialect, String mode, String name) {
+        HikariConfig config = new HikariConfig();
+        config.setDriverClassName("org.h2.Driver");
+        config.setJdbcUrl("jdbc:h2:mem:" + name + ";MODE=" + mode + ";DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(2);
+
+        JdbcDatabase database = new JdbcDatabase(dialect, () -> Runnable::run);
+        database.load(config);
+        databases.add(database);
+        return database;
+    }
+
+    private DataDocument profile(UUID player, String username, int elo, int wins, int losses, List<String> history) {
+        DataDocument kitPersistentData = new DataDocument();
+        kitPersistentData.put("kills", 7);
+
+        DataDocument stats = new DataDocument();
+        stats.put("ELO", elo);
+        stats.put("WINS", wins);
+        stats.put("LOSSES", losses);
+        stats.put("WIN_STREAK_CURRENT", wins);
+        stats.put("WIN_STREAK_BEST", wins);
+        stats.put("kit", "loadout");
+        stats.put("customPersistentData", kitPersistentData);
+
+        DataDocument kitData = new DataDocument();
+        kitData.put("lastPlayedKit", KIT);
+        kitData.put(KIT, stats);
+
+        DataDocument settings = new DataDocument();
+        settings.put("showPlayers", true);
+        settings.put("allowSpectators", true);
+        settings.put("allowDuels", false);
+        settings.put("allowParty", true);
+        settings.put("maxPing", 200);
+        settings.put("killEffect", "NONE");
+        settings.put("menuSound", true);
+        settings.put("deathMessagePackage", "DEFAULT");
+
+        DataDocument document = new DataDocument();
+        document.put("uuid", player.toString());
+        document.put("username", username);
+        document.put("kitData", kitData);
+        document.put("settings", settings);
+        document.put("customPersistentData", new DataDocument());
+        document.put("history", history);
+        return document;
+    }
+
+    private DataDocument match(long playedAt, String opponent) {
+        DataDocument document = new DataDocument();
+        document.put("playedAt", playedAt);
+        document.put("won", true);
+        document.put("opponent", opponent);
+        document.put("kit", KIT);
+        document.put("arena", "Arena");
+        document.put("date", "01/01/2026");
+        document.put("time", "2026-01-01T00:00:00");
+        return document;
+    }
+}
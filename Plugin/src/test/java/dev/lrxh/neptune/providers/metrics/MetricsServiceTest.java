@@ -0,0 +1,76 @@
+package dev.lrxh.neptune.providers.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Scrapes the endpoint over HTTP on a free port, with the metrics read on the server thread.
+ */
+class MetricsServiceTest {
+    private final MetricsService metrics = new MetricsService();
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @AfterEach
+    void shutdown() {
+        metrics.shutdown();
+    }
+
+    @Test
+    void servesTheTextExpositionFormat() throws Exception {
+        metrics.counter("neptune_test_total", "Things counted.", "result").inc("hit");
+        metrics.summary("neptune_test_seconds", "Things timed.").record(1_500_000_000L);
+        metrics.gauge("neptune_test_value", "A value.", () -> 3);
+
+        HttpResponse<String> response = send(metrics.start(0, metrics::scrape), HttpRequest.BodyPublishers.noBody(), "GET");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("text/plain; version=0.0.4; charset=utf-8", response.headers().firstValue("Content-Type").orElseThrow());
+
+        List<String> lines = response.body().lines().toList();
+        assertTrue(lines.contains("# HELP neptune_test_total Things counted."));
+        assertTrue(lines.contains("# TYPE neptune_test_total counter"));
+        assertTrue(lines.contains("neptune_test_total{result=\"hit\"} 1"));
+        assertTrue(lines.contains("# TYPE neptune_test_seconds summary"));
+        assertTrue(lines.contains("neptune_test_seconds{quantile=\"0.5\"} 1.5"));
+        assertTrue(lines.contains("neptune_test_seconds_sum 1.5"));
+        assertTrue(lines.contains("neptune_test_seconds_count 1"));
+        assertTrue(lines.contains("# TYPE neptune_test_value gauge"));
+        assertTrue(lines.contains("neptune_test_value 3"));
+
+        for (String line : lines) {
+            if (line.startsWith("#")) continue;
+            assertTrue(line.matches("[a-zA-Z_:][a-zA-Z0-9_:]*(\\{[a-zA-Z_][a-zA-Z0-9_]*=\"[^\"]*\"(,[a-zA-Z_][a-zA-Z0-9_]*=\"[^\"]*\")*})? \\S+"), line);
+        }
+    }
+
+    @Test
+    void rejectsOtherMethods() throws Exception {
+        HttpResponse<String> response = send(metrics.start(0, metrics::scrape), HttpRequest.BodyPublishers.ofString("x"), "POST");
+
+        assertEquals(405, response.statusCode());
+    }
+
+    @Test
+    void failedScrapeIsUnavailable() throws Exception {
+        int port = metrics.start(0, () -> {
+            throw new IllegalStateException("main thread busy");
+        });
+
+        assertEquals(503, send(port, HttpRequest.BodyPublishers.noBody(), "GET").statusCode());
+    }
+
+    private HttpResponse<String> send(int port, HttpRequest.BodyPublisher body, String method) throws Exception {
+        URI uri = new URI("http", null, InetAddress.getLoopbackAddress().getHostAddress(), port, "/metrics", null, null);
+        return client.send(HttpRequest.newBuilder(uri).method(method, body).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}